@@ -1,5 +1,6 @@
 import React from 'react';
 import { 
+    Alert,
     Box, 
     Card, 
     Chip, 
@@ -270,6 +271,15 @@ const ResumeResult: React.FC<ResumeResultProps> = ({ analysis, onReset }) => {
                     </Grid>
                 </Box>
 
+                {/* Near-duplicate notice */}
+                {analysis.duplicateOf && (
+                    <Alert severity="warning" sx={{ m: 2, mb: 0 }}>
+                        该简历与 {new Date(analysis.duplicateOf.storedAt).toLocaleString()} 分析过的简历
+                        (#{analysis.duplicateOf.id}) 内容相似度为 {Math.round(analysis.duplicateOf.similarity * 100)}%，
+                        已直接沿用之前的分析结果
+                    </Alert>
+                )}
+
                 {/* Export Buttons */}
                 <Box sx={{ p: 2, display: 'flex', justifyContent: 'flex-end', gap: 2 }}>
                     <Button
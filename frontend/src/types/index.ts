@@ -13,10 +13,17 @@ export interface PersonalInfo {
     location?: string;
 }
 
+export interface DuplicateOf {
+    id: number; // Id of the stored analysis that was reused
+    similarity: number; // Similarity of the resume texts between 0 and 1
+    storedAt: number;
+}
+
 export interface ResumeAnalysis {
     personalInfo: PersonalInfo;
     tags: ResumeTag[];
     rawContent?: string;
+    duplicateOf?: DuplicateOf; // Set when a near-identical resume was analyzed before
 }
 
 export interface ApiResponse<T> {
@@ -0,0 +1,83 @@
+package com.springboot.resumeanalyzer.benchmark;
+
+import com.springboot.resumeanalyzer.ResumeAnalyzerApplication;
+import com.springboot.resumeanalyzer.model.ResumeAnalysis;
+import com.springboot.resumeanalyzer.service.ResumeAnalyzerService;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end analyzeResume against an in-process stub of the chat
+ * completions endpoint. Caching is disabled so every call goes upstream; the
+ * stub answers instantly, so the score is the client-side overhead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class AnalyzeResumeBenchmark {
+
+    private HttpServer stub;
+    private ConfigurableApplicationContext context;
+    private ResumeAnalyzerService service;
+    private String resume;
+
+    @Setup
+    public void setup() throws IOException {
+        byte[] response = SyntheticResumes.completionResponse(20).getBytes(StandardCharsets.UTF_8);
+        // Without this, Nagle plus delayed ACKs add ~40 ms to every stub response
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        stub.createContext("/v1/chat/completions", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+        });
+        stub.setExecutor(Executors.newFixedThreadPool(4));
+        stub.start();
+
+        context = new SpringApplicationBuilder(ResumeAnalyzerApplication.class)
+            .web(WebApplicationType.NONE)
+            .properties(
+                "deepseek.api-url=http://127.0.0.1:" + stub.getAddress().getPort() + "/v1/chat/completions",
+                // Every invocation analyzes the same text, so neither the cache nor the store may answer it
+                "analysis.cache.backend=none",
+                "analysis.dedup.enabled=false",
+                "store.enabled=false",
+                "warmup.enabled=false",
+                "jobs.worker.enabled=false",
+                "llm.hedge.enabled=false",
+                "llm.governor.requests-per-minute=100000000",
+                "llm.governor.tokens-per-minute=100000000000",
+                "logging.level.root=WARN")
+            .run();
+        service = context.getBean(ResumeAnalyzerService.class);
+        resume = SyntheticResumes.text(60, 7);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+        stub.stop(0);
+    }
+
+    @Benchmark
+    public ResumeAnalysis analyzeResume() {
+        return service.analyzeResume(resume);
+    }
+}
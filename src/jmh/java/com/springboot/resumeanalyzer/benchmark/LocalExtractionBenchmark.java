@@ -0,0 +1,34 @@
+package com.springboot.resumeanalyzer.benchmark;
+
+import com.springboot.resumeanalyzer.model.ResumeAnalysis;
+import com.springboot.resumeanalyzer.service.local.LocalResumeExtractor;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LocalExtractionBenchmark {
+
+    @Param({"40", "200"})
+    public int lines;
+
+    private LocalResumeExtractor extractor;
+    private String text;
+
+    @Setup
+    public void setup() {
+        extractor = new LocalResumeExtractor(new DefaultResourceLoader(), "classpath:lexicon/");
+        text = SyntheticResumes.text(lines, 3);
+    }
+
+    @Benchmark
+    public ResumeAnalysis extract() {
+        return extractor.extract(text);
+    }
+}
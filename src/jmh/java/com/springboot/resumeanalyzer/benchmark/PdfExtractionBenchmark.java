@@ -0,0 +1,54 @@
+package com.springboot.resumeanalyzer.benchmark;
+
+import com.springboot.resumeanalyzer.service.pdf.PdfTextExtractor;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serial against parallel extraction of synthetic resumes. The parallel path
+ * parses the document once, saves it as splits of four pages and parses each
+ * split on its own worker; on these PDFs splitting costs about as much as
+ * serially extracting 20 pages, which is why application.properties only turns
+ * it on from 30 pages ({@code pdf.extraction.parallel-threshold}). Here it is
+ * forced on for every size so the two paths can be compared. Run it on a
+ * machine with several cores: with one, the parallel path is disabled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PdfExtractionBenchmark {
+
+    @Param({"1", "5", "20", "50"})
+    public int pages;
+
+    @Param({"true", "false"})
+    public boolean parallel;
+
+    private byte[] pdf;
+    private PdfTextExtractor extractor;
+
+    @Setup
+    public void setup() throws IOException {
+        pdf = SyntheticResumes.pdf(pages, 42);
+        int threshold = parallel ? 1 : 0;
+        extractor = new PdfTextExtractor(DataSize.ofMegabytes(4), 50, 200_000, DataSize.ofMegabytes(50), 500,
+            System.getProperty("java.io.tmpdir"), threshold, 4, 0);
+    }
+
+    @TearDown
+    public void tearDown() {
+        extractor.shutdown();
+    }
+
+    @Benchmark
+    public String extract() throws IOException {
+        return extractor.extract(new ByteArrayInputStream(pdf));
+    }
+}
@@ -0,0 +1,76 @@
+package com.springboot.resumeanalyzer.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.springboot.resumeanalyzer.model.ResumeAnalysis;
+import com.springboot.resumeanalyzer.service.llm.ChatCompletionCodec;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request encoding and per-response parsing work in ResumeAnalyzerService.
+ * The {@code tree*} benchmarks keep the previous JsonNode based decoding as a
+ * baseline for {@link ChatCompletionCodec}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseParsingBenchmark {
+
+    @Param({"10", "40"})
+    public int tags;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ObjectReader analysisReader = objectMapper.readerFor(ResumeAnalysis.class);
+    private ChatCompletionCodec codec;
+    private String responseBody;
+    private String fencedContent;
+    private String resumeText;
+
+    @Setup
+    public void setup() throws IOException {
+        codec = new ChatCompletionCodec(objectMapper.getFactory(), "deepseek-chat", 0.7, SyntheticResumes.text(80, 7));
+        responseBody = SyntheticResumes.completionResponse(tags);
+        fencedContent = codec.decodeResponse(responseBody).content();
+        resumeText = SyntheticResumes.text(120, 11);
+    }
+
+    @Benchmark
+    public byte[] encodeRequest() {
+        return codec.encodeRequest(resumeText, false);
+    }
+
+    @Benchmark
+    public String stripCodeFence() {
+        return ChatCompletionCodec.stripCodeFence(fencedContent);
+    }
+
+    @Benchmark
+    public ChatCompletionCodec.ChatCompletion decodeResponse() throws IOException {
+        return codec.decodeResponse(responseBody);
+    }
+
+    @Benchmark
+    public ResumeAnalysis fullResponse() throws IOException {
+        String content = codec.decodeResponse(responseBody).content();
+        return analysisReader.readValue(ChatCompletionCodec.stripCodeFence(content));
+    }
+
+    @Benchmark
+    public JsonNode treeDecodeResponse() throws IOException {
+        return objectMapper.readTree(responseBody);
+    }
+
+    @Benchmark
+    public ResumeAnalysis treeFullResponse() throws IOException {
+        String content = objectMapper.readTree(responseBody).get("choices").get(0).get("message").get("content").asText();
+        content = content.replaceAll("```\\w*\\s*", "").replaceAll("```\\s*$", "").trim();
+        return objectMapper.readValue(content, ResumeAnalysis.class);
+    }
+}
@@ -0,0 +1,91 @@
+package com.springboot.resumeanalyzer.benchmark;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Deterministic synthetic resume content for the benchmarks.
+ */
+public final class SyntheticResumes {
+    private static final String[] SKILLS = {
+        "Java", "Spring Boot", "Kafka", "PostgreSQL", "Redis", "Docker", "Kubernetes", "React",
+        "TypeScript", "Python", "Go", "AWS", "Terraform", "GraphQL", "Elasticsearch", "gRPC"
+    };
+    private static final String[] VERBS = {
+        "Designed", "Built", "Migrated", "Scaled", "Led", "Optimised", "Maintained", "Launched"
+    };
+    private static final int LINES_PER_PAGE = 45;
+
+    private SyntheticResumes() {
+    }
+
+    public static String text(int lines, long seed) {
+        Random random = new Random(seed);
+        StringBuilder text = new StringBuilder("Jane Doe\njane.doe@example.com | +1 555 0100 | Berlin\n\nExperience\n");
+        for (int i = 0; i < lines; i++) {
+            text.append(line(random)).append('\n');
+        }
+        return text.toString();
+    }
+
+    public static byte[] pdf(int pages, long seed) throws IOException {
+        Random random = new Random(seed);
+        try (PDDocument document = new PDDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            for (int p = 0; p < pages; p++) {
+                PDPage page = new PDPage(PDRectangle.A4);
+                document.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                    content.beginText();
+                    content.setFont(PDType1Font.HELVETICA, 10);
+                    content.setLeading(14);
+                    content.newLineAtOffset(50, 780);
+                    content.showText("Jane Doe - Curriculum Vitae");
+                    content.newLine();
+                    for (int i = 0; i < LINES_PER_PAGE; i++) {
+                        content.showText(line(random));
+                        content.newLine();
+                    }
+                    content.showText("Page " + (p + 1) + " of " + pages);
+                    content.endText();
+                }
+            }
+            document.save(out);
+            return out.toByteArray();
+        }
+    }
+
+    /**
+     * A chat completion body in the shape DeepSeek returns, with the analysis
+     * wrapped in a markdown fence the way the model often does.
+     */
+    public static String completionResponse(int tags) {
+        StringBuilder analysis = new StringBuilder("```json\\n{\\\"personalInfo\\\": {\\\"name\\\": \\\"Jane Doe\\\", "
+            + "\\\"email\\\": \\\"jane.doe@example.com\\\", \\\"phone\\\": \\\"+1 555 0100\\\", \\\"location\\\": \\\"Berlin\\\"}, "
+            + "\\\"tags\\\": [");
+        for (int i = 0; i < tags; i++) {
+            if (i > 0) {
+                analysis.append(", ");
+            }
+            analysis.append("{\\\"id\\\": \\\"00000000-0000-4000-8000-").append(String.format("%012d", i))
+                .append("\\\", \\\"name\\\": \\\"").append(SKILLS[i % SKILLS.length])
+                .append("\\\", \\\"type\\\": \\\"SKILL\\\", \\\"confidence\\\": 0.9, \\\"score\\\": 8}");
+        }
+        analysis.append("]}\\n```");
+        return "{\"id\":\"bench\",\"object\":\"chat.completion\",\"model\":\"deepseek-chat\","
+            + "\"choices\":[{\"index\":0,\"message\":{\"role\":\"assistant\",\"content\":\"" + analysis
+            + "\"},\"finish_reason\":\"stop\"}],"
+            + "\"usage\":{\"prompt_tokens\":1800,\"completion_tokens\":600,\"total_tokens\":2400}}";
+    }
+
+    private static String line(Random random) {
+        return VERBS[random.nextInt(VERBS.length)] + " services with " + SKILLS[random.nextInt(SKILLS.length)]
+            + " and " + SKILLS[random.nextInt(SKILLS.length)] + ", cutting latency by " + (10 + random.nextInt(80)) + "%";
+    }
+}
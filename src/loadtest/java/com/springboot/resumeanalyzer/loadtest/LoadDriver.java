@@ -0,0 +1,191 @@
+package com.springboot.resumeanalyzer.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Closed-loop load against the analysis endpoints: in a stage of concurrency
+ * {@code c}, {@code c} virtual users each send a request, wait for the full
+ * response and send the next one until the stage ends. Requests pick an
+ * endpoint by the weights of the mix and a resume from the corpus at random.
+ *
+ * <p>A request succeeds on HTTP 200 with {@code "success":true} (or a stream
+ * without an error event); anything else is counted as a failure by reason.
+ * Latency percentiles cover successful requests started within the stage.
+ */
+public class LoadDriver {
+    private static final String BOUNDARY = "loadtest-boundary-7d1c";
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    public enum Endpoint {
+        UPLOAD("/api/resume/upload"),
+        ANALYZE("/api/resume/analyze"),
+        STREAM("/api/resume/analyze/stream");
+
+        private final String path;
+
+        Endpoint(String path) {
+            this.path = path;
+        }
+    }
+
+    public record StageResult(int concurrency, double seconds, long succeeded, Map<String, Long> failed,
+                              double throughput, double p50Millis, double p90Millis, double p99Millis,
+                              double maxMillis, ServerStats.Delta server) {
+    }
+
+    private final HttpClient client;
+    private final URI target;
+    private final Duration requestTimeout;
+    private final List<ResumeCorpus.Resume> corpus;
+    private final List<byte[]> uploadBodies = new ArrayList<>();
+    private final List<byte[]> analyzeBodies = new ArrayList<>();
+    private final Endpoint[] weightedEndpoints;
+
+    public LoadDriver(URI target, List<ResumeCorpus.Resume> corpus, Map<Endpoint, Integer> mix,
+                      Duration requestTimeout) throws IOException {
+        this.client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+        this.target = target;
+        this.requestTimeout = requestTimeout;
+        this.corpus = corpus;
+        for (ResumeCorpus.Resume resume : corpus) {
+            uploadBodies.add(multipart(resume));
+            analyzeBodies.add(OBJECT_MAPPER.writeValueAsBytes(Map.of("content", resume.text())));
+        }
+        List<Endpoint> weighted = new ArrayList<>();
+        mix.forEach((endpoint, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                weighted.add(endpoint);
+            }
+        });
+        if (weighted.isEmpty()) {
+            throw new IllegalArgumentException("The request mix has no endpoint with a positive weight");
+        }
+        this.weightedEndpoints = weighted.toArray(Endpoint[]::new);
+    }
+
+    public StageResult runStage(int concurrency, Duration duration) {
+        ServerStats before = ServerStats.read(client, target);
+        Recorder recorder = new Recorder();
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        List<CompletableFuture<Void>> users = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            users.add(loop(deadline, recorder));
+        }
+        CompletableFuture.allOf(users.toArray(CompletableFuture[]::new)).join();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        ServerStats after = ServerStats.read(client, target);
+        return recorder.result(concurrency, seconds, after.since(before, seconds));
+    }
+
+    private CompletableFuture<Void> loop(long deadline, Recorder recorder) {
+        if (System.nanoTime() >= deadline) {
+            return CompletableFuture.completedFuture(null);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Endpoint endpoint = weightedEndpoints[random.nextInt(weightedEndpoints.length)];
+        int resume = random.nextInt(corpus.size());
+        long sent = System.nanoTime();
+        return client.sendAsync(request(endpoint, resume), HttpResponse.BodyHandlers.ofString())
+            .handle((response, error) -> {
+                long micros = (System.nanoTime() - sent) / 1000;
+                recorder.record(micros, error != null ? failure(error) : outcome(endpoint, response));
+                return null;
+            })
+            .thenCompose(v -> loop(deadline, recorder));
+    }
+
+    private HttpRequest request(Endpoint endpoint, int resume) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(target.resolve(endpoint.path)).timeout(requestTimeout);
+        if (endpoint == Endpoint.UPLOAD) {
+            return builder.header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(uploadBodies.get(resume)))
+                .build();
+        }
+        return builder.header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofByteArray(analyzeBodies.get(resume)))
+            .build();
+    }
+
+    /**
+     * Null for a success, otherwise the failure reason.
+     */
+    private static String outcome(Endpoint endpoint, HttpResponse<String> response) {
+        if (response.statusCode() != 200) {
+            return "http_" + response.statusCode();
+        }
+        String body = response.body();
+        if (endpoint == Endpoint.STREAM) {
+            return body.contains("event:error") ? "api_error" : null;
+        }
+        return body.startsWith("{\"success\":true") ? null : "api_error";
+    }
+
+    private static String failure(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause.getClass().getSimpleName();
+    }
+
+    private static byte[] multipart(ResumeCorpus.Resume resume) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.write(("--" + BOUNDARY + "\r\n"
+            + "Content-Disposition: form-data; name=\"file\"; filename=\"" + resume.name() + ".pdf\"\r\n"
+            + "Content-Type: application/pdf\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+        body.write(resume.pdf());
+        body.write(("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+        return body.toByteArray();
+    }
+
+    private static final class Recorder {
+        private long[] latencies = new long[1024];
+        private int count;
+        private final Map<String, Long> failed = new TreeMap<>();
+
+        synchronized void record(long micros, String failure) {
+            if (failure != null) {
+                failed.merge(failure, 1L, Long::sum);
+                return;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = micros;
+        }
+
+        synchronized StageResult result(int concurrency, double seconds, ServerStats.Delta server) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return new StageResult(concurrency, seconds, count, new TreeMap<>(failed), count / seconds,
+                percentile(sorted, 50), percentile(sorted, 90), percentile(sorted, 99),
+                count == 0 ? Double.NaN : sorted[count - 1] / 1000.0, server);
+        }
+
+        private static double percentile(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return Double.NaN;
+            }
+            int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1000.0;
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package com.springboot.resumeanalyzer.loadtest;
+
+import ch.qos.logback.classic.Level;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.springboot.resumeanalyzer.ResumeAnalyzerApplication;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Load-test harness for the analysis endpoints, runnable without access to
+ * the real LLM API. Commands:
+ * <ul>
+ *   <li>{@code run} (default): starts a {@link MockChatServer} and the
+ *   application as a child JVM pointed at it, ramps concurrency through
+ *   {@code --ramp} with {@link LoadDriver}, prints throughput, latency
+ *   percentiles and the server's heap and GC figures per stage, and writes
+ *   them to {@code --output}. With {@code --target=<url>} an already running
+ *   instance is tested instead; it must be configured against a mock.</li>
+ *   <li>{@code mock}: only runs the mock server, for use with {@code --target}
+ *   or a manually started application
+ *   ({@code --deepseek.api-url=http://127.0.0.1:<port>/v1/chat/completions}).</li>
+ *   <li>{@code corpus}: writes the synthetic resumes to {@code --corpus-dir}.</li>
+ * </ul>
+ * Options are given as {@code --name=value}; see {@link #DEFAULTS}.
+ */
+public final class LoadTest {
+    static final Map<String, String> DEFAULTS = Map.ofEntries(
+        Map.entry("target", ""),
+        Map.entry("ramp", "1,2,4,8,16,32"),
+        Map.entry("stage-duration", "15s"),
+        Map.entry("warmup", "5s"),
+        Map.entry("mix", "upload:1,analyze:1,stream:0"),
+        Map.entry("request-timeout", "120s"),
+        Map.entry("corpus-size", "200"),
+        Map.entry("pages", "1-2"),
+        Map.entry("seed", "42"),
+        Map.entry("corpus-dir", "target/loadtest/corpus"),
+        Map.entry("output", "target/loadtest/result.json"),
+        Map.entry("mock-port", "0"),
+        Map.entry("latency", "lognormal:800ms:3s"),
+        Map.entry("error-rate", "0"),
+        Map.entry("error-statuses", "429,500,503"),
+        Map.entry("stream-chunk-chars", "24"),
+        Map.entry("mock-threads", "512"),
+        Map.entry("app-jvm-args", "-Xmx1g"),
+        Map.entry("app-args", ""),
+        Map.entry("cache", "false"));
+
+    // The mock has no account limits, so the governor's requests and tokens per minute are lifted;
+    // the driver's own warm-up stage replaces the startup warm-up
+    private static final List<String> APP_DEFAULT_ARGS = List.of(
+        "--warmup.enabled=false",
+        "--llm.router.primary=deepseek:deepseek-chat",
+        "--llm.governor.requests-per-minute=1000000",
+        "--llm.governor.tokens-per-minute=1000000000",
+        "--jobs.worker.enabled=false");
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        // PDFBox font fallback warnings while generating the corpus would drown the report
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.ERROR);
+        String command = "run";
+        Map<String, String> options = new HashMap<>(DEFAULTS);
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                command = arg;
+                continue;
+            }
+            int eq = arg.indexOf('=');
+            String name = eq < 0 ? arg.substring(2) : arg.substring(2, eq);
+            if (!DEFAULTS.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown option --" + name + ", expected one of " + DEFAULTS.keySet());
+            }
+            options.put(name, eq < 0 ? "true" : arg.substring(eq + 1));
+        }
+
+        switch (command) {
+            case "corpus" -> {
+                Path directory = Path.of(options.get("corpus-dir"));
+                ResumeCorpus.write(corpus(options), directory);
+                System.out.println("Wrote " + options.get("corpus-size") + " resumes to " + directory.toAbsolutePath());
+            }
+            case "mock" -> {
+                MockChatServer mock = mock(options);
+                mock.start();
+                System.out.println("Mock chat completions server listening on " + mock.getUrl());
+                Thread.currentThread().join();
+            }
+            case "run" -> run(options);
+            default -> throw new IllegalArgumentException("Unknown command " + command + ", expected run, mock or corpus");
+        }
+    }
+
+    private static void run(Map<String, String> options) throws Exception {
+        List<ResumeCorpus.Resume> corpus = corpus(options);
+        MockChatServer mock = null;
+        Process app = null;
+        try {
+            URI target;
+            if (options.get("target").isEmpty()) {
+                mock = mock(options);
+                mock.start();
+                int port = freePort();
+                app = startApplication(options, mock.getUrl(), port);
+                target = URI.create("http://127.0.0.1:" + port);
+                awaitReady(app, target);
+            } else {
+                target = URI.create(options.get("target"));
+            }
+
+            LoadDriver driver = new LoadDriver(target, corpus, mix(options.get("mix")),
+                duration(options.get("request-timeout")));
+            int[] ramp = Arrays.stream(options.get("ramp").split(",")).mapToInt(s -> Integer.parseInt(s.strip())).toArray();
+            Duration warmup = duration(options.get("warmup"));
+            if (!warmup.isZero()) {
+                System.out.printf("Warming up at concurrency %d for %s%n", ramp[0], warmup);
+                driver.runStage(ramp[0], warmup);
+            }
+
+            System.out.printf("%n%5s %9s %7s %7s %9s %9s %9s %9s | %8s %8s %6s %8s %10s%n",
+                "conc", "req/s", "ok", "failed", "p50 ms", "p90 ms", "p99 ms", "max ms",
+                "heap MB", "comm MB", "gc n", "gc ms", "alloc MB/s");
+            List<LoadDriver.StageResult> results = new ArrayList<>();
+            long mockRequests = mock == null ? 0 : mock.getRequestCount();
+            for (int concurrency : ramp) {
+                LoadDriver.StageResult result = driver.runStage(concurrency, duration(options.get("stage-duration")));
+                results.add(result);
+                print(result);
+            }
+            if (mock != null) {
+                long succeeded = results.stream().mapToLong(LoadDriver.StageResult::succeeded).sum();
+                System.out.printf("%nMock served %d upstream calls (%.1f per successful request), %d injected errors%n",
+                    mock.getRequestCount() - mockRequests,
+                    succeeded == 0 ? 0.0 : (double) (mock.getRequestCount() - mockRequests) / succeeded,
+                    mock.getErrorCount());
+            }
+
+            Path output = Path.of(options.get("output"));
+            Files.createDirectories(output.toAbsolutePath().getParent());
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(output.toFile(), Map.of("options", options, "stages", results));
+            System.out.println("Results written to " + output.toAbsolutePath());
+        } finally {
+            if (app != null) {
+                app.destroy();
+                app.waitFor();
+            }
+            if (mock != null) {
+                mock.close();
+            }
+        }
+    }
+
+    private static void print(LoadDriver.StageResult r) {
+        long failed = r.failed().values().stream().mapToLong(Long::longValue).sum();
+        System.out.printf(Locale.ROOT, "%5d %9.1f %7d %7d %9.0f %9.0f %9.0f %9.0f | %8.0f %8.0f %6d %8.0f %10.1f%s%n",
+            r.concurrency(), r.throughput(), r.succeeded(), failed, r.p50Millis(), r.p90Millis(), r.p99Millis(),
+            r.maxMillis(), r.server().heapUsedMb(), r.server().heapCommittedMb(), r.server().gcPauses(),
+            r.server().gcPauseMillis(), r.server().allocatedMbPerSecond(),
+            failed == 0 ? "" : "  " + r.failed());
+    }
+
+    private static List<ResumeCorpus.Resume> corpus(Map<String, String> options) throws IOException {
+        String[] pages = options.get("pages").split("-");
+        int minPages = Integer.parseInt(pages[0]);
+        int maxPages = Integer.parseInt(pages[pages.length - 1]);
+        return ResumeCorpus.generate(Integer.parseInt(options.get("corpus-size")), minPages, maxPages,
+            Long.parseLong(options.get("seed")));
+    }
+
+    private static MockChatServer mock(Map<String, String> options) throws IOException {
+        List<Integer> statuses = Arrays.stream(options.get("error-statuses").split(","))
+            .map(String::strip).filter(s -> !s.isEmpty()).map(Integer::valueOf).toList();
+        return new MockChatServer(Integer.parseInt(options.get("mock-port")),
+            MockChatServer.LatencyDistribution.parse(options.get("latency")),
+            Double.parseDouble(options.get("error-rate")), statuses,
+            Integer.parseInt(options.get("stream-chunk-chars")), Integer.parseInt(options.get("mock-threads")));
+    }
+
+    private static Map<LoadDriver.Endpoint, Integer> mix(String spec) {
+        Map<LoadDriver.Endpoint, Integer> mix = new EnumMap<>(LoadDriver.Endpoint.class);
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.strip().split(":");
+            mix.put(LoadDriver.Endpoint.valueOf(parts[0].toUpperCase(Locale.ROOT)),
+                parts.length > 1 ? Integer.parseInt(parts[1]) : 1);
+        }
+        return mix;
+    }
+
+    /**
+     * Starts the application on the test class path with its own heap, a
+     * fresh store and, unless {@code --cache=true}, neither the analysis cache
+     * nor near-duplicate reuse, so that every request from the corpus goes
+     * through the whole pipeline. Its output goes to
+     * {@code target/loadtest/app.log}.
+     */
+    private static Process startApplication(Map<String, String> options, String mockUrl, int port) throws IOException {
+        Path work = Path.of("target", "loadtest");
+        FileSystemUtils.deleteRecursively(work.resolve("store"));
+        Files.createDirectories(work);
+
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(split(options.get("app-jvm-args")));
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(ResumeAnalyzerApplication.class.getName());
+        command.add("--server.port=" + port);
+        command.add("--deepseek.api-url=" + mockUrl);
+        command.add("--store.directory=" + work.resolve("store").toAbsolutePath());
+        if (!Boolean.parseBoolean(options.get("cache"))) {
+            command.add("--analysis.cache.backend=none");
+            command.add("--analysis.dedup.enabled=false");
+        }
+        command.addAll(APP_DEFAULT_ARGS);
+        command.addAll(split(options.get("app-args")));
+
+        System.out.println("Starting application on port " + port + ", upstream " + mockUrl);
+        return new ProcessBuilder(command)
+            .redirectErrorStream(true)
+            .redirectOutput(work.resolve("app.log").toFile())
+            .start();
+    }
+
+    private static void awaitReady(Process app, URI target) throws Exception {
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest readiness = HttpRequest.newBuilder(target.resolve("/actuator/health/readiness"))
+            .timeout(Duration.ofSeconds(2))
+            .build();
+        long deadline = System.nanoTime() + Duration.ofMinutes(2).toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!app.isAlive()) {
+                throw new IllegalStateException("Application exited with " + app.exitValue()
+                    + ", see target/loadtest/app.log");
+            }
+            try {
+                if (client.send(readiness, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(250);
+        }
+        throw new IllegalStateException("Application not ready after 2 minutes, see target/loadtest/app.log");
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static Duration duration(String value) {
+        return DurationStyle.detectAndParse(value);
+    }
+
+    private static List<String> split(String args) {
+        return args.isBlank() ? List.of() : List.of(args.strip().split("\\s+"));
+    }
+}
@@ -0,0 +1,243 @@
+package com.springboot.resumeanalyzer.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A local stand-in for the DeepSeek chat completions API. Every request is
+ * answered after a delay drawn from a {@link LatencyDistribution}; a share of
+ * {@code errorRate} requests fails with one of {@code errorStatuses} instead.
+ * Requests with {@code "stream": true} get server-sent events whose content
+ * deltas are spread evenly over the delay. The answer is a resume analysis
+ * with a SKILL tag for every known skill the user message mentions.
+ *
+ * <p>Handlers sleep on a fixed pool of {@code threads}, which bounds the
+ * number of requests the mock serves at once.
+ */
+public class MockChatServer implements AutoCloseable {
+    public static final String PATH = "/v1/chat/completions";
+
+    private static final List<String> SKILLS = List.of(
+        "Java", "Spring Boot", "Kafka", "PostgreSQL", "Redis", "Docker", "Kubernetes", "React",
+        "TypeScript", "Python", "Go", "AWS", "Terraform", "GraphQL", "Elasticsearch", "gRPC");
+    private static final List<Integer> ERROR_STATUSES = List.of(429, 500, 503);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LatencyDistribution latency;
+    private final double errorRate;
+    private final List<Integer> errorStatuses;
+    private final int streamChunkChars;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+
+    public MockChatServer(int port, LatencyDistribution latency, double errorRate, List<Integer> errorStatuses,
+                          int streamChunkChars, int threads) throws IOException {
+        this.latency = latency;
+        this.errorRate = errorRate;
+        this.errorStatuses = errorStatuses.isEmpty() ? ERROR_STATUSES : List.copyOf(errorStatuses);
+        this.streamChunkChars = Math.max(1, streamChunkChars);
+        this.executor = Executors.newFixedThreadPool(threads);
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 1024);
+        server.setExecutor(executor);
+        server.createContext(PATH, this::handle);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public String getUrl() {
+        return "http://127.0.0.1:" + getPort() + PATH;
+    }
+
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    public long getErrorCount() {
+        return errors.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                // Connection warm-up by the application
+                exchange.sendResponseHeaders(204, -1);
+                return;
+            }
+            JsonNode request;
+            try (InputStream body = exchange.getRequestBody()) {
+                request = objectMapper.readTree(body);
+            }
+            requests.incrementAndGet();
+            long delayMillis = latency.sample();
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            if (random.nextDouble() < errorRate) {
+                errors.incrementAndGet();
+                sleep(delayMillis / 2);
+                int status = errorStatuses.get(random.nextInt(errorStatuses.size()));
+                if (status == 429) {
+                    exchange.getResponseHeaders().set("Retry-After", "1");
+                }
+                send(exchange, status, "{\"error\":{\"message\":\"mock failure\",\"type\":\"mock\"}}");
+                return;
+            }
+
+            String content = answer(request);
+            if (request.path("stream").asBoolean()) {
+                stream(exchange, request, content, delayMillis);
+            } else {
+                sleep(delayMillis);
+                send(exchange, 200, completion(request, content));
+            }
+        }
+    }
+
+    private String answer(JsonNode request) throws IOException {
+        JsonNode messages = request.path("messages");
+        String user = messages.path(messages.size() - 1).path("content").asText("");
+        ObjectNode analysis = objectMapper.createObjectNode();
+        ObjectNode info = analysis.putObject("personalInfo");
+        info.put("name", user.lines().findFirst().orElse("").strip());
+        info.putNull("email");
+        info.putNull("phone");
+        info.putNull("location");
+        ArrayNode tags = analysis.putArray("tags");
+        String lower = user.toLowerCase(Locale.ROOT);
+        for (String skill : SKILLS) {
+            if (lower.contains(skill.toLowerCase(Locale.ROOT))) {
+                ObjectNode tag = tags.addObject();
+                tag.put("id", UUID.nameUUIDFromBytes(skill.getBytes(StandardCharsets.UTF_8)).toString());
+                tag.put("name", skill);
+                tag.put("type", "SKILL");
+                tag.put("confidence", 0.9);
+                tag.put("score", 7);
+            }
+        }
+        return objectMapper.writeValueAsString(analysis);
+    }
+
+    private String completion(JsonNode request, String content) throws IOException {
+        ObjectNode response = objectMapper.createObjectNode();
+        response.put("id", "mock-" + requests.get());
+        response.put("object", "chat.completion");
+        response.put("model", request.path("model").asText());
+        ObjectNode choice = response.putArray("choices").addObject();
+        choice.put("index", 0);
+        choice.putObject("message").put("role", "assistant").put("content", content);
+        choice.put("finish_reason", "stop");
+        ObjectNode usage = response.putObject("usage");
+        int promptTokens = request.toString().length() / 4;
+        int completionTokens = content.length() / 4;
+        usage.put("prompt_tokens", promptTokens);
+        usage.put("completion_tokens", completionTokens);
+        usage.put("total_tokens", promptTokens + completionTokens);
+        return objectMapper.writeValueAsString(response);
+    }
+
+    private void stream(HttpExchange exchange, JsonNode request, String content, long delayMillis) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        int chunks = Math.max(1, (content.length() + streamChunkChars - 1) / streamChunkChars);
+        long interval = delayMillis / chunks;
+        OutputStream out = exchange.getResponseBody();
+        for (int offset = 0; offset < content.length(); offset += streamChunkChars) {
+            sleep(interval);
+            ObjectNode chunk = objectMapper.createObjectNode();
+            chunk.put("id", "mock-" + requests.get());
+            chunk.put("object", "chat.completion.chunk");
+            chunk.put("model", request.path("model").asText());
+            chunk.putArray("choices").addObject().put("index", 0).putObject("delta")
+                .put("content", content.substring(offset, Math.min(content.length(), offset + streamChunkChars)));
+            out.write(("data: " + objectMapper.writeValueAsString(chunk) + "\n\n").getBytes(StandardCharsets.UTF_8));
+            out.flush();
+        }
+        out.write("data: [DONE]\n\n".getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    private static void send(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Upstream latency in milliseconds. Parsed from {@code fixed:<d>},
+     * {@code uniform:<min>:<max>} or {@code lognormal:<median>:<p99>}, where
+     * durations use Spring's format ({@code 800ms}, {@code 2s}).
+     */
+    public record LatencyDistribution(String kind, double a, double b) {
+        private static final double Z_99 = 2.3263;
+
+        public static LatencyDistribution parse(String spec) {
+            String[] parts = spec.split(":");
+            double first = millis(parts[1]);
+            return switch (parts[0]) {
+                case "fixed" -> new LatencyDistribution("fixed", first, first);
+                case "uniform" -> new LatencyDistribution("uniform", first, millis(parts[2]));
+                // a and b are the mean and standard deviation of the underlying normal distribution
+                case "lognormal" -> new LatencyDistribution("lognormal", Math.log(first),
+                    Math.log(millis(parts[2]) / first) / Z_99);
+                default -> throw new IllegalArgumentException("Unknown latency distribution: " + spec);
+            };
+        }
+
+        long sample() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            return switch (kind) {
+                case "uniform" -> (long) (a + random.nextDouble() * (b - a));
+                case "lognormal" -> (long) Math.exp(a + b * random.nextGaussian());
+                default -> (long) a;
+            };
+        }
+
+        private static double millis(String duration) {
+            Duration parsed = DurationStyle.detectAndParse(duration);
+            return parsed.toMillis();
+        }
+    }
+}
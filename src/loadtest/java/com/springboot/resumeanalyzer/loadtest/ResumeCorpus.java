@@ -0,0 +1,129 @@
+package com.springboot.resumeanalyzer.loadtest;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates synthetic resumes with the section headings the analyzer
+ * recognises, as a PDF and as plain text. Resume {@code i} of a corpus is
+ * determined by the seed, so runs with the same options send the same input.
+ */
+public final class ResumeCorpus {
+    private static final String[] FIRST_NAMES = {"Jane", "John", "Wei", "Mei", "Arjun", "Sofia", "Lukas", "Amara"};
+    private static final String[] LAST_NAMES = {"Doe", "Smith", "Zhang", "Li", "Patel", "Garcia", "Muller", "Okafor"};
+    private static final String[] CITIES = {"Berlin", "Shanghai", "London", "Austin", "Singapore", "Toronto"};
+    private static final String[] SKILLS = {
+        "Java", "Spring Boot", "Kafka", "PostgreSQL", "Redis", "Docker", "Kubernetes", "React",
+        "TypeScript", "Python", "Go", "AWS", "Terraform", "GraphQL", "Elasticsearch", "gRPC"
+    };
+    private static final String[] VERBS = {
+        "Designed", "Built", "Migrated", "Scaled", "Led", "Optimised", "Maintained", "Launched"
+    };
+    private static final String[] COMPANIES = {"Acme Corp", "Globex", "Initech", "Umbrella", "Hooli", "Stark Industries"};
+    private static final int LINES_PER_PAGE = 48;
+    private static final float FONT_SIZE = 10;
+    private static final float LEADING = 14;
+
+    private ResumeCorpus() {
+    }
+
+    public record Resume(String name, String text, byte[] pdf) {
+    }
+
+    /**
+     * Generates {@code count} resumes of {@code minPages} to {@code maxPages}
+     * pages each.
+     */
+    public static List<Resume> generate(int count, int minPages, int maxPages, long seed) throws IOException {
+        List<Resume> resumes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Random random = new Random(seed + i);
+            int pages = minPages + random.nextInt(maxPages - minPages + 1);
+            List<String> lines = lines(random, pages * LINES_PER_PAGE);
+            resumes.add(new Resume(String.format("resume-%04d", i), String.join("\n", lines), pdf(lines)));
+        }
+        return resumes;
+    }
+
+    /**
+     * Writes each resume as {@code <name>.pdf} and {@code <name>.txt}.
+     */
+    public static void write(List<Resume> resumes, Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (Resume resume : resumes) {
+            Files.write(directory.resolve(resume.name() + ".pdf"), resume.pdf());
+            Files.writeString(directory.resolve(resume.name() + ".txt"), resume.text(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static List<String> lines(Random random, int target) {
+        List<String> lines = new ArrayList<>();
+        String name = pick(random, FIRST_NAMES) + " " + pick(random, LAST_NAMES);
+        lines.add(name);
+        lines.add(name.toLowerCase().replace(' ', '.') + "@example.com | +1 555 " + (1000 + random.nextInt(9000))
+            + " | " + pick(random, CITIES));
+        lines.add("");
+        lines.add("Summary");
+        lines.add("Backend engineer with " + (2 + random.nextInt(15)) + " years of experience in "
+            + pick(random, SKILLS) + " and " + pick(random, SKILLS) + ".");
+        lines.add("");
+        lines.add("Skills");
+        StringBuilder skills = new StringBuilder();
+        for (int i = 0; i < 6; i++) {
+            skills.append(i > 0 ? ", " : "").append(pick(random, SKILLS));
+        }
+        lines.add(skills.toString());
+        lines.add("");
+        lines.add("Experience");
+        int educationLines = 4;
+        while (lines.size() < target - educationLines) {
+            lines.add(pick(random, COMPANIES) + " - Software Engineer, " + (2008 + random.nextInt(15)));
+            for (int i = 0; i < 4 && lines.size() < target - educationLines; i++) {
+                lines.add(pick(random, VERBS) + " services with " + pick(random, SKILLS) + " and "
+                    + pick(random, SKILLS) + ", cutting latency by " + (10 + random.nextInt(80)) + "%");
+            }
+        }
+        lines.add("");
+        lines.add("Education");
+        lines.add("B.Sc. Computer Science, University of " + pick(random, CITIES));
+        return lines;
+    }
+
+    private static byte[] pdf(List<String> lines) throws IOException {
+        try (PDDocument document = new PDDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            for (int start = 0; start < lines.size(); start += LINES_PER_PAGE) {
+                PDPage page = new PDPage(PDRectangle.A4);
+                document.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                    content.beginText();
+                    content.setFont(PDType1Font.HELVETICA, FONT_SIZE);
+                    content.setLeading(LEADING);
+                    content.newLineAtOffset(50, 790);
+                    for (String line : lines.subList(start, Math.min(lines.size(), start + LINES_PER_PAGE))) {
+                        content.showText(line);
+                        content.newLine();
+                    }
+                    content.endText();
+                }
+            }
+            document.save(out);
+            return out.toByteArray();
+        }
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -0,0 +1,68 @@
+package com.springboot.resumeanalyzer.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Heap and GC counters of the application under test, read from its actuator
+ * metrics endpoint so they describe the server JVM rather than the driver.
+ * A metric that cannot be read is NaN.
+ */
+public record ServerStats(double heapUsedBytes, double heapCommittedBytes, double gcPauses,
+                          double gcPauseSeconds, double allocatedBytes) {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    public static ServerStats read(HttpClient client, URI target) {
+        return new ServerStats(
+            metric(client, target, "jvm.memory.used?tag=area:heap", "VALUE"),
+            metric(client, target, "jvm.memory.committed?tag=area:heap", "VALUE"),
+            metric(client, target, "jvm.gc.pause", "COUNT"),
+            metric(client, target, "jvm.gc.pause", "TOTAL_TIME"),
+            metric(client, target, "jvm.gc.memory.allocated", "COUNT"));
+    }
+
+    /**
+     * What happened on the server between {@code before} and this snapshot.
+     */
+    public Delta since(ServerStats before, double seconds) {
+        return new Delta(
+            heapUsedBytes / (1 << 20),
+            heapCommittedBytes / (1 << 20),
+            (long) (gcPauses - before.gcPauses),
+            (gcPauseSeconds - before.gcPauseSeconds) * 1000,
+            (allocatedBytes - before.allocatedBytes) / (1 << 20) / seconds);
+    }
+
+    public record Delta(double heapUsedMb, double heapCommittedMb, long gcPauses, double gcPauseMillis,
+                        double allocatedMbPerSecond) {
+    }
+
+    private static double metric(HttpClient client, URI target, String name, String statistic) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(target.resolve("/actuator/metrics/" + name))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                return Double.NaN;
+            }
+            for (JsonNode measurement : OBJECT_MAPPER.readTree(response.body()).path("measurements")) {
+                if (statistic.equals(measurement.path("statistic").asText())) {
+                    return measurement.path("value").asDouble();
+                }
+            }
+            return Double.NaN;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Double.NaN;
+        } catch (Exception e) {
+            return Double.NaN;
+        }
+    }
+}
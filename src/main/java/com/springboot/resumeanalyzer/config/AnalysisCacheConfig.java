@@ -0,0 +1,44 @@
+package com.springboot.resumeanalyzer.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.springboot.resumeanalyzer.service.cache.AnalysisCache;
+import com.springboot.resumeanalyzer.service.cache.DiskAnalysisCache;
+import com.springboot.resumeanalyzer.service.cache.InMemoryAnalysisCache;
+import com.springboot.resumeanalyzer.service.cache.NoOpAnalysisCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Configuration
+public class AnalysisCacheConfig {
+    private static final Logger logger = LoggerFactory.getLogger(AnalysisCacheConfig.class);
+
+    @Value("${analysis.cache.backend:memory}")
+    private String backend;
+
+    @Value("${analysis.cache.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${analysis.cache.ttl:7d}")
+    private Duration ttl;
+
+    @Value("${analysis.cache.directory:${java.io.tmpdir}/resume-analyzer/cache}")
+    private String directory;
+
+    @Bean
+    public AnalysisCache analysisCache(ObjectMapper objectMapper) throws IOException {
+        logger.info("Using '{}' analysis cache (maxEntries={}, ttl={})", backend, maxEntries, ttl);
+        return switch (backend.toLowerCase()) {
+            case "memory" -> new InMemoryAnalysisCache(maxEntries, ttl);
+            case "disk" -> new DiskAnalysisCache(Path.of(directory), objectMapper, maxEntries, ttl);
+            case "none" -> new NoOpAnalysisCache();
+            default -> throw new IllegalArgumentException("Unknown analysis.cache.backend: " + backend);
+        };
+    }
+}
@@ -0,0 +1,66 @@
+package com.springboot.resumeanalyzer.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.springboot.resumeanalyzer.service.llm.LlmProvider;
+import com.springboot.resumeanalyzer.service.llm.OpenAiCompatibleProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class LlmClientConfig {
+
+    @Value("${deepseek.connect-timeout:5s}")
+    private Duration connectTimeout;
+
+    @Value("${deepseek.client-threads:4}")
+    private int clientThreads;
+
+    /**
+     * Small dedicated pool for HttpClient callbacks. In-flight requests do not
+     * occupy these threads; they only run response handling.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService llmClientExecutor() {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = r -> {
+            Thread thread = new Thread(r, "llm-client-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newFixedThreadPool(clientThreads, threadFactory);
+    }
+
+    @Bean
+    public HttpClient llmHttpClient(ExecutorService llmClientExecutor) {
+        return HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(connectTimeout)
+            .executor(llmClientExecutor)
+            .build();
+    }
+
+    /**
+     * Optional second provider for any OpenAI-compatible endpoint (OpenAI,
+     * Azure OpenAI, vLLM, Ollama, ...), registered when an API key is set.
+     * Route to it with {@code llm.router.*=<name>:<model>}.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "llm.providers.openai", name = "api-key")
+    public LlmProvider openAiProvider(HttpClient llmHttpClient,
+                                      ObjectMapper objectMapper,
+                                      @Value("${llm.providers.openai.name:openai}") String name,
+                                      @Value("${llm.providers.openai.api-url:https://api.openai.com/v1/chat/completions}") String apiUrl,
+                                      @Value("${llm.providers.openai.read-timeout:60s}") Duration readTimeout,
+                                      @Value("${llm.providers.openai.api-key}") String apiKey) {
+        return new OpenAiCompatibleProvider(name, llmHttpClient, objectMapper, apiUrl, readTimeout, apiKey);
+    }
+}
@@ -0,0 +1,154 @@
+package com.springboot.resumeanalyzer.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.springboot.resumeanalyzer.model.ApiResponse;
+import com.springboot.resumeanalyzer.service.admission.FileMagic;
+import com.springboot.resumeanalyzer.service.admission.MultipartUploadParser;
+import com.springboot.resumeanalyzer.service.admission.MultipartUploadParser.AdmittedMultipartRequest;
+import com.springboot.resumeanalyzer.service.admission.UploadAdmission;
+import com.springboot.resumeanalyzer.service.admission.UploadRejectedException;
+import com.springboot.resumeanalyzer.service.metrics.AnalysisMetrics;
+import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Admission control for file uploads. Runs after CORS and before Spring's
+ * multipart resolution: the upload is admitted or shed by {@link UploadAdmission}
+ * from its headers alone, then its body is parsed and checked while it streams
+ * in by {@link MultipartUploadParser}. Rejections answer with an
+ * {@link ApiResponse} error, the matching status and, when shedding load, a
+ * {@code Retry-After} header.
+ *
+ * <p>Behind a reverse proxy set {@code server.forward-headers-strategy=native}
+ * so that per-client budgets see the client address rather than the proxy's.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class UploadAdmissionFilter implements Filter {
+    private static final Logger logger = LoggerFactory.getLogger(UploadAdmissionFilter.class);
+    private static final Set<FileMagic> PDF_ONLY = EnumSet.of(FileMagic.PDF);
+    private static final Set<FileMagic> PDF_OR_ZIP = EnumSet.of(FileMagic.PDF, FileMagic.ZIP);
+
+    // Upload paths and whether they are batch uploads
+    private static final Map<String, Boolean> UPLOAD_PATHS = Map.of(
+        "/api/resume/upload", false,
+        "/api/resume/upload/stream", false,
+        "/api/jobs/upload", false,
+        "/api/resume/batch", true
+    );
+
+    @Autowired
+    private UploadAdmission admission;
+
+    @Autowired
+    private MultipartUploadParser parser;
+
+    @Autowired
+    private AnalysisMetrics metrics;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    public void doFilter(ServletRequest req, ServletResponse res, FilterChain chain)
+            throws IOException, ServletException {
+        HttpServletRequest request = (HttpServletRequest) req;
+        HttpServletResponse response = (HttpServletResponse) res;
+        Boolean batch = UPLOAD_PATHS.get(request.getRequestURI().substring(request.getContextPath().length()));
+        if (batch == null || !"POST".equals(request.getMethod()) || !isMultipart(request)) {
+            chain.doFilter(req, res);
+            return;
+        }
+
+        UploadAdmission.Reservation reservation;
+        try {
+            reservation = admission.admit(request.getRemoteAddr(), request.getContentLengthLong(), batch);
+        } catch (UploadRejectedException e) {
+            reject(response, e);
+            return;
+        }
+
+        AdmittedMultipartRequest admitted = null;
+        boolean async = false;
+        try {
+            admitted = parser.parse(request, batch ? PDF_OR_ZIP : PDF_ONLY, !batch, reservation);
+            chain.doFilter(admitted, response);
+            if (admitted.isAsyncStarted()) {
+                // Parts are read until the async response completes
+                admitted.getAsyncContext().addListener(new ReleaseListener(admitted, reservation));
+                async = true;
+            }
+        } catch (UploadRejectedException e) {
+            reject(response, e);
+        } finally {
+            if (!async) {
+                release(admitted, reservation);
+            }
+        }
+    }
+
+    private static boolean isMultipart(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return contentType != null && contentType.toLowerCase(Locale.ROOT).startsWith(MediaType.MULTIPART_FORM_DATA_VALUE);
+    }
+
+    private void reject(HttpServletResponse response, UploadRejectedException e) throws IOException {
+        metrics.recordUploadRejected(e.getReason());
+        logger.warn("Rejected upload ({}): {}", e.getStatus(), e.getMessage());
+        if (response.isCommitted()) {
+            return;
+        }
+        response.setStatus(e.getStatus());
+        if (e.getRetryAfterSeconds() > 0) {
+            response.setHeader("Retry-After", Long.toString(e.getRetryAfterSeconds()));
+        }
+        // The rest of the body is not read; make the client stop sending it
+        response.setHeader("Connection", "close");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), ApiResponse.error(e.getMessage()));
+    }
+
+    private static void release(AdmittedMultipartRequest admitted, UploadAdmission.Reservation reservation) {
+        if (admitted != null) {
+            admitted.cleanup();
+        }
+        reservation.close();
+    }
+
+    private record ReleaseListener(AdmittedMultipartRequest admitted, UploadAdmission.Reservation reservation)
+            implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release(admitted, reservation);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release(admitted, reservation);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
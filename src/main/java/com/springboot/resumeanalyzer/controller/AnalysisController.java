@@ -0,0 +1,50 @@
+package com.springboot.resumeanalyzer.controller;
+
+import com.springboot.resumeanalyzer.model.ApiResponse;
+import com.springboot.resumeanalyzer.model.StoredAnalysis;
+import com.springboot.resumeanalyzer.model.TagQuery;
+import com.springboot.resumeanalyzer.model.TagQueryResult;
+import com.springboot.resumeanalyzer.service.store.AnalysisStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/analyses")
+public class AnalysisController {
+    private static final Logger logger = LoggerFactory.getLogger(AnalysisController.class);
+
+    @Autowired
+    private AnalysisStore analysisStore;
+
+    @PostMapping("/search")
+    public ApiResponse<TagQueryResult> search(@RequestBody TagQuery query) {
+        try {
+            TagQueryResult result = analysisStore.query(query);
+            logger.info("Tag query matched {} of {} analyses in {} us",
+                        result.getTotal(), analysisStore.size(), result.getTookMicros());
+            return ApiResponse.success(result);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid tag query: {}", e.getMessage());
+            return ApiResponse.error(e.getMessage());
+        } catch (IOException e) {
+            logger.error("Failed to read stored analyses: {}", e.getMessage(), e);
+            return ApiResponse.error("Failed to read stored analyses: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/{id}")
+    public ApiResponse<StoredAnalysis> getAnalysis(@PathVariable("id") int id) {
+        try {
+            return analysisStore.get(id)
+                .map(ApiResponse::success)
+                .orElseGet(() -> ApiResponse.error("Analysis not found: " + id));
+        } catch (IOException e) {
+            logger.error("Failed to read analysis {}: {}", id, e.getMessage(), e);
+            return ApiResponse.error("Failed to read analysis: " + e.getMessage());
+        }
+    }
+}
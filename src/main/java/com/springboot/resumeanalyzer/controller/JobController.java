@@ -0,0 +1,64 @@
+package com.springboot.resumeanalyzer.controller;
+
+import com.springboot.resumeanalyzer.model.AnalysisJob;
+import com.springboot.resumeanalyzer.model.ApiResponse;
+import com.springboot.resumeanalyzer.service.job.JobService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/jobs")
+public class JobController {
+    private static final Logger logger = LoggerFactory.getLogger(JobController.class);
+
+    @Autowired
+    private JobService jobService;
+
+    @PostMapping
+    public ApiResponse<AnalysisJob> submitText(@RequestBody Map<String, String> request) {
+        try {
+            Integer priority = request.get("priority") == null ? null : Integer.valueOf(request.get("priority"));
+            return ApiResponse.success(jobService.submitText(request.get("content"), priority, request.get("callbackUrl")));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid job submission: {}", e.getMessage());
+            return ApiResponse.error(e.getMessage());
+        } catch (IOException e) {
+            logger.error("Failed to store job: {}", e.getMessage(), e);
+            return ApiResponse.error("Failed to store job: " + e.getMessage());
+        }
+    }
+
+    @PostMapping(value = "/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ApiResponse<AnalysisJob> submitFile(@RequestParam("file") MultipartFile file,
+                                               @RequestParam(value = "priority", required = false) Integer priority,
+                                               @RequestParam(value = "callbackUrl", required = false) String callbackUrl) {
+        try {
+            return ApiResponse.success(jobService.submitPdf(file, priority, callbackUrl));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid job submission: {}", e.getMessage());
+            return ApiResponse.error(e.getMessage());
+        } catch (IOException e) {
+            logger.error("Failed to store job: {}", e.getMessage(), e);
+            return ApiResponse.error("Failed to store job: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/{id}")
+    public ApiResponse<AnalysisJob> getJob(@PathVariable("id") String id) {
+        try {
+            return jobService.getJob(id)
+                .map(ApiResponse::success)
+                .orElseGet(() -> ApiResponse.error("Job not found: " + id));
+        } catch (IOException e) {
+            logger.error("Failed to read job {}: {}", id, e.getMessage(), e);
+            return ApiResponse.error("Failed to read job: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.springboot.resumeanalyzer.controller;
+
+import com.springboot.resumeanalyzer.model.ApiResponse;
+import com.springboot.resumeanalyzer.model.MatchResult;
+import com.springboot.resumeanalyzer.service.AnalysisMode;
+import com.springboot.resumeanalyzer.service.match.MatchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+@RestController
+@RequestMapping("/api/match")
+public class MatchController {
+    private static final Logger logger = LoggerFactory.getLogger(MatchController.class);
+    private static final int DEFAULT_LIMIT = 20;
+
+    @Autowired
+    private MatchService matchService;
+
+    /**
+     * Ranks stored candidates against a job description. The body carries
+     * {@code content}, and optionally {@code mode} (defaults to LLM analysis
+     * of the description, like the other endpoints; {@code fast} ranks
+     * without an LLM call) and {@code limit}.
+     */
+    @PostMapping
+    public CompletableFuture<ApiResponse<MatchResult>> match(@RequestBody Map<String, String> request) {
+        String content = request.get("content");
+        if (content == null || content.trim().isEmpty()) {
+            logger.warn("Received empty job description");
+            return CompletableFuture.completedFuture(ApiResponse.error("Content cannot be empty"));
+        }
+        try {
+            AnalysisMode mode = AnalysisMode.from(request.get("mode"));
+            int limit = request.get("limit") == null ? DEFAULT_LIMIT : Integer.parseInt(request.get("limit"));
+            return matchService.match(content, mode, limit)
+                .thenApply(ApiResponse::success)
+                .exceptionally(this::matchError);
+        } catch (RuntimeException e) {
+            return CompletableFuture.completedFuture(matchError(e));
+        }
+    }
+
+    private ApiResponse<MatchResult> matchError(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        if (cause instanceof IllegalArgumentException) {
+            logger.warn("Invalid match request: {}", cause.getMessage());
+            return ApiResponse.error(cause.getMessage());
+        }
+        logger.error("Failed to match candidates", cause);
+        return ApiResponse.error("Failed to match candidates: " + cause.getMessage());
+    }
+}
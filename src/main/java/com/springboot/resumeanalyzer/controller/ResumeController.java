@@ -1,61 +1,103 @@
 package com.springboot.resumeanalyzer.controller;
 
 import com.springboot.resumeanalyzer.model.ApiResponse;
+import com.springboot.resumeanalyzer.model.BatchAnalysisResult;
+import com.springboot.resumeanalyzer.model.CacheStats;
 import com.springboot.resumeanalyzer.model.ResumeAnalysis;
 import com.springboot.resumeanalyzer.model.ResumeTag;
 import com.springboot.resumeanalyzer.model.PersonalInfo;
+import com.springboot.resumeanalyzer.service.AnalysisMode;
+import com.springboot.resumeanalyzer.service.AnalysisStreamListener;
 import com.springboot.resumeanalyzer.service.ResumeAnalyzerService;
+import com.springboot.resumeanalyzer.service.batch.BatchAnalysisService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @RestController
 @RequestMapping("/api/resume")
 public class ResumeController {
     private static final Logger logger = LoggerFactory.getLogger(ResumeController.class);
+    private static final long STREAM_TIMEOUT_MILLIS = 120_000L;
 
     @Autowired
     private ResumeAnalyzerService analyzerService;
 
+    @Autowired
+    private BatchAnalysisService batchAnalysisService;
+
     @PostMapping(value = "/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public ApiResponse<ResumeAnalysis> uploadResume(@RequestParam("file") MultipartFile file) {
+    public CompletableFuture<ApiResponse<ResumeAnalysis>> uploadResume(@RequestParam("file") MultipartFile file,
+                                                                       @RequestParam(value = "mode", required = false) String mode) {
         logger.info("Received file upload request: filename={}, size={} bytes, contentType={}", 
                    file.getOriginalFilename(), file.getSize(), file.getContentType());
         
         if (file == null || file.isEmpty()) {
             logger.warn("Received empty file");
-            return ApiResponse.error("Please select a file");
+            return CompletableFuture.completedFuture(ApiResponse.error("Please select a file"));
         }
 
         if (!file.getContentType().equals("application/pdf")) {
             logger.warn("Invalid file type: {}", file.getContentType());
-            return ApiResponse.error("Only PDF files are supported");
+            return CompletableFuture.completedFuture(ApiResponse.error("Only PDF files are supported"));
         }
         
         try {
-            ResumeAnalysis analysis = analyzerService.analyzePdfResume(file);
-            logger.info("Successfully analyzed resume from file: {}", file.getOriginalFilename());
-            return ApiResponse.success(analysis);
-        } catch (IllegalArgumentException e) {
-            logger.warn("Invalid file upload: {}", e.getMessage());
-            return ApiResponse.error(e.getMessage());
-        } catch (IOException e) {
-            logger.error("Failed to process PDF file: {}", e.getMessage(), e);
-            return ApiResponse.error("Failed to process PDF file: " + e.getMessage());
+            return analyzerService.analyzePdfResumeAsync(file, AnalysisMode.from(mode))
+                .thenApply(analysis -> {
+                    logger.info("Successfully analyzed resume from file: {}", file.getOriginalFilename());
+                    return ApiResponse.<ResumeAnalysis>success(analysis);
+                })
+                .exceptionally(this::uploadError);
         } catch (Exception e) {
-            logger.error("Unexpected error during file analysis", e);
-            Throwable rootCause = getRootCause(e);
-            String errorMessage = rootCause != null ? rootCause.getMessage() : e.getMessage();
-            return ApiResponse.error("Error analyzing resume: " + errorMessage);
+            return CompletableFuture.completedFuture(uploadError(e));
+        }
+    }
+
+    private ApiResponse<ResumeAnalysis> uploadError(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        if (cause instanceof IllegalArgumentException) {
+            logger.warn("Invalid file upload: {}", cause.getMessage());
+            return ApiResponse.error(cause.getMessage());
+        }
+        if (cause instanceof IOException) {
+            logger.error("Failed to process PDF file: {}", cause.getMessage(), cause);
+            return ApiResponse.error("Failed to process PDF file: " + cause.getMessage());
+        }
+        logger.error("Unexpected error during file analysis", cause);
+        Throwable rootCause = getRootCause(cause);
+        String errorMessage = rootCause != null ? rootCause.getMessage() : cause.getMessage();
+        return ApiResponse.error("Error analyzing resume: " + errorMessage);
+    }
+
+    @PostMapping(value = "/batch", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public CompletableFuture<ApiResponse<BatchAnalysisResult>> uploadBatch(@RequestParam("files") List<MultipartFile> files) {
+        if (files == null || files.isEmpty()) {
+            logger.warn("Received empty batch upload");
+            return CompletableFuture.completedFuture(ApiResponse.error("Please select at least one file"));
+        }
+
+        logger.info("Received batch upload request with {} files", files.size());
+        try {
+            // Multipart parts stay available until the async request completes
+            return batchAnalysisService.analyzeBatch(files)
+                .thenApply(ApiResponse::success);
+        } catch (IOException e) {
+            logger.error("Failed to read batch upload: {}", e.getMessage(), e);
+            return CompletableFuture.completedFuture(ApiResponse.error("Failed to read batch upload: " + e.getMessage()));
         }
     }
 
@@ -68,22 +110,131 @@ public class ResumeController {
     }
 
     @PostMapping("/analyze")
-    public ApiResponse<ResumeAnalysis> analyzeText(@RequestBody Map<String, String> request) {
+    public CompletableFuture<ApiResponse<ResumeAnalysis>> analyzeText(@RequestBody Map<String, String> request) {
         String content = request.get("content");
         if (content == null || content.trim().isEmpty()) {
             logger.warn("Received empty content for analysis");
-            return ApiResponse.error("Content cannot be empty");
+            return CompletableFuture.completedFuture(ApiResponse.error("Content cannot be empty"));
         }
         
-        logger.info("Received text analysis request with {} characters", content.length());
+        AnalysisMode mode;
+        try {
+            mode = AnalysisMode.from(request.get("mode"));
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.completedFuture(ApiResponse.error(e.getMessage()));
+        }
+
+        logger.info("Received {} text analysis request with {} characters", mode, content.length());
         
+        return analyzerService.analyzeResumeAsync(content, mode)
+            .thenApply(analysis -> {
+                logger.info("Successfully analyzed resume text");
+                return ApiResponse.<ResumeAnalysis>success(analysis);
+            })
+            .exceptionally(e -> {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                logger.error("Failed to analyze resume text: {}", cause.getMessage(), cause);
+                return ApiResponse.error("Failed to analyze resume: " + cause.getMessage());
+            });
+    }
+
+    @PostMapping(value = "/analyze/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter analyzeTextStream(@RequestBody Map<String, String> request) {
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MILLIS);
+        String content = request.get("content");
+        if (content == null || content.trim().isEmpty()) {
+            logger.warn("Received empty content for streaming analysis");
+            sendErrorAndComplete(emitter, "Content cannot be empty");
+            return emitter;
+        }
+
+        AnalysisMode mode;
         try {
-            ResumeAnalysis analysis = analyzerService.analyzeResume(content);
-            logger.info("Successfully analyzed resume text");
-            return ApiResponse.success(analysis);
-        } catch (Exception e) {
-            logger.error("Failed to analyze resume text: {}", e.getMessage(), e);
-            return ApiResponse.error("Failed to analyze resume: " + e.getMessage());
+            mode = AnalysisMode.from(request.get("mode"));
+        } catch (IllegalArgumentException e) {
+            sendErrorAndComplete(emitter, e.getMessage());
+            return emitter;
+        }
+
+        logger.info("Received {} streaming analysis request with {} characters", mode, content.length());
+        streamTo(emitter, analyzerService.analyzeResumeStreaming(content, streamListener(emitter), mode));
+        return emitter;
+    }
+
+    @PostMapping(value = "/upload/stream", consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
+                 produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter uploadResumeStream(@RequestParam("file") MultipartFile file,
+                                         @RequestParam(value = "mode", required = false) String mode) {
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MILLIS);
+        if (file == null || file.isEmpty()) {
+            logger.warn("Received empty file");
+            sendErrorAndComplete(emitter, "Please select a file");
+            return emitter;
+        }
+
+        logger.info("Received streaming upload request: filename={}, size={} bytes",
+                   file.getOriginalFilename(), file.getSize());
+        try {
+            streamTo(emitter, analyzerService.analyzePdfResumeStreaming(file, streamListener(emitter), AnalysisMode.from(mode)));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid file upload: {}", e.getMessage());
+            sendErrorAndComplete(emitter, e.getMessage());
+        } catch (IOException e) {
+            logger.error("Failed to process PDF file: {}", e.getMessage(), e);
+            sendErrorAndComplete(emitter, "Failed to process PDF file: " + e.getMessage());
+        }
+        return emitter;
+    }
+
+    /**
+     * Forwards streamed analysis parts as "personalInfo" and "tag" events. A
+     * failed send (client went away) aborts the upstream stream.
+     */
+    private AnalysisStreamListener streamListener(SseEmitter emitter) {
+        return new AnalysisStreamListener() {
+            @Override
+            public void onPersonalInfo(PersonalInfo personalInfo) {
+                send(emitter, "personalInfo", personalInfo);
+            }
+
+            @Override
+            public void onTag(ResumeTag tag) {
+                send(emitter, "tag", tag);
+            }
+        };
+    }
+
+    private void streamTo(SseEmitter emitter, CompletableFuture<ResumeAnalysis> analysis) {
+        analysis.whenComplete((result, e) -> {
+            if (e != null) {
+                Throwable rootCause = getRootCause(e);
+                logger.error("Streaming analysis failed: {}", rootCause.getMessage());
+                sendErrorAndComplete(emitter, "Error analyzing resume: " + rootCause.getMessage());
+                return;
+            }
+            try {
+                send(emitter, "complete", ApiResponse.success(result));
+                emitter.complete();
+            } catch (UncheckedIOException ex) {
+                logger.warn("Client disconnected before stream completed");
+            }
+        });
+    }
+
+    private void send(SseEmitter emitter, String event, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(event).data(data, MediaType.APPLICATION_JSON));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void sendErrorAndComplete(SseEmitter emitter, String message) {
+        try {
+            send(emitter, "error", ApiResponse.error(message));
+            emitter.complete();
+        } catch (UncheckedIOException e) {
+            logger.warn("Client disconnected before error could be sent");
         }
     }
 
@@ -131,6 +282,11 @@ public class ResumeController {
         }
     }
 
+    @GetMapping("/cache/stats")
+    public ApiResponse<CacheStats> getCacheStats() {
+        return ApiResponse.success(analyzerService.getCacheStats());
+    }
+
     @GetMapping("/test")
     public ApiResponse<String> test() {
         return ApiResponse.success("API is working!");
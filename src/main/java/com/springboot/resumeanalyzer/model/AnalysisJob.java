@@ -0,0 +1,31 @@
+package com.springboot.resumeanalyzer.model;
+
+import lombok.Data;
+
+@Data
+public class AnalysisJob {
+    private String id;
+    private Status status;
+    private SourceType sourceType;
+    private String fileName;
+    private int priority;
+    private String callbackUrl;
+    private long createdAt;
+    private Long startedAt;
+    private Long finishedAt;
+    private int attempts;
+    private ResumeAnalysis result;
+    private String error;
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        SUCCEEDED,
+        FAILED
+    }
+
+    public enum SourceType {
+        TEXT,
+        PDF
+    }
+}
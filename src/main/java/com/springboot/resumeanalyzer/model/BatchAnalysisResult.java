@@ -0,0 +1,14 @@
+package com.springboot.resumeanalyzer.model;
+
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class BatchAnalysisResult {
+    private int total;
+    private int succeeded;
+    private int failed;
+    private int skipped;
+    private long elapsedMillis;
+    private List<BatchItemResult> items;
+}
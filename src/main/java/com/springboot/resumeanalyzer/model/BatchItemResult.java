@@ -0,0 +1,19 @@
+package com.springboot.resumeanalyzer.model;
+
+import lombok.Data;
+
+@Data
+public class BatchItemResult {
+    private String fileName;
+    private Status status;
+    private ResumeAnalysis analysis;
+    private String error;
+    private long extractionMillis;
+    private long analysisMillis;
+
+    public enum Status {
+        SUCCESS,
+        FAILED,
+        SKIPPED
+    }
+}
@@ -0,0 +1,18 @@
+package com.springboot.resumeanalyzer.model;
+
+import lombok.Data;
+
+@Data
+public class CacheStats {
+    private String backend;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long size;
+    private long coalesced;
+
+    public double getHitRatio() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+}
@@ -0,0 +1,11 @@
+package com.springboot.resumeanalyzer.model;
+
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class CandidateMatch {
+    private double score; // Weighted cosine similarity between 0 and 1
+    private List<String> matchedTags;
+    private StoredAnalysis candidate;
+}
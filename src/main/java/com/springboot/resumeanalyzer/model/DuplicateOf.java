@@ -0,0 +1,10 @@
+package com.springboot.resumeanalyzer.model;
+
+import lombok.Data;
+
+@Data
+public class DuplicateOf {
+    private int id; // Id of the stored analysis that was returned
+    private double similarity; // Estimated Jaccard similarity of the resume texts between 0 and 1
+    private long storedAt;
+}
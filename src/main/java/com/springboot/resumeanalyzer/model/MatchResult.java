@@ -0,0 +1,12 @@
+package com.springboot.resumeanalyzer.model;
+
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class MatchResult {
+    private List<ResumeTag> jobTags;
+    private int candidates;
+    private long tookMicros;
+    private List<CandidateMatch> matches;
+}
@@ -1,5 +1,6 @@
 package com.springboot.resumeanalyzer.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 import java.util.List;
 
@@ -8,4 +9,6 @@ public class ResumeAnalysis {
     private PersonalInfo personalInfo;
     private List<ResumeTag> tags;
     private String rawContent;
-} 
\ No newline at end of file
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private DuplicateOf duplicateOf; // Set when the analysis of a near-identical resume was reused
+}
@@ -0,0 +1,16 @@
+package com.springboot.resumeanalyzer.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+@Data
+public class StoredAnalysis {
+    private int id;
+    private String contentKey;
+    private long storedAt;
+    private ResumeAnalysis analysis;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String variant; // Hash of the model, prompt and temperature that produced the analysis
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private int[] signature; // MinHash of the resume text, for near-duplicate detection
+}
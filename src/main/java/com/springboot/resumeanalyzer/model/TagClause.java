@@ -0,0 +1,17 @@
+package com.springboot.resumeanalyzer.model;
+
+import lombok.Data;
+
+/**
+ * Matches analyses that carry a tag with this name (case-insensitive) and,
+ * optionally, this type and score/confidence range. Bounds are inclusive.
+ */
+@Data
+public class TagClause {
+    private ResumeTag.TagType type;
+    private String name;
+    private Integer minScore;
+    private Integer maxScore;
+    private Double minConfidence;
+    private Double maxConfidence;
+}
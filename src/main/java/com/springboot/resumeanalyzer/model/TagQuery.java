@@ -0,0 +1,25 @@
+package com.springboot.resumeanalyzer.model;
+
+import lombok.Data;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Boolean tag query: every {@code must} clause has to match, at least one
+ * {@code should} clause has to match when any are given, and no
+ * {@code mustNot} clause may match.
+ */
+@Data
+public class TagQuery {
+    private List<TagClause> must = new ArrayList<>();
+    private List<TagClause> should = new ArrayList<>();
+    private List<TagClause> mustNot = new ArrayList<>();
+    private int page = 0;
+    private int size = 20;
+    private Sort sort = Sort.RECENT;
+
+    public enum Sort {
+        RECENT,
+        SCORE
+    }
+}
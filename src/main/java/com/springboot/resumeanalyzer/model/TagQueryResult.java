@@ -0,0 +1,13 @@
+package com.springboot.resumeanalyzer.model;
+
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class TagQueryResult {
+    private int total;
+    private int page;
+    private int size;
+    private long tookMicros;
+    private List<StoredAnalysis> items;
+}
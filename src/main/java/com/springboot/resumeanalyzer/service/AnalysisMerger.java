@@ -0,0 +1,88 @@
+package com.springboot.resumeanalyzer.service;
+
+import com.springboot.resumeanalyzer.model.PersonalInfo;
+import com.springboot.resumeanalyzer.model.ResumeAnalysis;
+import com.springboot.resumeanalyzer.model.ResumeTag;
+import com.springboot.resumeanalyzer.service.local.LocalResumeExtractor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Combines the analyses of the chunks of one resume into a single analysis.
+ */
+public final class AnalysisMerger {
+
+    private AnalysisMerger() {
+    }
+
+    /**
+     * Merges analyses given in document order. Each personal info field comes
+     * from the first analysis that has it. Tags with the same type and
+     * normalized name collapse into one that keeps the first name and id, the
+     * highest score, and a confidence of {@code 1 - Π(1 - c)}: independent
+     * sightings in several chunks make a tag more certain. None of the
+     * arguments is modified.
+     */
+    public static ResumeAnalysis merge(List<ResumeAnalysis> analyses) {
+        PersonalInfo info = new PersonalInfo();
+        Map<String, ResumeTag> tags = new LinkedHashMap<>();
+        String rawContent = null;
+        for (ResumeAnalysis analysis : analyses) {
+            PersonalInfo part = analysis.getPersonalInfo();
+            if (part != null) {
+                info.setName(firstPresent(info.getName(), part.getName()));
+                info.setEmail(firstPresent(info.getEmail(), part.getEmail()));
+                info.setPhone(firstPresent(info.getPhone(), part.getPhone()));
+                info.setLocation(firstPresent(info.getLocation(), part.getLocation()));
+            }
+            if (rawContent == null) {
+                rawContent = analysis.getRawContent();
+            }
+            if (analysis.getTags() == null) {
+                continue;
+            }
+            for (ResumeTag tag : analysis.getTags()) {
+                if (tag.getName() == null || tag.getName().isBlank()) {
+                    continue;
+                }
+                tags.merge(LocalResumeExtractor.tagKey(tag), copy(tag), AnalysisMerger::combine);
+            }
+        }
+
+        ResumeAnalysis merged = new ResumeAnalysis();
+        merged.setPersonalInfo(info);
+        merged.setTags(new ArrayList<>(tags.values()));
+        merged.setRawContent(rawContent);
+        return merged;
+    }
+
+    private static ResumeTag combine(ResumeTag first, ResumeTag next) {
+        double confidence = 1 - (1 - clamp(first.getConfidence())) * (1 - clamp(next.getConfidence()));
+        first.setConfidence(Math.round(confidence * 1000) / 1000.0);
+        if (first.getScore() == null || (next.getScore() != null && next.getScore() > first.getScore())) {
+            first.setScore(next.getScore());
+        }
+        return first;
+    }
+
+    private static ResumeTag copy(ResumeTag tag) {
+        ResumeTag copy = new ResumeTag();
+        copy.setId(tag.getId());
+        copy.setName(tag.getName());
+        copy.setType(tag.getType());
+        copy.setConfidence(tag.getConfidence());
+        copy.setScore(tag.getScore());
+        return copy;
+    }
+
+    private static double clamp(double confidence) {
+        return Math.max(0, Math.min(1, confidence));
+    }
+
+    private static String firstPresent(String value, String fallback) {
+        return value != null && !value.isBlank() ? value : fallback;
+    }
+}
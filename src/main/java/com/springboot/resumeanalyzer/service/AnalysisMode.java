@@ -0,0 +1,29 @@
+package com.springboot.resumeanalyzer.service;
+
+import java.util.Locale;
+
+/**
+ * How a resume is analyzed.
+ */
+public enum AnalysisMode {
+    /** LLM analysis only. */
+    LLM,
+    /** Local rule-based extraction only; answers without calling the LLM. */
+    FAST,
+    /** Local results first, then the LLM analysis with gaps filled from them. */
+    HYBRID;
+
+    /**
+     * Parses a request parameter; a missing value means {@link #LLM}.
+     */
+    public static AnalysisMode from(String value) {
+        if (value == null || value.isBlank()) {
+            return LLM;
+        }
+        try {
+            return valueOf(value.strip().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown analysis mode: " + value + " (expected llm, fast or hybrid)");
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.springboot.resumeanalyzer.service;
+
+import com.springboot.resumeanalyzer.model.PersonalInfo;
+import com.springboot.resumeanalyzer.model.ResumeTag;
+
+/**
+ * Receives parts of an analysis as soon as the model has finished generating
+ * them. Callbacks run on the LLM client threads; throwing aborts the stream.
+ */
+public interface AnalysisStreamListener {
+
+    void onPersonalInfo(PersonalInfo personalInfo);
+
+    void onTag(ResumeTag tag);
+}
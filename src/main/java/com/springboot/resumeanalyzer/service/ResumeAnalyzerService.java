@@ -3,21 +3,46 @@ package com.springboot.resumeanalyzer.service;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.springboot.resumeanalyzer.model.*;
+import com.springboot.resumeanalyzer.service.cache.AnalysisCache;
+import com.springboot.resumeanalyzer.service.cache.AnalysisCacheKey;
+import com.springboot.resumeanalyzer.service.cache.SingleFlight;
+import com.springboot.resumeanalyzer.service.llm.ChatCompletionCodec;
+import com.springboot.resumeanalyzer.service.llm.IncrementalAnalysisParser;
+import com.springboot.resumeanalyzer.service.llm.LlmApiException;
+import com.springboot.resumeanalyzer.service.llm.LlmResilience;
+import com.springboot.resumeanalyzer.service.llm.MalformedResponseException;
+import com.springboot.resumeanalyzer.service.llm.LlmRateGovernor;
+import com.springboot.resumeanalyzer.service.llm.LlmRouter;
+import com.springboot.resumeanalyzer.service.llm.LlmRouter.LlmRoute;
+import com.springboot.resumeanalyzer.service.local.LocalResumeExtractor;
+import com.springboot.resumeanalyzer.service.metrics.AnalysisMetrics;
+import com.springboot.resumeanalyzer.service.pdf.PdfTextExtractor;
+import com.springboot.resumeanalyzer.service.store.AnalysisStore;
+import com.springboot.resumeanalyzer.service.store.MinHash;
+import com.springboot.resumeanalyzer.service.text.PreprocessedText;
+import com.springboot.resumeanalyzer.service.text.ResumeChunker;
+import com.springboot.resumeanalyzer.service.text.ResumeTextPreprocessor;
+import com.springboot.resumeanalyzer.service.text.TokenEstimator;
+import io.micrometer.observation.Observation;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.*;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 import org.springframework.web.multipart.MultipartFile;
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.text.PDFTextStripper;
-import io.github.cdimascio.dotenv.Dotenv;
-import org.springframework.web.client.HttpClientErrorException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 
 @Service
 public class ResumeAnalyzerService {
@@ -26,9 +51,49 @@ public class ResumeAnalyzerService {
     @Autowired
     private ObjectMapper objectMapper;
 
-    private final RestTemplate restTemplate;
-    private final String apiKey;
-    private final String apiUrl = "https://api.deepseek.com/v1/chat/completions";
+    @Autowired
+    private AnalysisCache analysisCache;
+
+    @Autowired
+    private LlmRouter router;
+
+    @Autowired
+    private LlmRateGovernor rateGovernor;
+
+    @Autowired
+    private LlmResilience resilience;
+
+    private final SingleFlight<ResumeAnalysis> inFlightAnalyses = new SingleFlight<>();
+    private final SingleFlight<ResumeAnalysis> pdfFlights = new SingleFlight<>();
+
+    @Autowired
+    private PdfTextExtractor pdfTextExtractor;
+
+    @Autowired
+    private ResumeTextPreprocessor preprocessor;
+
+    @Autowired
+    private ResumeChunker chunker;
+
+    @Autowired
+    private AnalysisMetrics metrics;
+
+    @Autowired
+    private LocalResumeExtractor localExtractor;
+
+    @Autowired
+    private AnalysisStore analysisStore;
+
+    // Reuse the stored analysis of a resume whose text is at least this similar
+    @Value("${analysis.dedup.enabled:true}")
+    private boolean dedupEnabled;
+
+    @Value("${analysis.dedup.min-similarity:0.95}")
+    private double dedupMinSimilarity;
+
+    private static final double TEMPERATURE = 0.7;
+    // Typical completion size, used for the tokens-per-minute budget
+    private static final int EXPECTED_COMPLETION_TOKENS = 1500;
 
     private static final String SYSTEM_PROMPT = """
         你是一个专业的简历分析助手，具有创新思维和深度洞察能力。请分析提供的简历内容，并提取以下信息：
@@ -107,137 +172,669 @@ public class ResumeAnalyzerService {
             - 关注未来发展趋势
             - 注意个人独特价值
         """;
+    private static final int SYSTEM_PROMPT_TOKENS = TokenEstimator.estimate(SYSTEM_PROMPT);
+
+    /**
+     * An analysis with the model that produced it, which may differ from the
+     * preferred one when the call was routed around an unhealthy provider.
+     */
+    private record RoutedAnalysis(ResumeAnalysis analysis, String model) {
+    }
+
+    // One codec per routed model, each holding that model's serialized prompt prefix
+    private final Map<String, ChatCompletionCodec> codecs = new ConcurrentHashMap<>();
+    private ObjectReader analysisReader;
+
+    @PostConstruct
+    public void init() {
+        analysisReader = objectMapper.readerFor(ResumeAnalysis.class);
+    }
 
-    public ResumeAnalyzerService() {
-        this.restTemplate = new RestTemplate();
-        Dotenv dotenv = Dotenv.configure().ignoreIfMissing().load();
-        String rawApiKey = dotenv.get("DEEPSEEK_API_KEY");
-        // Ensure API key starts with sk-
-        this.apiKey = rawApiKey != null && !rawApiKey.startsWith("sk-") ? "sk-" + rawApiKey : rawApiKey;
+    private ChatCompletionCodec codec(String model) {
+        return codecs.computeIfAbsent(model,
+            m -> new ChatCompletionCodec(objectMapper.getFactory(), m, TEMPERATURE, SYSTEM_PROMPT));
     }
 
     public ResumeAnalysis analyzeResume(String content) {
+        try {
+            return analyzeResumeAsync(content).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Non-blocking variant of {@link #analyzeResume(String)}. The returned future
+     * completes on the LLM client pool once the upstream response is parsed.
+     */
+    public CompletableFuture<ResumeAnalysis> analyzeResumeAsync(String content) {
+        return analyzeWithLlm(content, false, true);
+    }
+
+    /**
+     * @param preferFast route to the fast model when one is configured
+     * @param persist add a fresh analysis to the searchable store
+     */
+    private CompletableFuture<ResumeAnalysis> analyzeWithLlm(String content, boolean preferFast, boolean persist) {
         if (content == null || content.trim().isEmpty()) {
             logger.error("Content is null or empty");
             throw new IllegalArgumentException("Content cannot be null or empty");
         }
 
-        try {
-            logger.info("Starting resume analysis with content length: {}", content.length());
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.set("Authorization", "Bearer " + apiKey);
+        Observation observation = metrics.startAnalysis();
+        content = prepare(content, observation);
+        int inputTokens = TokenEstimator.estimate(content);
+        String model = router.preferred(inputTokens, preferFast).model();
+        String cacheKey = AnalysisCacheKey.of(content, model, SYSTEM_PROMPT, TEMPERATURE);
+        Optional<ResumeAnalysis> cached = analysisCache.get(cacheKey);
+        if (cached.isPresent()) {
+            logger.info("Returning cached resume analysis for key {}", cacheKey);
+            metrics.recordCacheOutcome(observation, "hit");
+            observation.stop();
+            return CompletableFuture.completedFuture(cached.get());
+        }
+        String variant = AnalysisCacheKey.variant(model, SYSTEM_PROMPT, TEMPERATURE);
+        int[] signature = persist ? signature(content) : null;
+        Optional<ResumeAnalysis> duplicate = findDuplicate(content, signature, variant);
+        if (duplicate.isPresent()) {
+            metrics.recordCacheOutcome(observation, "duplicate");
+            observation.stop();
+            return CompletableFuture.completedFuture(duplicate.get());
+        }
 
-            Map<String, Object> message1 = new HashMap<>();
-            message1.put("role", "system");
-            message1.put("content", SYSTEM_PROMPT);
+        metrics.recordCacheOutcome(observation, "miss");
+        String upstreamContent = content;
+        List<String> chunks = split(content);
+        return metrics.observe(inFlightAnalyses.execute(cacheKey, () -> (chunks.size() > 1
+                ? analyzeChunks(chunks, model, preferFast, null, observation)
+                : requestAnalysis(upstreamContent, preferFast, observation))
+            .thenApply(routed -> {
+                keep(upstreamContent, routed, persist ? signature : null);
+                return routed.analysis();
+            })), observation);
+    }
 
-            Map<String, Object> message2 = new HashMap<>();
-            message2.put("role", "user");
-            message2.put("content", content);
+    /**
+     * Analyzes in the given mode. {@link AnalysisMode#FAST} completes at once
+     * with the local extraction; {@link AnalysisMode#HYBRID} completes with the
+     * LLM analysis enriched by the local one, routed to the fast model when
+     * one is configured.
+     */
+    public CompletableFuture<ResumeAnalysis> analyzeResumeAsync(String content, AnalysisMode mode) {
+        if (mode == AnalysisMode.LLM) {
+            return analyzeResumeAsync(content);
+        }
+        ResumeAnalysis local = analyzeLocally(content);
+        if (mode == AnalysisMode.FAST) {
+            return CompletableFuture.completedFuture(local);
+        }
+        return analyzeWithLlm(content, true, true).thenApply(analysis -> LocalResumeExtractor.enrich(analysis, local));
+    }
 
-            List<Map<String, Object>> messages = Arrays.asList(message1, message2);
+    /**
+     * Extracts tags from a job description with the same pipeline as a resume,
+     * without adding the result to the store of candidates.
+     */
+    public CompletableFuture<ResumeAnalysis> analyzeJobDescriptionAsync(String content, AnalysisMode mode) {
+        ResumeAnalysis local = analyzeLocally(content);
+        return switch (mode) {
+            case FAST -> CompletableFuture.completedFuture(local);
+            case LLM -> analyzeWithLlm(content, false, false);
+            case HYBRID -> analyzeWithLlm(content, true, false)
+                .thenApply(analysis -> LocalResumeExtractor.enrich(analysis, local));
+        };
+    }
 
-            Map<String, Object> requestBody = new HashMap<>();
-            requestBody.put("model", "deepseek-chat");
-            requestBody.put("messages", messages);
-            requestBody.put("temperature", 0.7);
+    /**
+     * Streaming variant of {@link #analyzeResumeAsync(String, AnalysisMode)}.
+     * In hybrid mode the local results are sent to the listener first; LLM tags
+     * that repeat a local tag are not sent again, and the LLM personal info is
+     * sent with its gaps filled from the local one.
+     */
+    public CompletableFuture<ResumeAnalysis> analyzeResumeStreaming(String content, AnalysisStreamListener listener,
+                                                                    AnalysisMode mode) {
+        if (mode == AnalysisMode.LLM) {
+            return analyzeResumeStreaming(content, listener);
+        }
+        ResumeAnalysis local = analyzeLocally(content);
+        listener.onPersonalInfo(local.getPersonalInfo());
+        local.getTags().forEach(listener::onTag);
+        if (mode == AnalysisMode.FAST) {
+            return CompletableFuture.completedFuture(local);
+        }
 
-            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody, headers);
-            
-            logger.info("Sending request to DeepSeek API");
-            try {
-                ResponseEntity<String> response = restTemplate.exchange(
-                    apiUrl,
-                    HttpMethod.POST,
-                    entity,
-                    String.class
-                );
-
-                logger.info("Received response from DeepSeek API: {}", response.getStatusCode());
-                
-                if (response.getStatusCode() == HttpStatus.OK) {
-                    String responseBody = response.getBody();
-                    logger.debug("Raw API Response: {}", responseBody);
-                    
-                    if (responseBody == null || responseBody.trim().isEmpty()) {
-                        logger.error("API returned empty response");
-                        throw new RuntimeException("API returned empty response");
-                    }
-                    
-                    JsonNode jsonResponse = objectMapper.readTree(responseBody);
-                    logger.debug("Parsed JSON response: {}", jsonResponse);
-                    
-                    if (jsonResponse.has("error")) {
-                        String errorMessage = jsonResponse.get("error").get("message").asText();
-                        logger.error("API returned error: {}", errorMessage);
-                        throw new RuntimeException("API Error: " + errorMessage);
-                    }
-                    
-                    if (!jsonResponse.has("choices") || !jsonResponse.get("choices").isArray() || 
-                        jsonResponse.get("choices").size() == 0 || 
-                        !jsonResponse.get("choices").get(0).has("message") ||
-                        !jsonResponse.get("choices").get(0).get("message").has("content")) {
-                        logger.error("Invalid API response format: {}", jsonResponse);
-                        throw new RuntimeException("Invalid API response format");
-                    }
-                    
-                    String responseContent = jsonResponse.get("choices").get(0).get("message").get("content").asText();
-                    logger.debug("Raw API Response content: {}", responseContent);
-                    
-                    // Clean up the response content by removing markdown code block markers
-                    responseContent = cleanupJsonResponse(responseContent);
-                    logger.debug("Cleaned API Response content: {}", responseContent);
-                    
+        Set<String> sent = new HashSet<>();
+        local.getTags().forEach(tag -> sent.add(LocalResumeExtractor.tagKey(tag)));
+        AnalysisStreamListener enriching = new AnalysisStreamListener() {
+            @Override
+            public void onPersonalInfo(PersonalInfo personalInfo) {
+                ResumeAnalysis partial = new ResumeAnalysis();
+                partial.setPersonalInfo(personalInfo);
+                partial.setTags(List.of());
+                listener.onPersonalInfo(LocalResumeExtractor.enrich(partial, local).getPersonalInfo());
+            }
+
+            @Override
+            public void onTag(ResumeTag tag) {
+                if (sent.add(LocalResumeExtractor.tagKey(tag))) {
+                    listener.onTag(tag);
+                }
+            }
+        };
+        return streamWithLlm(content, enriching, true)
+            .thenApply(analysis -> LocalResumeExtractor.enrich(analysis, local));
+    }
+
+    private ResumeAnalysis analyzeLocally(String content) {
+        if (content == null || content.trim().isEmpty()) {
+            logger.error("Content is null or empty");
+            throw new IllegalArgumentException("Content cannot be null or empty");
+        }
+        ResumeAnalysis local = metrics.observeStage("local", null, () -> localExtractor.extract(content));
+        logger.info("Local extraction found {} tags", local.getTags().size());
+        return local;
+    }
+
+    /**
+     * Streams the analysis: the personal info and each tag are passed to the
+     * listener as soon as the model has generated them, and the returned future
+     * completes with the full analysis. Cached analyses, and stored ones of a
+     * near-identical resume, are replayed at once.
+     */
+    public CompletableFuture<ResumeAnalysis> analyzeResumeStreaming(String content, AnalysisStreamListener listener) {
+        return streamWithLlm(content, listener, false);
+    }
+
+    private CompletableFuture<ResumeAnalysis> streamWithLlm(String content, AnalysisStreamListener listener,
+                                                           boolean preferFast) {
+        if (content == null || content.trim().isEmpty()) {
+            logger.error("Content is null or empty");
+            throw new IllegalArgumentException("Content cannot be null or empty");
+        }
+
+        Observation observation = metrics.startAnalysis();
+        content = prepare(content, observation);
+        int inputTokens = TokenEstimator.estimate(content);
+        String model = router.preferred(inputTokens, preferFast).model();
+        String cacheKey = AnalysisCacheKey.of(content, model, SYSTEM_PROMPT, TEMPERATURE);
+        Optional<ResumeAnalysis> cached = analysisCache.get(cacheKey);
+        if (cached.isPresent()) {
+            logger.info("Replaying cached resume analysis for key {}", cacheKey);
+            metrics.recordCacheOutcome(observation, "hit");
+            return replay(cached.get(), listener, observation);
+        }
+        String variant = AnalysisCacheKey.variant(model, SYSTEM_PROMPT, TEMPERATURE);
+        int[] signature = signature(content);
+        Optional<ResumeAnalysis> duplicate = findDuplicate(content, signature, variant);
+        if (duplicate.isPresent()) {
+            metrics.recordCacheOutcome(observation, "duplicate");
+            return replay(duplicate.get(), listener, observation);
+        }
+
+        metrics.recordCacheOutcome(observation, "miss");
+        String promptContent = content;
+        List<String> chunks = split(content);
+        if (chunks.size() > 1) {
+            // Chunks are not streamed token by token; each chunk's results are sent once it completes
+            return metrics.observe(analyzeChunks(chunks, model, preferFast, listener, observation)
+                .thenApply(routed -> {
+                    keep(promptContent, routed, signature);
+                    return routed.analysis();
+                }), observation);
+        }
+        logger.info("Starting streaming resume analysis with content length: {}", content.length());
+        IncrementalAnalysisParser parser;
+        try {
+            parser = new IncrementalAnalysisParser(objectMapper, listener);
+        } catch (IOException e) {
+            observation.error(e);
+            observation.stop();
+            return CompletableFuture.failedFuture(
+                new RuntimeException("Failed to analyze resume: " + e.getMessage(), e));
+        }
+
+        CompletableFuture<LlmRoute> stream;
+        try {
+            LlmRoute route = router.route(inputTokens, preferFast);
+            metrics.recordRoute(route);
+            byte[] requestBody = metrics.observeStage("prompt", observation,
+                () -> codec(route.model()).encodeRequest(promptContent, true));
+
+            // The model output is parsed as it arrives, so parsing is part of the upstream stage
+            stream = resilience.guarded(route.provider().getName(), () -> throttled(route, estimateTokens(promptContent),
+                () -> metrics.observe(route.provider().streamChatCompletion(requestBody, delta -> {
                     try {
-                        ResumeAnalysis analysis = objectMapper.readValue(responseContent, ResumeAnalysis.class);
-                        // Validate the analysis object
-                        if (analysis == null) {
-                            logger.error("Failed to parse response content as ResumeAnalysis: null result");
-                            throw new RuntimeException("Failed to parse API response: null result");
-                        }
-                        if (analysis.getPersonalInfo() == null) {
-                            logger.error("API response missing personalInfo");
-                            throw new RuntimeException("API response missing personalInfo");
+                        parser.feed(delta);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }), metrics.startStage("upstream", observation)))).thenApply(v -> route);
+        } catch (RuntimeException e) {
+            stream = CompletableFuture.failedFuture(e);
+        }
+        return metrics.observe(stream
+            .thenApply(route -> {
+                ResumeAnalysis analysis = validateAnalysis(parser.result());
+                keep(promptContent, new RoutedAnalysis(analysis, route.model()), signature);
+                return analysis;
+            })
+            .exceptionally(e -> {
+                Throwable cause = unwrap(e);
+                logger.error("Failed to stream resume analysis", cause);
+                metrics.recordError(cause);
+                throw new RuntimeException("Failed to analyze resume: " + describeFailure(cause), cause);
+            }), observation);
+    }
+
+    private static CompletableFuture<ResumeAnalysis> replay(ResumeAnalysis analysis, AnalysisStreamListener listener,
+                                                            Observation observation) {
+        observation.stop();
+        listener.onPersonalInfo(analysis.getPersonalInfo());
+        analysis.getTags().forEach(listener::onTag);
+        return CompletableFuture.completedFuture(analysis);
+    }
+
+    /**
+     * Cuts the prepared text into the parts analyzed on their own: one per
+     * section in incremental mode, otherwise chunks of a long resume.
+     */
+    private List<String> split(String content) {
+        return chunker.isIncremental() ? chunker.splitSections(content) : chunker.split(content);
+    }
+
+    /**
+     * Analyzes the chunks of a resume concurrently and merges the results with
+     * {@link AnalysisMerger}. Each chunk is cached under the key of its own
+     * text, so the unchanged sections of a revised resume are served from the
+     * cache and only new or changed ones go upstream. Requests for the same
+     * chunk are coalesced. If a listener is given, the first chunk's personal
+     * info and each chunk's not yet seen tags are sent to it as that chunk
+     * completes.
+     *
+     * <p>The merged analysis counts as made by {@code model} only if every
+     * chunk was analyzed on its preferred route; otherwise its model is null
+     * and only the chunks are cached.
+     */
+    private CompletableFuture<RoutedAnalysis> analyzeChunks(List<String> chunks, String model, boolean preferFast,
+                                                            AnalysisStreamListener listener, Observation observation) {
+        Set<String> sent = new HashSet<>();
+        List<CompletableFuture<ResumeAnalysis>> parts = new ArrayList<>(chunks.size());
+        AtomicBoolean rerouted = new AtomicBoolean();
+        int reused = 0;
+        for (int i = 0; i < chunks.size(); i++) {
+            String chunk = chunks.get(i);
+            String chunkModel = router.preferred(TokenEstimator.estimate(chunk), preferFast).model();
+            String chunkKey = AnalysisCacheKey.of(chunk, chunkModel, SYSTEM_PROMPT, TEMPERATURE);
+            Optional<ResumeAnalysis> cached = analysisCache.get(chunkKey);
+            CompletableFuture<ResumeAnalysis> part;
+            if (cached.isPresent()) {
+                reused++;
+                part = CompletableFuture.completedFuture(cached.get());
+            } else {
+                part = inFlightAnalyses.execute(chunkKey, () -> requestAnalysis(chunk, preferFast, observation)
+                    .thenApply(routed -> {
+                        if (!routed.model().equals(chunkModel)) {
+                            rerouted.set(true);
                         }
-                        if (analysis.getTags() == null) {
-                            logger.error("API response missing tags");
-                            throw new RuntimeException("API response missing tags");
+                        analysisCache.put(AnalysisCacheKey.of(chunk, routed.model(), SYSTEM_PROMPT, TEMPERATURE),
+                                          routed.analysis());
+                        return routed.analysis();
+                    }));
+            }
+            if (listener != null) {
+                boolean first = i == 0;
+                part = part.thenApply(analysis -> {
+                    synchronized (sent) {
+                        if (first) {
+                            listener.onPersonalInfo(analysis.getPersonalInfo());
                         }
-                        
-                        logger.info("Successfully parsed resume analysis: {}", analysis);
-                        return analysis;
-                    } catch (JsonProcessingException e) {
-                        logger.error("Failed to parse API response content as ResumeAnalysis: {}\nResponse content: {}", 
-                                   e.getMessage(), responseContent, e);
-                        throw new RuntimeException("Failed to parse API response: " + e.getMessage());
-                    }
-                } else {
-                    logger.error("API returned non-OK status: {}", response.getStatusCode());
-                    throw new RuntimeException("API returned non-OK status: " + response.getStatusCode());
-                }
-            } catch (HttpClientErrorException e) {
-                String errorBody = e.getResponseBodyAsString();
-                logger.error("HTTP Client error: {} - {}", e.getStatusCode(), errorBody);
-                try {
-                    JsonNode errorJson = objectMapper.readTree(errorBody);
-                    if (errorJson.has("error") && errorJson.get("error").has("message")) {
-                        String errorMessage = errorJson.get("error").get("message").asText();
-                        logger.error("API Error message: {}", errorMessage);
-                        throw new RuntimeException("API Error: " + errorMessage);
+                        analysis.getTags().stream()
+                            .filter(tag -> sent.add(LocalResumeExtractor.tagKey(tag)))
+                            .forEach(listener::onTag);
                     }
-                } catch (JsonProcessingException ex) {
-                    logger.error("Failed to parse error response: {}", errorBody, ex);
-                }
-                throw new RuntimeException("API Error: " + errorBody);
+                    return analysis;
+                });
             }
-        } catch (Exception e) {
-            logger.error("Failed to analyze resume", e);
-            throw new RuntimeException("Failed to analyze resume: " + e.getMessage(), e);
+            parts.add(part);
+        }
+        logger.info("Analyzing resume as {} chunks, {} unchanged from a cached analysis", chunks.size(), reused);
+        metrics.recordChunks(reused, chunks.size() - reused);
+        return CompletableFuture.allOf(parts.toArray(CompletableFuture[]::new))
+            .thenApply(v -> new RoutedAnalysis(AnalysisMerger.merge(parts.stream().map(CompletableFuture::join).toList()),
+                                               rerouted.get() ? null : model));
+    }
+
+    /**
+     * Caches a fresh analysis, and adds it to the searchable store if a
+     * signature is given, under the model that actually produced it: a result
+     * of the fallback route must not be served or matched as one of the
+     * primary route. Analyses without a single model are not kept.
+     */
+    private void keep(String content, RoutedAnalysis routed, int[] signature) {
+        if (routed.model() == null) {
+            return;
+        }
+        String cacheKey = AnalysisCacheKey.of(content, routed.model(), SYSTEM_PROMPT, TEMPERATURE);
+        analysisCache.put(cacheKey, routed.analysis());
+        if (signature != null) {
+            store(cacheKey, routed.analysis(), AnalysisCacheKey.variant(routed.model(), SYSTEM_PROMPT, TEMPERATURE),
+                  signature);
         }
     }
 
+    /**
+     * Adds a fresh analysis to the searchable store. A store failure is logged
+     * and does not fail the analysis.
+     */
+    private void store(String cacheKey, ResumeAnalysis analysis, String variant, int[] signature) {
+        try {
+            analysisStore.add(cacheKey, analysis, variant, signature);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to store analysis {}: {}", cacheKey, e.getMessage());
+        }
+    }
+
+    private int[] signature(String content) {
+        return dedupEnabled ? MinHash.signature(content) : null;
+    }
+
+    /**
+     * Looks up a stored analysis of a resume whose text is nearly the same,
+     * e.g. the same resume exported again or printed to PDF, made with the
+     * same model, prompt and temperature, and returns a copy flagged with
+     * {@link DuplicateOf}. The signature barely notices a changed name, email
+     * or phone number, so the personal info is extracted locally from
+     * {@code content} rather than taken from the stored analysis. A lookup
+     * failure is logged and treated as no duplicate.
+     */
+    private Optional<ResumeAnalysis> findDuplicate(String content, int[] signature, String variant) {
+        if (signature == null) {
+            return Optional.empty();
+        }
+        try {
+            return analysisStore.findNearDuplicate(signature, variant, dedupMinSimilarity).map(match -> {
+                StoredAnalysis stored = match.stored();
+                logger.info("Reusing stored analysis {} of a near-identical resume (similarity {})",
+                            stored.getId(), match.similarity());
+                DuplicateOf duplicateOf = new DuplicateOf();
+                duplicateOf.setId(stored.getId());
+                duplicateOf.setSimilarity(match.similarity());
+                duplicateOf.setStoredAt(stored.getStoredAt());
+                ResumeAnalysis analysis = stored.getAnalysis();
+                analysis.setPersonalInfo(localExtractor.extract(content).getPersonalInfo());
+                analysis.setDuplicateOf(duplicateOf);
+                return analysis;
+            });
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Near-duplicate lookup failed: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Compacts the text that will be sent upstream. Falls back to the raw text
+     * if preprocessing strips everything. With chunking enabled the text only
+     * has to fit the chunking budget rather than a single request.
+     */
+    private String prepare(String content, Observation observation) {
+        PreprocessedText prepared = metrics.observeStage("preprocess", observation, () -> chunker.isEnabled()
+            ? preprocessor.process(content, chunker.getTokenBudget())
+            : preprocessor.process(content));
+        metrics.recordInput(content.length(), prepared.tokensSaved());
+        return prepared.text().isBlank() ? content : prepared.text();
+    }
+
+    public CacheStats getCacheStats() {
+        CacheStats stats = analysisCache.stats();
+        stats.setCoalesced(inFlightAnalyses.getCoalescedCount() + pdfFlights.getCoalescedCount());
+        return stats;
+    }
+
+    /**
+     * Runs sample text through every step of an analysis except the upstream
+     * call, so that the first real request finds its classes loaded and its
+     * Jackson (de)serializers built: preprocessing, chunking, local extraction,
+     * request encoding for each routed model, and parsing of a canned chat
+     * completion both whole and streamed. Nothing is cached, stored or routed.
+     *
+     * @param completion a chat completion response body whose content is an analysis
+     */
+    public ResumeAnalysis warmUp(String sampleText, String completion) throws IOException {
+        String prepared = (chunker.isEnabled()
+            ? preprocessor.process(sampleText, chunker.getTokenBudget())
+            : preprocessor.process(sampleText)).text();
+        split(prepared);
+        MinHash.signature(prepared);
+        ResumeAnalysis local = localExtractor.extract(prepared);
+
+        int inputTokens = TokenEstimator.estimate(prepared);
+        ChatCompletionCodec codec = null;
+        for (boolean preferFast : new boolean[] {false, true}) {
+            codec = codec(router.preferred(inputTokens, preferFast).model());
+            codec.encodeRequest(prepared, false);
+            codec.encodeRequest(prepared, true);
+        }
+        ResumeAnalysis analysis = parseAnalysis(completion, codec);
+
+        String content = ChatCompletionCodec.stripCodeFence(codec.decodeResponse(completion).content());
+        IncrementalAnalysisParser parser = new IncrementalAnalysisParser(objectMapper, new AnalysisStreamListener() {
+            @Override
+            public void onPersonalInfo(PersonalInfo personalInfo) {
+            }
+
+            @Override
+            public void onTag(ResumeTag tag) {
+            }
+        });
+        for (int i = 0; i < content.length(); i += 16) {
+            parser.feed(content.substring(i, Math.min(content.length(), i + 16)));
+        }
+        validateAnalysis(parser.result());
+
+        ResumeAnalysis merged = LocalResumeExtractor.enrich(AnalysisMerger.merge(List.of(analysis, local)), local);
+        objectMapper.writeValueAsBytes(ApiResponse.success(merged));
+        return merged;
+    }
+
+    private CompletableFuture<RoutedAnalysis> requestAnalysis(String content, boolean preferFast, Observation observation) {
+        logger.info("Starting resume analysis with content length: {}", content.length());
+        int inputTokens = TokenEstimator.estimate(content);
+
+        // Routing and parsing are part of the retried unit, so a retry can move to a
+        // healthy provider and malformed output gets another attempt. Each attempt
+        // (including hedges) gets its own prompt, upstream and parse stage.
+        return resilience.execute(() -> {
+                LlmRoute route = router.route(inputTokens, preferFast);
+                metrics.recordRoute(route);
+                ChatCompletionCodec codec = codec(route.model());
+                byte[] requestBody = metrics.observeStage("prompt", observation, () -> codec.encodeRequest(content, false));
+                CompletableFuture<String> upstream = resilience.guarded(route.provider().getName(),
+                    () -> throttled(route, estimateTokens(content), () -> metrics.observe(
+                        route.provider().chatCompletion(requestBody), metrics.startStage("upstream", observation))));
+                return LlmResilience.cancelling(upstream.thenApply(body -> new RoutedAnalysis(
+                    metrics.observeStage("parse", observation, () -> parseAnalysis(body, codec)), route.model())), upstream);
+            })
+            .exceptionally(e -> {
+                Throwable cause = unwrap(e);
+                logger.error("Failed to analyze resume", cause);
+                metrics.recordError(cause);
+                throw new RuntimeException("Failed to analyze resume: " + describeFailure(cause), cause);
+            });
+    }
+
+    /**
+     * Holds a rate governor permit for the duration of the call. In-process
+     * providers bypass the governor, whose limits describe the remote API.
+     * Cancelling the result gives up the wait for a permit or cancels the
+     * call, which releases the permit.
+     */
+    private <T> CompletableFuture<T> throttled(LlmRoute route, int estimatedTokens, Supplier<CompletableFuture<T>> call) {
+        if (route.provider().isLocal()) {
+            return call.get();
+        }
+        CompletableFuture<LlmRateGovernor.Permit> admission = rateGovernor.acquire(estimatedTokens);
+        CompletableFuture<CompletableFuture<T>> started = admission.thenApply(permit -> {
+            CompletableFuture<T> upstream;
+            try {
+                upstream = call.get();
+            } catch (RuntimeException e) {
+                permit.release(e);
+                throw e;
+            }
+            upstream.whenComplete((value, e) -> permit.release(e));
+            return upstream;
+        });
+        CompletableFuture<T> result = started.thenCompose(upstream -> upstream);
+        result.whenComplete((value, e) -> {
+            if (result.isCancelled()) {
+                admission.cancel(true);
+                started.thenAccept(upstream -> upstream.cancel(true));
+            }
+        });
+        return result;
+    }
+
+    private int estimateTokens(String content) {
+        return SYSTEM_PROMPT_TOKENS + TokenEstimator.estimate(content) + EXPECTED_COMPLETION_TOKENS;
+    }
+
+    private ResumeAnalysis parseAnalysis(String responseBody, ChatCompletionCodec codec) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Raw API Response: {}", responseBody);
+        }
+
+        if (responseBody == null || responseBody.isBlank()) {
+            logger.error("API returned empty response");
+            throw new MalformedResponseException("API returned empty response");
+        }
+
+        ChatCompletionCodec.ChatCompletion completion;
+        try {
+            completion = codec.decodeResponse(responseBody);
+        } catch (IOException e) {
+            logger.error("Failed to parse API response: {}", responseBody, e);
+            throw new MalformedResponseException("Failed to parse API response: " + e.getMessage());
+        }
+        metrics.recordUsage(completion.promptTokens(), completion.completionTokens());
+
+        // The model sometimes wraps its JSON in a markdown code block despite the prompt
+        String responseContent = ChatCompletionCodec.stripCodeFence(completion.content());
+        try {
+            return validateAnalysis(analysisReader.readValue(responseContent));
+        } catch (IOException e) {
+            logger.error("Failed to parse API response content as ResumeAnalysis: {}\nResponse content: {}",
+                       e.getMessage(), responseContent, e);
+            throw new MalformedResponseException("Failed to parse API response: " + e.getMessage());
+        }
+    }
+
+    private ResumeAnalysis validateAnalysis(ResumeAnalysis analysis) {
+        // Validate the analysis object
+        if (analysis == null) {
+            logger.error("Failed to parse response content as ResumeAnalysis: null result");
+            throw new MalformedResponseException("Failed to parse API response: null result");
+        }
+        if (analysis.getPersonalInfo() == null) {
+            logger.error("API response missing personalInfo");
+            throw new MalformedResponseException("API response missing personalInfo");
+        }
+        if (analysis.getTags() == null) {
+            logger.error("API response missing tags");
+            throw new MalformedResponseException("API response missing tags");
+        }
+
+        logger.info("Successfully parsed resume analysis with {} tags", analysis.getTags().size());
+        if (logger.isDebugEnabled()) {
+            logger.debug("Parsed resume analysis: {}", analysis);
+        }
+        return analysis;
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        Throwable cause = e;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private String describeFailure(Throwable cause) {
+        if (!(cause instanceof LlmApiException apiException)) {
+            return cause.getMessage();
+        }
+        String errorBody = apiException.getResponseBody();
+        logger.error("HTTP error: {} - {}", apiException.getStatusCode(), errorBody);
+        try {
+            JsonNode errorJson = objectMapper.readTree(errorBody);
+            if (errorJson.has("error") && errorJson.get("error").has("message")) {
+                String errorMessage = errorJson.get("error").get("message").asText();
+                logger.error("API Error message: {}", errorMessage);
+                return "API Error: " + errorMessage;
+            }
+        } catch (JsonProcessingException ex) {
+            logger.error("Failed to parse error response: {}", errorBody, ex);
+        }
+        return "API Error: " + errorBody;
+    }
+
     public ResumeAnalysis analyzePdfResume(MultipartFile file) throws IOException {
+        try {
+            return analyzePdfResumeAsync(file).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Extracts the PDF text, then hands the LLM round trip off to
+     * {@link #analyzeResumeAsync(String)}. Concurrent uploads of byte-identical
+     * files share one extraction and one upstream call; extraction failures are
+     * reported through the returned future.
+     */
+    public CompletableFuture<ResumeAnalysis> analyzePdfResumeAsync(MultipartFile file) throws IOException {
+        validatePdf(file);
+        String fileKey;
+        try (InputStream in = file.getInputStream()) {
+            fileKey = AnalysisCacheKey.ofBytes(in);
+        }
+        return pdfFlights.execute(fileKey, () -> {
+            try {
+                return analyzeResumeAsync(extractPdfText(file));
+            } catch (IOException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        });
+    }
+
+    public CompletableFuture<ResumeAnalysis> analyzePdfResumeAsync(MultipartFile file, AnalysisMode mode) throws IOException {
+        if (mode == AnalysisMode.LLM) {
+            return analyzePdfResumeAsync(file);
+        }
+        validatePdf(file);
+        return analyzeResumeAsync(extractPdfText(file), mode);
+    }
+
+    public CompletableFuture<ResumeAnalysis> analyzePdfResumeStreaming(MultipartFile file, AnalysisStreamListener listener)
+            throws IOException {
+        return analyzePdfResumeStreaming(file, listener, AnalysisMode.LLM);
+    }
+
+    public CompletableFuture<ResumeAnalysis> analyzePdfResumeStreaming(MultipartFile file, AnalysisStreamListener listener,
+                                                                       AnalysisMode mode) throws IOException {
+        validatePdf(file);
+        return analyzeResumeStreaming(extractPdfText(file), listener, mode);
+    }
+
+    private void validatePdf(MultipartFile file) {
         if (file == null) {
             logger.error("File is null");
             throw new IllegalArgumentException("File cannot be null");
@@ -252,63 +849,17 @@ public class ResumeAnalyzerService {
             logger.error("Invalid file type: {}", file.getContentType());
             throw new IllegalArgumentException("Only PDF files are supported");
         }
+    }
 
+    private String extractPdfText(MultipartFile file) throws IOException {
         logger.info("Starting PDF resume analysis for file: {}, size: {} bytes", 
                    file.getOriginalFilename(), file.getSize());
         
-        PDDocument document = null;
         try {
-            document = PDDocument.load(file.getInputStream());
-            PDFTextStripper stripper = new PDFTextStripper();
-            String text = stripper.getText(document);
-            
-            if (text == null || text.trim().isEmpty()) {
-                logger.error("Extracted text is empty");
-                throw new IllegalArgumentException("Could not extract text from PDF");
-            }
-            
-            logger.info("Successfully extracted {} characters from PDF", text.length());
-            logger.debug("Extracted text: {}", text);
-            
-            return analyzeResume(text);
+            return pdfTextExtractor.extract(file.getInputStream());
         } catch (IOException e) {
             logger.error("Failed to process PDF file: {}", e.getMessage(), e);
             throw new IOException("Failed to process PDF file: " + e.getMessage(), e);
-        } catch (Exception e) {
-            logger.error("Unexpected error processing PDF: {}", e.getMessage(), e);
-            throw new RuntimeException("Unexpected error processing PDF: " + e.getMessage(), e);
-        } finally {
-            if (document != null) {
-                try {
-                    document.close();
-                } catch (IOException e) {
-                    logger.warn("Failed to close PDF document", e);
-                }
-            }
         }
     }
-
-    private ResumeTag createTag(String name, ResumeTag.TagType type, double confidence) {
-        ResumeTag tag = new ResumeTag();
-        tag.setId(UUID.randomUUID().toString());
-        tag.setName(name);
-        tag.setType(type);
-        tag.setConfidence(confidence);
-        return tag;
-    }
-
-    private String cleanupJsonResponse(String content) {
-        if (content == null || content.trim().isEmpty()) {
-            return content;
-        }
-        
-        // Remove markdown code block markers and any language specifier
-        content = content.replaceAll("```\\w*\\s*", "").replaceAll("```\\s*$", "");
-        
-        // Trim any leading/trailing whitespace
-        content = content.trim();
-        
-        logger.debug("Cleaned content: {}", content);
-        return content;
-    }
-} 
\ No newline at end of file
+}
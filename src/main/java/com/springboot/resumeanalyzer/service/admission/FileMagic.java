@@ -0,0 +1,50 @@
+package com.springboot.resumeanalyzer.service.admission;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * File types recognised from their leading bytes, with the content type an
+ * upload of that type is given regardless of what the client declared.
+ */
+public enum FileMagic {
+    // PDF readers accept a header anywhere in the first 1024 bytes
+    PDF("%PDF-".getBytes(StandardCharsets.US_ASCII), 1024, "application/pdf"),
+    ZIP(new byte[] {'P', 'K', 3, 4}, 1, "application/zip");
+
+    /**
+     * Leading bytes needed to decide between all types.
+     */
+    public static final int HEAD_LENGTH = 1024 + 5 - 1;
+
+    private final byte[] magic;
+    private final int offsets;
+    private final String contentType;
+
+    FileMagic(byte[] magic, int offsets, String contentType) {
+        this.magic = magic;
+        this.offsets = offsets;
+        this.contentType = contentType;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * True if this type's magic starts within its window of the first
+     * {@code length} bytes of {@code head}.
+     */
+    public boolean matches(byte[] head, int length) {
+        int lastStart = Math.min(offsets - 1, length - magic.length);
+        outer:
+        for (int start = 0; start <= lastStart; start++) {
+            for (int i = 0; i < magic.length; i++) {
+                if (head[start + i] != magic[i]) {
+                    continue outer;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+}
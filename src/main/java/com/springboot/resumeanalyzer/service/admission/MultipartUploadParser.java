@@ -0,0 +1,475 @@
+package com.springboot.resumeanalyzer.service.admission;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.multipart.support.DefaultMultipartHttpServletRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reads a {@code multipart/form-data} body straight from the request stream,
+ * checking each file part as it arrives instead of after the container has
+ * buffered the whole request.
+ *
+ * <p>The first {@link FileMagic#HEAD_LENGTH} bytes of every file part are
+ * matched against the accepted {@link FileMagic} types, and the part's content type is set from the match
+ * rather than taken from the client. Parts are spooled to temp files; every
+ * chunk read grows the upload's {@link UploadAdmission.Reservation}, and a part
+ * over {@code spring.servlet.multipart.max-file-size} is refused, so an upload
+ * is cut off as soon as it goes over a limit.
+ */
+@Component
+public class MultipartUploadParser {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_HEADER_BYTES = 16 * 1024;
+    private static final int MAX_FIELD_BYTES = 64 * 1024;
+    private static final byte[] HEADER_END = "\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final Path tempDir;
+    private final long maxFileBytes;
+
+    public MultipartUploadParser(@Value("${upload.admission.temp-dir:${java.io.tmpdir}}") String tempDir,
+                                 @Value("${spring.servlet.multipart.max-file-size:1MB}") DataSize maxFileSize) {
+        this.tempDir = Path.of(tempDir);
+        this.maxFileBytes = maxFileSize.toBytes();
+    }
+
+    /**
+     * Parses the request body.
+     *
+     * @param accepted file types accepted in file parts
+     * @param strict if true a file part of any other type rejects the upload;
+     *               otherwise its content is dropped and it is passed on empty,
+     *               typed {@code application/octet-stream}
+     */
+    public AdmittedMultipartRequest parse(HttpServletRequest request, Set<FileMagic> accepted, boolean strict,
+                                          UploadAdmission.Reservation reservation)
+            throws IOException, UploadRejectedException {
+        String boundary = boundary(request.getContentType());
+        BodyReader reader = new BodyReader(request.getInputStream(), reservation);
+        MultiValueMap<String, MultipartFile> files = new LinkedMultiValueMap<>();
+        Map<String, String[]> params = new LinkedHashMap<>();
+        Map<String, String> paramContentTypes = new LinkedHashMap<>();
+        List<Path> tempFiles = new ArrayList<>();
+        boolean complete = false;
+        try {
+            byte[] firstDelimiter = ("--" + boundary).getBytes(StandardCharsets.US_ASCII);
+            byte[] delimiter = ("\r\n--" + boundary).getBytes(StandardCharsets.US_ASCII);
+            reader.readUntil(firstDelimiter, Sink.DISCARD);
+            while (true) {
+                reader.ensure(2);
+                if (reader.startsWith("--")) {
+                    break;
+                }
+                ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
+                reader.readUntil(HEADER_END, new LimitedSink(headerBytes, MAX_HEADER_BYTES, "Part headers are too large"));
+                Map<String, String> headers = parseHeaders(headerBytes.toString(StandardCharsets.UTF_8));
+
+                String disposition = headers.get("content-disposition");
+                if (disposition == null) {
+                    throw malformed("Part without Content-Disposition");
+                }
+                ContentDisposition contentDisposition = parseDisposition(disposition);
+                String name = contentDisposition.getName();
+                if (contentDisposition.getFilename() == null) {
+                    ByteArrayOutputStream value = new ByteArrayOutputStream();
+                    reader.readUntil(delimiter, new LimitedSink(value, MAX_FIELD_BYTES, "Form field is too large"));
+                    if (name != null) {
+                        String[] existing = params.get(name);
+                        String text = value.toString(StandardCharsets.UTF_8);
+                        params.put(name, existing == null ? new String[] {text} : append(existing, text));
+                        paramContentTypes.putIfAbsent(name, headers.getOrDefault("content-type", MediaType.TEXT_PLAIN_VALUE));
+                    }
+                    continue;
+                }
+
+                Path file = Files.createTempFile(tempDir, "upload-", ".part");
+                tempFiles.add(file);
+                FilePartSink sink;
+                try (OutputStream out = Files.newOutputStream(file)) {
+                    sink = new FilePartSink(out, accepted, strict);
+                    reader.readUntil(delimiter, sink);
+                    sink.finish();
+                }
+                if (name != null) {
+                    files.add(name, new SpooledMultipartFile(name, contentDisposition.getFilename(),
+                        sink.contentType(), file, sink.size));
+                }
+            }
+            complete = true;
+        } finally {
+            if (!complete) {
+                deleteAll(tempFiles);
+            }
+        }
+        return new AdmittedMultipartRequest(new QueryParameterRequest(request), files, params, paramContentTypes, tempFiles);
+    }
+
+    private static String boundary(String contentType) throws UploadRejectedException {
+        try {
+            String boundary = MediaType.parseMediaType(contentType).getParameter("boundary");
+            if (boundary != null && boundary.length() > 1 && boundary.startsWith("\"") && boundary.endsWith("\"")) {
+                boundary = boundary.substring(1, boundary.length() - 1);
+            }
+            if (boundary == null || boundary.isEmpty() || boundary.length() > 200) {
+                throw malformed("Missing multipart boundary");
+            }
+            return boundary;
+        } catch (IllegalArgumentException e) {
+            throw malformed("Invalid multipart content type");
+        }
+    }
+
+    private static ContentDisposition parseDisposition(String disposition) throws UploadRejectedException {
+        try {
+            return ContentDisposition.parse(disposition);
+        } catch (IllegalArgumentException e) {
+            throw malformed("Invalid Content-Disposition");
+        }
+    }
+
+    private static Map<String, String> parseHeaders(String block) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (String line : block.split("\r\n")) {
+            int colon = line.indexOf(':');
+            if (colon > 0) {
+                headers.put(line.substring(0, colon).strip().toLowerCase(Locale.ROOT), line.substring(colon + 1).strip());
+            }
+        }
+        return headers;
+    }
+
+    private static String[] append(String[] values, String value) {
+        String[] result = new String[values.length + 1];
+        System.arraycopy(values, 0, result, 0, values.length);
+        result[values.length] = value;
+        return result;
+    }
+
+    private static void deleteAll(List<Path> files) {
+        for (Path file : files) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                // Left for the temp directory cleanup
+            }
+        }
+    }
+
+    private static UploadRejectedException malformed(String message) {
+        return new UploadRejectedException(400, "malformed", message);
+    }
+
+    private interface Sink {
+        Sink DISCARD = (buf, off, len) -> { };
+
+        void write(byte[] buf, int off, int len) throws IOException, UploadRejectedException;
+    }
+
+    private static final class LimitedSink implements Sink {
+        private final ByteArrayOutputStream out;
+        private final int limit;
+        private final String message;
+
+        LimitedSink(ByteArrayOutputStream out, int limit, String message) {
+            this.out = out;
+            this.limit = limit;
+            this.message = message;
+        }
+
+        @Override
+        public void write(byte[] buf, int off, int len) throws UploadRejectedException {
+            if (out.size() + len > limit) {
+                throw new UploadRejectedException(413, "too_large", message);
+            }
+            out.write(buf, off, len);
+        }
+    }
+
+    /**
+     * Holds back the first bytes of a file part until its type is known, then
+     * either spools the part or drops it.
+     */
+    private final class FilePartSink implements Sink {
+        private final OutputStream out;
+        private final Set<FileMagic> accepted;
+        private final boolean strict;
+        private final byte[] head = new byte[FileMagic.HEAD_LENGTH];
+        private int headLength;
+        private FileMagic type;
+        private boolean dropped;
+        long size;
+
+        FilePartSink(OutputStream out, Set<FileMagic> accepted, boolean strict) {
+            this.out = out;
+            this.accepted = accepted;
+            this.strict = strict;
+        }
+
+        @Override
+        public void write(byte[] buf, int off, int len) throws IOException, UploadRejectedException {
+            if (len == 0 || dropped) {
+                return;
+            }
+            if (type == null) {
+                int n = Math.min(len, head.length - headLength);
+                System.arraycopy(buf, off, head, headLength, n);
+                headLength += n;
+                off += n;
+                len -= n;
+                if (headLength < head.length) {
+                    return;
+                }
+                decide();
+                if (dropped) {
+                    return;
+                }
+                spool(head, 0, headLength);
+            }
+            spool(buf, off, len);
+        }
+
+        void finish() throws IOException, UploadRejectedException {
+            // Parts shorter than the sniffed head are decided on what arrived
+            if (type == null && !dropped && headLength > 0) {
+                decide();
+                if (!dropped) {
+                    spool(head, 0, headLength);
+                }
+            }
+        }
+
+        String contentType() {
+            return type != null ? type.getContentType() : MediaType.APPLICATION_OCTET_STREAM_VALUE;
+        }
+
+        private void decide() throws UploadRejectedException {
+            for (FileMagic magic : accepted) {
+                if (magic.matches(head, headLength)) {
+                    type = magic;
+                    return;
+                }
+            }
+            if (strict) {
+                throw new UploadRejectedException(415, "unsupported_type",
+                    accepted.contains(FileMagic.PDF) && accepted.size() == 1
+                        ? "Only PDF files are supported" : "Unsupported file type");
+            }
+            dropped = true;
+        }
+
+        private void spool(byte[] buf, int off, int len) throws IOException, UploadRejectedException {
+            size += len;
+            if (size > maxFileBytes) {
+                throw new UploadRejectedException(413, "too_large",
+                    "File exceeds the limit of " + DataSize.ofBytes(maxFileBytes).toMegabytes() + " MB");
+            }
+            out.write(buf, off, len);
+        }
+    }
+
+    /**
+     * Buffered view of the request body that can stop at a delimiter and
+     * charges every byte read to the upload's reservation.
+     */
+    private static final class BodyReader {
+        private final InputStream in;
+        private final UploadAdmission.Reservation reservation;
+        private final byte[] buf = new byte[BUFFER_SIZE];
+        private int pos;
+        private int limit;
+        private boolean eof;
+        private long total;
+
+        BodyReader(InputStream in, UploadAdmission.Reservation reservation) {
+            this.in = in;
+            this.reservation = reservation;
+        }
+
+        /**
+         * Passes everything up to the next {@code delimiter} to the sink and
+         * consumes the delimiter.
+         */
+        void readUntil(byte[] delimiter, Sink sink) throws IOException, UploadRejectedException {
+            while (true) {
+                if (limit - pos < delimiter.length && !eof) {
+                    fill();
+                    continue;
+                }
+                int lastStart = limit - delimiter.length;
+                int found = indexOf(delimiter, lastStart);
+                if (found >= 0) {
+                    sink.write(buf, pos, found - pos);
+                    pos = found + delimiter.length;
+                    return;
+                }
+                if (eof) {
+                    throw malformed("Unexpected end of multipart body");
+                }
+                // Bytes before lastStart + 1 cannot be the start of a delimiter
+                int safe = Math.max(pos, lastStart + 1);
+                sink.write(buf, pos, safe - pos);
+                pos = safe;
+                fill();
+            }
+        }
+
+        void ensure(int bytes) throws IOException, UploadRejectedException {
+            while (limit - pos < bytes) {
+                if (eof) {
+                    throw malformed("Unexpected end of multipart body");
+                }
+                fill();
+            }
+        }
+
+        boolean startsWith(String prefix) {
+            for (int i = 0; i < prefix.length(); i++) {
+                if (buf[pos + i] != prefix.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int indexOf(byte[] delimiter, int lastStart) {
+            byte first = delimiter[0];
+            outer:
+            for (int i = pos; i <= lastStart; i++) {
+                if (buf[i] != first) {
+                    continue;
+                }
+                for (int j = 1; j < delimiter.length; j++) {
+                    if (buf[i + j] != delimiter[j]) {
+                        continue outer;
+                    }
+                }
+                return i;
+            }
+            return -1;
+        }
+
+        private void fill() throws IOException, UploadRejectedException {
+            if (pos > 0) {
+                System.arraycopy(buf, pos, buf, 0, limit - pos);
+                limit -= pos;
+                pos = 0;
+            }
+            int n = in.read(buf, limit, buf.length - limit);
+            if (n < 0) {
+                eof = true;
+                return;
+            }
+            limit += n;
+            total += n;
+            if (total > reservation.getBytes()) {
+                reservation.grow(total - reservation.getBytes());
+            }
+        }
+    }
+
+    /**
+     * The parsed request handed to the controllers. Spring sees it is already
+     * a multipart request and does not resolve the body again.
+     */
+    public static final class AdmittedMultipartRequest extends DefaultMultipartHttpServletRequest {
+        private final List<Path> tempFiles;
+
+        AdmittedMultipartRequest(HttpServletRequest request, MultiValueMap<String, MultipartFile> files,
+                                 Map<String, String[]> params, Map<String, String> paramContentTypes,
+                                 List<Path> tempFiles) {
+            super(request, files, params, paramContentTypes);
+            this.tempFiles = tempFiles;
+        }
+
+        /**
+         * Deletes the spooled parts.
+         */
+        public void cleanup() {
+            deleteAll(tempFiles);
+        }
+    }
+
+    /**
+     * Serves request parameters from the query string only. Asking the
+     * container would make it try to parse the already consumed body.
+     */
+    private static final class QueryParameterRequest extends HttpServletRequestWrapper {
+        private final Map<String, String[]> parameters;
+
+        QueryParameterRequest(HttpServletRequest request) {
+            super(request);
+            this.parameters = parseQuery(request.getQueryString());
+        }
+
+        private static Map<String, String[]> parseQuery(String query) {
+            Map<String, String[]> parameters = new LinkedHashMap<>();
+            if (query == null || query.isEmpty()) {
+                return parameters;
+            }
+            for (String pair : query.split("&")) {
+                if (pair.isEmpty()) {
+                    continue;
+                }
+                int eq = pair.indexOf('=');
+                String name = decode(eq < 0 ? pair : pair.substring(0, eq));
+                String value = eq < 0 ? "" : decode(pair.substring(eq + 1));
+                String[] existing = parameters.get(name);
+                parameters.put(name, existing == null ? new String[] {value} : append(existing, value));
+            }
+            return parameters;
+        }
+
+        private static String decode(String value) {
+            try {
+                return URLDecoder.decode(value, StandardCharsets.UTF_8);
+            } catch (IllegalArgumentException e) {
+                return value;
+            }
+        }
+
+        @Override
+        public String getParameter(String name) {
+            String[] values = parameters.get(name);
+            return values == null ? null : values[0];
+        }
+
+        @Override
+        public Map<String, String[]> getParameterMap() {
+            return Collections.unmodifiableMap(parameters);
+        }
+
+        @Override
+        public Enumeration<String> getParameterNames() {
+            return Collections.enumeration(parameters.keySet());
+        }
+
+        @Override
+        public String[] getParameterValues(String name) {
+            return parameters.get(name);
+        }
+    }
+}
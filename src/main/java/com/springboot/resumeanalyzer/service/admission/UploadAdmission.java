@@ -0,0 +1,176 @@
+package com.springboot.resumeanalyzer.service.admission;
+
+import com.springboot.resumeanalyzer.service.batch.BatchAnalysisService;
+import com.springboot.resumeanalyzer.service.llm.LlmRateGovernor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides whether an upload may start and bounds the bytes that uploads hold
+ * at once, before any of the body is read.
+ *
+ * <p>Every admitted upload reserves its declared {@code Content-Length} against
+ * a global budget ({@code upload.admission.global-in-flight}) and a budget per
+ * client address ({@code upload.admission.per-client-in-flight}); uploads
+ * without a length grow their reservation as bytes arrive. The reservation is
+ * held until the request completes, since the spooled parts live that long.
+ * Going over the client budget answers 429, over the global budget 503.
+ *
+ * <p>Uploads are also shed with 503 while the LLM rate governor has more than
+ * {@code upload.admission.max-llm-queue} calls waiting, and batch uploads while
+ * the batch extraction backlog is full. Both carry a {@code Retry-After} of
+ * {@code upload.admission.retry-after}.
+ */
+@Component
+public class UploadAdmission {
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final int SERVICE_UNAVAILABLE = 503;
+    private static final int PAYLOAD_TOO_LARGE = 413;
+
+    @Autowired
+    private LlmRateGovernor rateGovernor;
+
+    @Autowired
+    private BatchAnalysisService batchAnalysisService;
+
+    private final long maxRequestBytes;
+    private final long globalBudget;
+    private final long perClientBudget;
+    private final int maxLlmQueue;
+    private final long retryAfterSeconds;
+    private final AtomicLong inFlightBytes = new AtomicLong();
+    private final ConcurrentHashMap<String, Long> inFlightByClient = new ConcurrentHashMap<>();
+
+    public UploadAdmission(@Value("${spring.servlet.multipart.max-request-size:10MB}") DataSize maxRequestSize,
+                           @Value("${upload.admission.global-in-flight:512MB}") DataSize globalBudget,
+                           @Value("${upload.admission.per-client-in-flight:64MB}") DataSize perClientBudget,
+                           @Value("${upload.admission.max-llm-queue:200}") int maxLlmQueue,
+                           @Value("${upload.admission.retry-after:5s}") Duration retryAfter) {
+        this.maxRequestBytes = maxRequestSize.toBytes();
+        this.globalBudget = globalBudget.toBytes();
+        this.perClientBudget = perClientBudget.toBytes();
+        this.maxLlmQueue = maxLlmQueue;
+        this.retryAfterSeconds = Math.max(1, retryAfter.toSeconds());
+    }
+
+    /**
+     * Admits an upload or throws the rejection to answer with.
+     *
+     * @param contentLength declared body length, or -1 if unknown
+     * @param batch whether the upload feeds the batch extraction pipeline
+     */
+    public Reservation admit(String client, long contentLength, boolean batch) throws UploadRejectedException {
+        if (contentLength > maxRequestBytes) {
+            throw tooLarge();
+        }
+        if (rateGovernor.getQueued() > maxLlmQueue) {
+            throw new UploadRejectedException(SERVICE_UNAVAILABLE, "llm_saturated",
+                "Analysis queue is full, please retry later", retryAfterSeconds);
+        }
+        if (batch && batchAnalysisService.isExtractionSaturated()) {
+            throw new UploadRejectedException(SERVICE_UNAVAILABLE, "extraction_saturated",
+                "Extraction queue is full, please retry later", retryAfterSeconds);
+        }
+        return reserve(client, contentLength);
+    }
+
+    /**
+     * Reserves the declared length against the byte budgets only, without
+     * checking for load.
+     */
+    public Reservation reserve(String client, long contentLength) throws UploadRejectedException {
+        Reservation reservation = new Reservation(client);
+        try {
+            reservation.grow(Math.max(0, contentLength));
+        } catch (UploadRejectedException e) {
+            reservation.close();
+            throw e;
+        }
+        return reservation;
+    }
+
+    private UploadRejectedException tooLarge() {
+        return new UploadRejectedException(PAYLOAD_TOO_LARGE, "too_large",
+            "Upload exceeds the limit of " + DataSize.ofBytes(maxRequestBytes).toMegabytes() + " MB");
+    }
+
+    public long getInFlightBytes() {
+        return inFlightBytes.get();
+    }
+
+    public long getMaxRequestBytes() {
+        return maxRequestBytes;
+    }
+
+    /**
+     * Bytes held against the budgets by one upload. Closing it returns them.
+     */
+    public final class Reservation implements AutoCloseable {
+        private final String client;
+        private long bytes;
+        private boolean closed;
+
+        private Reservation(String client) {
+            this.client = client;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+
+        /**
+         * Reserves {@code delta} more bytes, or throws if that would exceed the
+         * request limit or a budget; nothing is reserved in that case.
+         */
+        public synchronized void grow(long delta) throws UploadRejectedException {
+            if (delta <= 0) {
+                return;
+            }
+            if (bytes + delta > maxRequestBytes) {
+                throw tooLarge();
+            }
+            if (addClientBytes(delta) > perClientBudget) {
+                addClientBytes(-delta);
+                throw new UploadRejectedException(TOO_MANY_REQUESTS, "client_budget",
+                    "Too many uploads in progress, please retry later", retryAfterSeconds);
+            }
+            if (inFlightBytes.addAndGet(delta) > globalBudget) {
+                inFlightBytes.addAndGet(-delta);
+                addClientBytes(-delta);
+                throw new UploadRejectedException(SERVICE_UNAVAILABLE, "global_budget",
+                    "Server is busy with other uploads, please retry later", retryAfterSeconds);
+            }
+            bytes += delta;
+        }
+
+        @Override
+        public synchronized void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            inFlightBytes.addAndGet(-bytes);
+            addClientBytes(-bytes);
+            bytes = 0;
+        }
+
+        /**
+         * Returns the client's new total. A client whose total drops to zero is
+         * removed so the map does not grow with every address seen.
+         */
+        private long addClientBytes(long delta) {
+            long[] total = new long[1];
+            inFlightByClient.compute(client, (c, current) -> {
+                total[0] = (current == null ? 0 : current) + delta;
+                return total[0] <= 0 ? null : total[0];
+            });
+            return total[0];
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.springboot.resumeanalyzer.service.admission;
+
+/**
+ * An upload refused by admission control, carrying the HTTP status to answer
+ * with and, for load shedding, how many seconds the client should wait.
+ */
+public class UploadRejectedException extends Exception {
+    private final int status;
+    private final String reason;
+    private final long retryAfterSeconds;
+
+    public UploadRejectedException(int status, String reason, String message) {
+        this(status, reason, message, 0);
+    }
+
+    public UploadRejectedException(int status, String reason, String message, long retryAfterSeconds) {
+        super(message);
+        this.status = status;
+        this.reason = reason;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * Short metric tag such as {@code too_large} or {@code not_pdf}.
+     */
+    public String getReason() {
+        return reason;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
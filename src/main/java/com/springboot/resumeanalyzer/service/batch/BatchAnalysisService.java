@@ -0,0 +1,367 @@
+package com.springboot.resumeanalyzer.service.batch;
+
+import com.springboot.resumeanalyzer.model.BatchAnalysisResult;
+import com.springboot.resumeanalyzer.model.BatchItemResult;
+import com.springboot.resumeanalyzer.service.ResumeAnalyzerService;
+import com.springboot.resumeanalyzer.service.pdf.PdfTextExtractor;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Runs many resumes through a three stage pipeline: PDF extraction on a bounded
+ * CPU pool, LLM analysis limited by a semaphore, then aggregation into a single
+ * per-file report. Both stages apply backpressure without tying up request
+ * threads: files wait in a backlog and are handed to the extraction pool only
+ * while it has a free thread or queue slot, each finished extraction feeding
+ * the next file, and extraction workers wait at most
+ * {@code batch.analysis.max-wait} for an analysis permit. New batch uploads
+ * are shed while the backlog holds {@code batch.extraction.max-backlog} files.
+ *
+ * <p>Zip entries are spooled to temp files under {@code batch.zip.temp-dir}
+ * rather than held on the heap, and deleted once extracted. Besides the
+ * per-entry limit, the number of entries and their total uncompressed size are
+ * capped while inflating.
+ */
+@Service
+public class BatchAnalysisService {
+    private static final Logger logger = LoggerFactory.getLogger(BatchAnalysisService.class);
+
+    @Autowired
+    private ResumeAnalyzerService analyzerService;
+
+    @Autowired
+    private PdfTextExtractor pdfTextExtractor;
+
+    private final ThreadPoolExecutor extractionExecutor;
+    // One slot per pool thread and queue entry, so the pool never has to reject a file
+    private final Semaphore extractionSlots;
+    private final Queue<Runnable> backlog = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger backlogSize = new AtomicInteger();
+    private final int maxBacklog;
+    private final Semaphore analysisPermits;
+    private final long analysisMaxWaitMillis;
+    private final int maxFiles;
+    private final long maxZipEntryBytes;
+    private final long maxZipTotalBytes;
+    private final int maxZipEntries;
+    private final Path zipTempDir;
+
+    public BatchAnalysisService(@Value("${batch.extraction.threads:0}") int extractionThreads,
+                                @Value("${batch.extraction.queue-capacity:64}") int queueCapacity,
+                                @Value("${batch.extraction.max-backlog:2000}") int maxBacklog,
+                                @Value("${batch.analysis.max-concurrency:16}") int analysisConcurrency,
+                                @Value("${batch.analysis.max-wait:60s}") Duration analysisMaxWait,
+                                @Value("${batch.max-files:500}") int maxFiles,
+                                @Value("${batch.zip.max-entry-bytes:10485760}") long maxZipEntryBytes,
+                                @Value("${batch.zip.max-total-bytes:268435456}") long maxZipTotalBytes,
+                                @Value("${batch.zip.max-entries:2000}") int maxZipEntries,
+                                @Value("${batch.zip.temp-dir:${java.io.tmpdir}}") String zipTempDir) {
+        int threads = extractionThreads > 0 ? extractionThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        this.extractionExecutor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+            // Slots are released just before a worker finishes, so leave room for the next file to queue behind it
+            new ArrayBlockingQueue<>(queueCapacity + threads),
+            r -> {
+                Thread thread = new Thread(r, "batch-extract-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+        this.extractionSlots = new Semaphore(threads + queueCapacity);
+        this.maxBacklog = maxBacklog;
+        this.analysisPermits = new Semaphore(analysisConcurrency);
+        this.analysisMaxWaitMillis = analysisMaxWait.toMillis();
+        this.maxFiles = maxFiles;
+        this.maxZipEntryBytes = maxZipEntryBytes;
+        this.maxZipTotalBytes = maxZipTotalBytes;
+        this.maxZipEntries = maxZipEntries;
+        this.zipTempDir = Paths.get(zipTempDir);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        extractionExecutor.shutdownNow();
+    }
+
+    /**
+     * True while the backlog of files waiting for the extraction pool is at
+     * its limit.
+     */
+    public boolean isExtractionSaturated() {
+        return backlogSize.get() >= maxBacklog;
+    }
+
+    public CompletableFuture<BatchAnalysisResult> analyzeBatch(List<MultipartFile> files) throws IOException {
+        long start = System.currentTimeMillis();
+        List<CompletableFuture<BatchItemResult>> items = new ArrayList<>();
+        for (MultipartFile file : files) {
+            if (items.size() >= maxFiles) {
+                items.add(CompletableFuture.completedFuture(
+                    skipped(file.getOriginalFilename(), "Batch limit of " + maxFiles + " files reached")));
+                continue;
+            }
+            if (isZip(file)) {
+                submitZip(file, items);
+            } else if ("application/pdf".equals(file.getContentType())) {
+                items.add(submit(file.getOriginalFilename(), file::getInputStream));
+            } else {
+                items.add(CompletableFuture.completedFuture(
+                    skipped(file.getOriginalFilename(), "Only PDF files are supported")));
+            }
+        }
+
+        return CompletableFuture.allOf(items.toArray(new CompletableFuture[0]))
+            .thenApply(v -> aggregate(items, start));
+    }
+
+    private void submitZip(MultipartFile zip, List<CompletableFuture<BatchItemResult>> items) throws IOException {
+        try (ZipInputStream in = new ZipInputStream(zip.getInputStream())) {
+            ZipEntry entry;
+            int entries = 0;
+            long totalBytes = 0;
+            while ((entry = in.getNextEntry()) != null) {
+                if (++entries > maxZipEntries) {
+                    items.add(CompletableFuture.completedFuture(skipped(zip.getOriginalFilename(),
+                        "Zip has more than " + maxZipEntries + " entries, the rest was not read")));
+                    return;
+                }
+                String name = entry.getName();
+                if (entry.isDirectory() || !name.toLowerCase().endsWith(".pdf")) {
+                    continue;
+                }
+                if (items.size() >= maxFiles) {
+                    items.add(CompletableFuture.completedFuture(
+                        skipped(name, "Batch limit of " + maxFiles + " files reached")));
+                    continue;
+                }
+                // Entry sizes in the zip headers can lie, so the limits are applied to the inflated bytes
+                long limit = Math.min(maxZipEntryBytes, maxZipTotalBytes - totalBytes);
+                Path spooled = Files.createTempFile(zipTempDir, "batch-", ".pdf");
+                long size;
+                try {
+                    size = spool(in, spooled, limit);
+                } catch (IOException e) {
+                    Files.deleteIfExists(spooled);
+                    throw e;
+                }
+                totalBytes += size;
+                if (totalBytes > maxZipTotalBytes) {
+                    Files.deleteIfExists(spooled);
+                    items.add(CompletableFuture.completedFuture(skipped(zip.getOriginalFilename(),
+                        "Zip exceeds the total uncompressed size limit, the rest was not read")));
+                    return;
+                }
+                if (size > maxZipEntryBytes) {
+                    Files.deleteIfExists(spooled);
+                    items.add(CompletableFuture.completedFuture(skipped(name, "Entry exceeds size limit")));
+                    continue;
+                }
+                items.add(submit(name, new PdfSource() {
+                    @Override
+                    public InputStream open() throws IOException {
+                        return Files.newInputStream(spooled);
+                    }
+
+                    @Override
+                    public void release() {
+                        deleteQuietly(spooled);
+                    }
+                }));
+            }
+        }
+    }
+
+    private CompletableFuture<BatchItemResult> submit(String fileName, PdfSource source) {
+        BatchItemResult result = new BatchItemResult();
+        result.setFileName(fileName);
+
+        CompletableFuture<BatchItemResult> future = new CompletableFuture<>();
+        backlogSize.incrementAndGet();
+        backlog.add(() -> {
+            try {
+                extractAndAnalyze(fileName, source, result, future);
+            } finally {
+                source.release();
+            }
+        });
+        feedExtraction();
+        return future;
+    }
+
+    /**
+     * Hands backlog files to the extraction pool while it has free slots. Runs
+     * on the submitting thread and again after every extraction, so a full pool
+     * delays files instead of rejecting them.
+     */
+    private void feedExtraction() {
+        while (!backlog.isEmpty() && extractionSlots.tryAcquire()) {
+            Runnable task = backlog.poll();
+            if (task == null) {
+                // Another thread took the last file, and may have missed this slot
+                extractionSlots.release();
+                continue;
+            }
+            backlogSize.decrementAndGet();
+            try {
+                extractionExecutor.execute(() -> {
+                    try {
+                        task.run();
+                    } finally {
+                        extractionSlots.release();
+                        feedExtraction();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // Only after shutdown
+                extractionSlots.release();
+                logger.warn("Batch extraction pool is shut down, dropping queued files");
+                return;
+            }
+        }
+    }
+
+    private static long spool(InputStream in, Path target, long limit) throws IOException {
+        long written = 0;
+        byte[] buffer = new byte[8192];
+        try (OutputStream out = Files.newOutputStream(target)) {
+            int read;
+            while (written <= limit && (read = in.read(buffer, 0, (int) Math.min(buffer.length, limit + 1 - written))) > 0) {
+                out.write(buffer, 0, read);
+                written += read;
+            }
+        }
+        return written;
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Failed to delete spooled zip entry {}: {}", file, e.getMessage());
+        }
+    }
+
+    private void extractAndAnalyze(String fileName, PdfSource source, BatchItemResult result,
+                                   CompletableFuture<BatchItemResult> future) {
+        String text;
+        long extractStart = System.currentTimeMillis();
+        try (InputStream in = source.open()) {
+            text = pdfTextExtractor.extract(in);
+        } catch (Exception e) {
+            logger.warn("Batch extraction failed for {}: {}", fileName, e.getMessage());
+            future.complete(failed(result, e));
+            return;
+        } finally {
+            result.setExtractionMillis(System.currentTimeMillis() - extractStart);
+        }
+
+        try {
+            if (!analysisPermits.tryAcquire(analysisMaxWaitMillis, TimeUnit.MILLISECONDS)) {
+                result.setStatus(BatchItemResult.Status.FAILED);
+                result.setError("Timed out waiting for analysis capacity, please retry later");
+                future.complete(result);
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.complete(failed(result, e));
+            return;
+        }
+        long analysisStart = System.currentTimeMillis();
+        CompletableFuture<?> analysis;
+        try {
+            analysis = analyzerService.analyzeResumeAsync(text)
+                .thenAccept(value -> {
+                    result.setStatus(BatchItemResult.Status.SUCCESS);
+                    result.setAnalysis(value);
+                });
+        } catch (RuntimeException e) {
+            analysis = CompletableFuture.failedFuture(e);
+        }
+        analysis.whenComplete((v, e) -> {
+            analysisPermits.release();
+            result.setAnalysisMillis(System.currentTimeMillis() - analysisStart);
+            if (e != null) {
+                logger.warn("Batch analysis failed for {}: {}", fileName, e.getMessage());
+                failed(result, e);
+            }
+            future.complete(result);
+        });
+    }
+
+    private BatchAnalysisResult aggregate(List<CompletableFuture<BatchItemResult>> items, long start) {
+        BatchAnalysisResult result = new BatchAnalysisResult();
+        List<BatchItemResult> results = items.stream().map(CompletableFuture::join).toList();
+        result.setItems(results);
+        result.setTotal(results.size());
+        for (BatchItemResult item : results) {
+            switch (item.getStatus()) {
+                case SUCCESS -> result.setSucceeded(result.getSucceeded() + 1);
+                case FAILED -> result.setFailed(result.getFailed() + 1);
+                case SKIPPED -> result.setSkipped(result.getSkipped() + 1);
+            }
+        }
+        result.setElapsedMillis(System.currentTimeMillis() - start);
+        logger.info("Batch finished: {} files, {} succeeded, {} failed, {} skipped in {} ms",
+                    result.getTotal(), result.getSucceeded(), result.getFailed(), result.getSkipped(),
+                    result.getElapsedMillis());
+        return result;
+    }
+
+    private boolean isZip(MultipartFile file) {
+        String name = file.getOriginalFilename();
+        return "application/zip".equals(file.getContentType())
+            || "application/x-zip-compressed".equals(file.getContentType())
+            || (name != null && name.toLowerCase().endsWith(".zip"));
+    }
+
+    private static BatchItemResult skipped(String fileName, String reason) {
+        BatchItemResult result = new BatchItemResult();
+        result.setFileName(fileName);
+        result.setStatus(BatchItemResult.Status.SKIPPED);
+        result.setError(reason);
+        return result;
+    }
+
+    private static BatchItemResult failed(BatchItemResult result, Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        result.setStatus(BatchItemResult.Status.FAILED);
+        result.setError(cause.getMessage());
+        return result;
+    }
+
+    @FunctionalInterface
+    private interface PdfSource {
+        InputStream open() throws IOException;
+
+        default void release() {
+        }
+    }
+}
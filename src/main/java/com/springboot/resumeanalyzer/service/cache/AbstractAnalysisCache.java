@@ -0,0 +1,61 @@
+package com.springboot.resumeanalyzer.service.cache;
+
+import com.springboot.resumeanalyzer.model.CacheStats;
+import com.springboot.resumeanalyzer.model.ResumeAnalysis;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shared hit/miss/eviction bookkeeping for the cache backends.
+ */
+public abstract class AbstractAnalysisCache implements AnalysisCache {
+    protected final int maxEntries;
+    protected final Duration ttl;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    protected AbstractAnalysisCache(int maxEntries, Duration ttl) {
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+    }
+
+    @Override
+    public final Optional<ResumeAnalysis> get(String key) {
+        Optional<ResumeAnalysis> result = lookup(key);
+        if (result.isPresent()) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+        }
+        return result;
+    }
+
+    @Override
+    public final CacheStats stats() {
+        CacheStats stats = new CacheStats();
+        stats.setBackend(backendName());
+        stats.setHits(hits.get());
+        stats.setMisses(misses.get());
+        stats.setEvictions(evictions.get());
+        stats.setSize(size());
+        return stats;
+    }
+
+    protected abstract Optional<ResumeAnalysis> lookup(String key);
+
+    protected abstract long size();
+
+    protected abstract String backendName();
+
+    protected void recordEviction() {
+        evictions.incrementAndGet();
+    }
+
+    protected boolean isExpired(long writtenAtMillis, long nowMillis) {
+        return !ttl.isZero() && nowMillis - writtenAtMillis > ttl.toMillis();
+    }
+}
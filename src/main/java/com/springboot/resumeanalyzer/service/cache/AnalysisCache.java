@@ -0,0 +1,21 @@
+package com.springboot.resumeanalyzer.service.cache;
+
+import com.springboot.resumeanalyzer.model.CacheStats;
+import com.springboot.resumeanalyzer.model.ResumeAnalysis;
+
+import java.util.Optional;
+
+/**
+ * Stores finished analyses by content key so that repeated uploads of the same
+ * resume do not go back to the LLM. Keys are built by {@link AnalysisCacheKey}.
+ */
+public interface AnalysisCache {
+
+    Optional<ResumeAnalysis> get(String key);
+
+    void put(String key, ResumeAnalysis analysis);
+
+    void invalidate(String key);
+
+    CacheStats stats();
+}
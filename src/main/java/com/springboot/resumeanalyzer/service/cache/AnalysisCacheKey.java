@@ -0,0 +1,72 @@
+package com.springboot.resumeanalyzer.service.cache;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/**
+ * Builds content-addressed cache keys. The key covers everything that changes
+ * the model output: the normalized resume text, the model, the system prompt
+ * and the sampling temperature.
+ */
+public final class AnalysisCacheKey {
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private AnalysisCacheKey() {
+    }
+
+    public static String of(String content, String model, String systemPrompt, double temperature) {
+        MessageDigest digest = sha256();
+        digest.update(normalize(content).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(model.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(systemPrompt.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(Double.toString(temperature).getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Hashes the model, system prompt and temperature alone, identifying which
+     * analyses of different content are interchangeable.
+     */
+    public static String variant(String model, String systemPrompt, double temperature) {
+        return of("", model, systemPrompt, temperature);
+    }
+
+    /**
+     * Folds compatibility characters and collapses whitespace so that the same
+     * resume extracted with different line breaks maps to the same key.
+     */
+    public static String normalize(String content) {
+        String folded = Normalizer.normalize(content, Normalizer.Form.NFKC);
+        return WHITESPACE.matcher(folded).replaceAll(" ").trim();
+    }
+
+    /**
+     * Hashes raw upload bytes, used to coalesce identical files before extraction.
+     */
+    public static String ofBytes(InputStream in) throws IOException {
+        MessageDigest digest = sha256();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            digest.update(buffer, 0, read);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
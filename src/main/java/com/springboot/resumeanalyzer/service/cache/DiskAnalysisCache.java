@@ -0,0 +1,178 @@
+package com.springboot.resumeanalyzer.service.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.springboot.resumeanalyzer.model.ResumeAnalysis;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Cache backed by one JSON file per entry in a local directory, so cached
+ * analyses survive restarts. An in-memory index of write times is rebuilt from
+ * the directory on startup and drives TTL and size eviction.
+ *
+ * <p>Only the index is guarded by a lock; files are read, written and deleted
+ * outside it, so lookups do not queue behind each other's disk I/O. Entries
+ * are written to a temp file and moved into place atomically, so a reader
+ * sees the old or the new file, never a partial one. A lookup racing with the
+ * eviction of its key can find the file gone, which counts as a miss.
+ */
+public class DiskAnalysisCache extends AbstractAnalysisCache {
+    private static final Logger logger = LoggerFactory.getLogger(DiskAnalysisCache.class);
+    private static final String SUFFIX = ".json";
+
+    private final Path directory;
+    private final ObjectMapper objectMapper;
+    // Insertion ordered: the first entry is always the oldest write
+    private final LinkedHashMap<String, Long> index = new LinkedHashMap<>();
+
+    public DiskAnalysisCache(Path directory, ObjectMapper objectMapper, int maxEntries, Duration ttl) throws IOException {
+        super(maxEntries, ttl);
+        this.directory = directory;
+        this.objectMapper = objectMapper;
+        Files.createDirectories(directory);
+        loadIndex();
+    }
+
+    private void loadIndex() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> entries = files
+                .filter(p -> p.getFileName().toString().endsWith(SUFFIX))
+                .sorted(Comparator.comparingLong(this::lastModified))
+                .toList();
+            for (Path file : entries) {
+                String name = file.getFileName().toString();
+                index.put(name.substring(0, name.length() - SUFFIX.length()), lastModified(file));
+            }
+        }
+        logger.info("Loaded {} cached analyses from {}", index.size(), directory);
+        takeOverflow().forEach(key -> deleteQuietly(fileFor(key)));
+    }
+
+    @Override
+    protected Optional<ResumeAnalysis> lookup(String key) {
+        Long writtenAt;
+        synchronized (index) {
+            writtenAt = index.get(key);
+            if (writtenAt == null) {
+                return Optional.empty();
+            }
+            if (isExpired(writtenAt, System.currentTimeMillis())) {
+                index.remove(key);
+                recordEviction();
+                writtenAt = null;
+            }
+        }
+        if (writtenAt == null) {
+            deleteQuietly(fileFor(key));
+            return Optional.empty();
+        }
+        try (InputStream in = Files.newInputStream(fileFor(key))) {
+            return Optional.of(objectMapper.readValue(in, ResumeAnalysis.class));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            logger.warn("Dropping unreadable cache entry {}: {}", key, e.getMessage());
+            boolean unchanged;
+            synchronized (index) {
+                // A newer write of the same key may have replaced the file meanwhile
+                unchanged = index.remove(key, writtenAt);
+            }
+            if (unchanged) {
+                deleteQuietly(fileFor(key));
+            }
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void put(String key, ResumeAnalysis analysis) {
+        Path target = fileFor(key);
+        try {
+            // Write to a temp file first so a crash never leaves a truncated entry behind
+            Path tmp = Files.createTempFile(directory, key, ".tmp");
+            objectMapper.writeValue(tmp.toFile(), analysis);
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Failed to write cache entry {}: {}", key, e.getMessage());
+            return;
+        }
+        List<String> evicted;
+        synchronized (index) {
+            index.remove(key);
+            index.put(key, System.currentTimeMillis());
+            evicted = takeOverflow();
+        }
+        evicted.forEach(evictedKey -> deleteQuietly(fileFor(evictedKey)));
+    }
+
+    @Override
+    public void invalidate(String key) {
+        synchronized (index) {
+            index.remove(key);
+        }
+        deleteQuietly(fileFor(key));
+    }
+
+    @Override
+    protected long size() {
+        synchronized (index) {
+            return index.size();
+        }
+    }
+
+    @Override
+    protected String backendName() {
+        return "disk";
+    }
+
+    /**
+     * Removes the oldest entries over {@code maxEntries} from the index and
+     * returns their keys, whose files the caller deletes outside the lock.
+     */
+    private List<String> takeOverflow() {
+        List<String> evicted = new ArrayList<>();
+        Iterator<Map.Entry<String, Long>> it = index.entrySet().iterator();
+        while (index.size() > maxEntries && it.hasNext()) {
+            evicted.add(it.next().getKey());
+            it.remove();
+            recordEviction();
+        }
+        return evicted;
+    }
+
+    private Path fileFor(String key) {
+        return directory.resolve(key + SUFFIX);
+    }
+
+    private long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Failed to delete cache file {}", file, e);
+        }
+    }
+}
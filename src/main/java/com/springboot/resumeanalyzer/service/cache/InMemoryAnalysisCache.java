@@ -0,0 +1,117 @@
+package com.springboot.resumeanalyzer.service.cache;
+
+import com.springboot.resumeanalyzer.model.DuplicateOf;
+import com.springboot.resumeanalyzer.model.PersonalInfo;
+import com.springboot.resumeanalyzer.model.ResumeAnalysis;
+import com.springboot.resumeanalyzer.model.ResumeTag;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * LRU cache held on the heap. Entries are evicted when {@code maxEntries} is
+ * exceeded or when they are older than the configured TTL.
+ *
+ * <p>Analyses are mutable beans, so they are copied on the way in and out;
+ * a caller changing its result cannot change what later callers get.
+ */
+public class InMemoryAnalysisCache extends AbstractAnalysisCache {
+
+    private final LinkedHashMap<String, Entry> entries;
+
+    public InMemoryAnalysisCache(int maxEntries, Duration ttl) {
+        super(maxEntries, ttl);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > InMemoryAnalysisCache.this.maxEntries) {
+                    recordEviction();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    protected synchronized Optional<ResumeAnalysis> lookup(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (isExpired(entry.writtenAt, System.currentTimeMillis())) {
+            entries.remove(key);
+            recordEviction();
+            return Optional.empty();
+        }
+        return Optional.of(copy(entry.analysis));
+    }
+
+    @Override
+    public void put(String key, ResumeAnalysis analysis) {
+        Entry entry = new Entry(copy(analysis), System.currentTimeMillis());
+        synchronized (this) {
+            entries.put(key, entry);
+        }
+    }
+
+    @Override
+    public synchronized void invalidate(String key) {
+        entries.remove(key);
+    }
+
+    @Override
+    protected synchronized long size() {
+        return entries.size();
+    }
+
+    @Override
+    protected String backendName() {
+        return "memory";
+    }
+
+    private static ResumeAnalysis copy(ResumeAnalysis analysis) {
+        ResumeAnalysis copy = new ResumeAnalysis();
+        PersonalInfo info = analysis.getPersonalInfo();
+        if (info != null) {
+            PersonalInfo infoCopy = new PersonalInfo();
+            infoCopy.setName(info.getName());
+            infoCopy.setEmail(info.getEmail());
+            infoCopy.setPhone(info.getPhone());
+            infoCopy.setLocation(info.getLocation());
+            copy.setPersonalInfo(infoCopy);
+        }
+        if (analysis.getTags() != null) {
+            List<ResumeTag> tags = new ArrayList<>(analysis.getTags().size());
+            analysis.getTags().forEach(tag -> tags.add(copy(tag)));
+            copy.setTags(tags);
+        }
+        copy.setRawContent(analysis.getRawContent());
+        DuplicateOf duplicateOf = analysis.getDuplicateOf();
+        if (duplicateOf != null) {
+            DuplicateOf duplicateCopy = new DuplicateOf();
+            duplicateCopy.setId(duplicateOf.getId());
+            duplicateCopy.setSimilarity(duplicateOf.getSimilarity());
+            duplicateCopy.setStoredAt(duplicateOf.getStoredAt());
+            copy.setDuplicateOf(duplicateCopy);
+        }
+        return copy;
+    }
+
+    private static ResumeTag copy(ResumeTag tag) {
+        ResumeTag copy = new ResumeTag();
+        copy.setId(tag.getId());
+        copy.setName(tag.getName());
+        copy.setType(tag.getType());
+        copy.setConfidence(tag.getConfidence());
+        copy.setScore(tag.getScore());
+        return copy;
+    }
+
+    private record Entry(ResumeAnalysis analysis, long writtenAt) {
+    }
+}
@@ -0,0 +1,39 @@
+package com.springboot.resumeanalyzer.service.cache;
+
+import com.springboot.resumeanalyzer.model.ResumeAnalysis;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Cache that never stores anything; used when caching is switched off.
+ */
+public class NoOpAnalysisCache extends AbstractAnalysisCache {
+
+    public NoOpAnalysisCache() {
+        super(0, Duration.ZERO);
+    }
+
+    @Override
+    protected Optional<ResumeAnalysis> lookup(String key) {
+        return Optional.empty();
+    }
+
+    @Override
+    public void put(String key, ResumeAnalysis analysis) {
+    }
+
+    @Override
+    public void invalidate(String key) {
+    }
+
+    @Override
+    protected long size() {
+        return 0;
+    }
+
+    @Override
+    protected String backendName() {
+        return "none";
+    }
+}
@@ -0,0 +1,371 @@
+package com.springboot.resumeanalyzer.service.job;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.springboot.resumeanalyzer.model.AnalysisJob;
+import com.springboot.resumeanalyzer.model.ApiResponse;
+import com.springboot.resumeanalyzer.model.ResumeAnalysis;
+import com.springboot.resumeanalyzer.service.ResumeAnalyzerService;
+import com.springboot.resumeanalyzer.service.pdf.PdfTextExtractor;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Submit/poll/callback job model on top of {@link JobStore}. Submissions are
+ * persisted and return at once. A pool of {@code jobs.workers} threads drains
+ * the queue in priority order and stores the result. When a job carries a
+ * callback URL, the finished job is POSTed there.
+ *
+ * <p>Set {@code jobs.worker.enabled=false} on API-only instances. Instances
+ * with workers enabled that point at the same {@code jobs.directory} pick up
+ * the queued jobs. Workers refresh the markers of their running jobs every
+ * quarter of {@code jobs.stale-after} and requeue jobs whose markers were not
+ * refreshed, i.e. whose worker stopped, at the same interval.
+ *
+ * <p>Callbacks only go to hosts that resolve to public addresses, or to the
+ * hosts listed in {@code jobs.callback.allowed-hosts}, and redirects are not
+ * followed, so a submitter cannot make the server call internal services.
+ */
+@Service
+public class JobService {
+    private static final Logger logger = LoggerFactory.getLogger(JobService.class);
+    public static final int DEFAULT_PRIORITY = 50;
+
+    @Autowired
+    private JobStore jobStore;
+
+    @Autowired
+    private ResumeAnalyzerService analyzerService;
+
+    @Autowired
+    private PdfTextExtractor pdfTextExtractor;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final boolean workersEnabled;
+    private final int workerCount;
+    private final Duration pollInterval;
+    private final Duration staleAfter;
+    private final Set<String> allowedCallbackHosts;
+    private final HttpClient callbackClient = HttpClient.newBuilder()
+        .connectTimeout(Duration.ofSeconds(5))
+        .followRedirects(HttpClient.Redirect.NEVER)
+        .build();
+    private final Object signal = new Object();
+    private final Map<String, AnalysisJob> runningJobs = new ConcurrentHashMap<>();
+    private ExecutorService workers;
+    private ScheduledExecutorService housekeeping;
+
+    public JobService(@Value("${jobs.worker.enabled:true}") boolean workersEnabled,
+                      @Value("${jobs.workers:4}") int workerCount,
+                      @Value("${jobs.poll-interval:2s}") Duration pollInterval,
+                      @Value("${jobs.stale-after:10m}") Duration staleAfter,
+                      @Value("${jobs.callback.allowed-hosts:}") String allowedCallbackHosts) {
+        this.workersEnabled = workersEnabled;
+        this.workerCount = workerCount;
+        this.pollInterval = pollInterval;
+        this.staleAfter = staleAfter;
+        this.allowedCallbackHosts = Set.copyOf(Arrays.stream(allowedCallbackHosts.split(","))
+            .map(host -> host.strip().toLowerCase(Locale.ROOT))
+            .filter(host -> !host.isEmpty())
+            .toList());
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!workersEnabled) {
+            logger.info("Job workers disabled on this instance");
+            return;
+        }
+        int requeued = jobStore.requeueStale(staleAfter);
+        if (requeued > 0) {
+            logger.info("Requeued {} jobs left behind by a stopped worker", requeued);
+        }
+        AtomicInteger counter = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(workerCount, r -> {
+            Thread thread = new Thread(r, "job-worker-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < workerCount; i++) {
+            workers.execute(this::workLoop);
+        }
+        housekeeping = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "job-housekeeping");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = Math.max(1, staleAfter.toMillis() / 4);
+        housekeeping.scheduleWithFixedDelay(this::housekeep, interval, interval, TimeUnit.MILLISECONDS);
+        logger.info("Started {} job workers, {} jobs queued", workerCount, jobStore.queuedCount());
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (housekeeping != null) {
+            housekeeping.shutdownNow();
+        }
+        if (workers != null) {
+            workers.shutdownNow();
+            workers.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    public AnalysisJob submitText(String content, Integer priority, String callbackUrl) throws IOException {
+        if (content == null || content.trim().isEmpty()) {
+            throw new IllegalArgumentException("Content cannot be empty");
+        }
+        AnalysisJob job = newJob(AnalysisJob.SourceType.TEXT, null, priority, callbackUrl);
+        jobStore.writePayload(job.getId(), new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+        return enqueue(job);
+    }
+
+    public AnalysisJob submitPdf(MultipartFile file, Integer priority, String callbackUrl) throws IOException {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("Please select a file");
+        }
+        if (!"application/pdf".equals(file.getContentType())) {
+            throw new IllegalArgumentException("Only PDF files are supported");
+        }
+        AnalysisJob job = newJob(AnalysisJob.SourceType.PDF, file.getOriginalFilename(), priority, callbackUrl);
+        try (InputStream in = file.getInputStream()) {
+            jobStore.writePayload(job.getId(), in);
+        }
+        return enqueue(job);
+    }
+
+    public Optional<AnalysisJob> getJob(String id) throws IOException {
+        return jobStore.load(id);
+    }
+
+    private AnalysisJob newJob(AnalysisJob.SourceType sourceType, String fileName, Integer priority, String callbackUrl) {
+        int effectivePriority = priority == null ? DEFAULT_PRIORITY : priority;
+        if (effectivePriority < 0 || effectivePriority > JobStore.MAX_PRIORITY) {
+            throw new IllegalArgumentException("Priority must be between 0 and " + JobStore.MAX_PRIORITY);
+        }
+        if (callbackUrl != null && !callbackUrl.isBlank()) {
+            validateCallbackUrl(callbackUrl);
+        }
+        AnalysisJob job = new AnalysisJob();
+        job.setId(UUID.randomUUID().toString());
+        job.setStatus(AnalysisJob.Status.QUEUED);
+        job.setSourceType(sourceType);
+        job.setFileName(fileName);
+        job.setPriority(effectivePriority);
+        job.setCallbackUrl(callbackUrl == null || callbackUrl.isBlank() ? null : callbackUrl);
+        job.setCreatedAt(System.currentTimeMillis());
+        return job;
+    }
+
+    private AnalysisJob enqueue(AnalysisJob job) throws IOException {
+        // State first, marker last: a worker never sees a marker without its job
+        jobStore.save(job);
+        jobStore.enqueue(job);
+        logger.info("Queued {} job {} with priority {}", job.getSourceType(), job.getId(), job.getPriority());
+        synchronized (signal) {
+            signal.notifyAll();
+        }
+        return job;
+    }
+
+    /**
+     * Keeps the markers of this instance's running jobs fresh and requeues
+     * jobs left behind by stopped workers.
+     */
+    private void housekeep() {
+        try {
+            runningJobs.values().forEach(jobStore::heartbeat);
+            int requeued = jobStore.requeueStale(staleAfter);
+            if (requeued > 0) {
+                logger.info("Requeued {} jobs left behind by a stopped worker", requeued);
+                synchronized (signal) {
+                    signal.notifyAll();
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("Job housekeeping failed: {}", e.getMessage());
+        }
+    }
+
+    private void workLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                Optional<String> claimed = jobStore.claimNext();
+                if (claimed.isPresent()) {
+                    process(claimed.get());
+                    continue;
+                }
+                // Woken early by local submissions, otherwise poll for jobs from other instances
+                synchronized (signal) {
+                    signal.wait(pollInterval.toMillis());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                logger.error("Job worker error", e);
+            }
+        }
+    }
+
+    private void process(String id) throws IOException {
+        Optional<AnalysisJob> loaded = jobStore.load(id);
+        if (loaded.isEmpty()) {
+            logger.warn("Claimed job {} has no stored state, skipping", id);
+            return;
+        }
+        AnalysisJob job = loaded.get();
+        job.setStatus(AnalysisJob.Status.RUNNING);
+        job.setStartedAt(System.currentTimeMillis());
+        job.setAttempts(job.getAttempts() + 1);
+        jobStore.save(job);
+        logger.info("Running job {} (attempt {})", id, job.getAttempts());
+
+        runningJobs.put(id, job);
+        try {
+            job.setResult(run(job));
+            job.setStatus(AnalysisJob.Status.SUCCEEDED);
+        } catch (Exception e) {
+            Throwable rootCause = e;
+            while (rootCause.getCause() != null && rootCause.getCause() != rootCause) {
+                rootCause = rootCause.getCause();
+            }
+            logger.warn("Job {} failed: {}", id, rootCause.getMessage());
+            job.setStatus(AnalysisJob.Status.FAILED);
+            job.setError(rootCause.getMessage());
+        } finally {
+            runningJobs.remove(id);
+        }
+        job.setFinishedAt(System.currentTimeMillis());
+        jobStore.save(job);
+        jobStore.complete(job);
+        jobStore.deletePayload(id);
+        logger.info("Job {} finished with status {} in {} ms", id, job.getStatus(),
+                   job.getFinishedAt() - job.getStartedAt());
+        notifyCallback(job);
+    }
+
+    private ResumeAnalysis run(AnalysisJob job) throws IOException {
+        if (job.getSourceType() == AnalysisJob.SourceType.PDF) {
+            return analyzerService.analyzeResume(pdfTextExtractor.extract(jobStore.payloadPath(job.getId())));
+        }
+        String content = Files.readString(jobStore.payloadPath(job.getId()), StandardCharsets.UTF_8);
+        return analyzerService.analyzeResume(content);
+    }
+
+    private void notifyCallback(AnalysisJob job) {
+        if (job.getCallbackUrl() == null) {
+            return;
+        }
+        try {
+            // Checked again at send time, as the host may resolve differently by now
+            validateCallbackUrl(job.getCallbackUrl());
+            // The job is always attached so the receiver can correlate failures too
+            ApiResponse<AnalysisJob> payload = ApiResponse.success(job);
+            if (job.getStatus() == AnalysisJob.Status.FAILED) {
+                payload.setSuccess(false);
+                payload.setError(job.getError());
+            }
+            HttpRequest request = HttpRequest.newBuilder(URI.create(job.getCallbackUrl()))
+                .timeout(Duration.ofSeconds(10))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(payload)))
+                .build();
+            callbackClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, e) -> {
+                    if (e != null) {
+                        logger.warn("Callback for job {} failed: {}", job.getId(), e.getMessage());
+                    } else {
+                        logger.info("Callback for job {} returned {}", job.getId(), response.statusCode());
+                    }
+                });
+        } catch (Exception e) {
+            logger.warn("Failed to send callback for job {}: {}", job.getId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Accepts http(s) URLs whose host is allow-listed or resolves only to
+     * public addresses.
+     *
+     * @throws IllegalArgumentException otherwise
+     */
+    private void validateCallbackUrl(String callbackUrl) {
+        URI uri;
+        try {
+            uri = URI.create(callbackUrl);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Callback URL is malformed");
+        }
+        String scheme = uri.getScheme() == null ? "" : uri.getScheme().toLowerCase(Locale.ROOT);
+        if (!scheme.equals("http") && !scheme.equals("https")) {
+            throw new IllegalArgumentException("Callback URL must be http or https");
+        }
+        if (uri.getHost() == null) {
+            throw new IllegalArgumentException("Callback URL has no host");
+        }
+        String host = uri.getHost().toLowerCase(Locale.ROOT);
+        if (allowedCallbackHosts.contains(host)) {
+            return;
+        }
+        if (!allowedCallbackHosts.isEmpty()) {
+            throw new IllegalArgumentException("Callback host is not allowed: " + host);
+        }
+        InetAddress[] addresses;
+        try {
+            addresses = InetAddress.getAllByName(host);
+        } catch (UnknownHostException e) {
+            throw new IllegalArgumentException("Callback host cannot be resolved: " + host);
+        }
+        for (InetAddress address : addresses) {
+            if (!isPublic(address)) {
+                throw new IllegalArgumentException("Callback host resolves to a non-public address: " + host);
+            }
+        }
+    }
+
+    private static boolean isPublic(InetAddress address) {
+        if (address.isAnyLocalAddress() || address.isLoopbackAddress() || address.isLinkLocalAddress()
+            || address.isSiteLocalAddress() || address.isMulticastAddress()) {
+            return false;
+        }
+        byte[] bytes = address.getAddress();
+        if (address instanceof Inet6Address) {
+            // Unique local addresses, fc00::/7
+            return (bytes[0] & 0xfe) != 0xfc;
+        }
+        // Carrier-grade NAT, 100.64.0.0/10
+        return !((bytes[0] & 0xff) == 100 && (bytes[1] & 0xc0) == 64);
+    }
+}
@@ -0,0 +1,190 @@
+package com.springboot.resumeanalyzer.service.job;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.springboot.resumeanalyzer.model.AnalysisJob;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Durable job storage on the local file system, laid out as:
+ * <pre>
+ *   jobs/&lt;id&gt;.json        job state and result
+ *   payloads/&lt;id&gt;         submitted text or PDF bytes
+ *   queued/&lt;marker&gt;       one empty marker per waiting job
+ *   running/&lt;marker&gt;      markers of claimed jobs
+ * </pre>
+ * Marker names sort by priority, then submission time, so listing the queued
+ * directory yields the next job. A worker claims a job by atomically moving
+ * its marker to {@code running/}; only one mover can succeed, which lets
+ * several worker processes share one directory. A running marker's
+ * modification time is the claim time, refreshed by {@link #heartbeat} while
+ * the job runs, so a job only looks stale once its worker has stopped.
+ */
+@Component
+public class JobStore {
+    private static final Logger logger = LoggerFactory.getLogger(JobStore.class);
+    public static final int MAX_PRIORITY = 100;
+
+    private final ObjectMapper objectMapper;
+    private final Path jobsDir;
+    private final Path payloadDir;
+    private final Path queuedDir;
+    private final Path runningDir;
+
+    public JobStore(ObjectMapper objectMapper,
+                    @Value("${jobs.directory:${java.io.tmpdir}/resume-analyzer/jobs}") String directory) throws IOException {
+        this.objectMapper = objectMapper;
+        Path root = Path.of(directory);
+        this.jobsDir = Files.createDirectories(root.resolve("jobs"));
+        this.payloadDir = Files.createDirectories(root.resolve("payloads"));
+        this.queuedDir = Files.createDirectories(root.resolve("queued"));
+        this.runningDir = Files.createDirectories(root.resolve("running"));
+    }
+
+    public void save(AnalysisJob job) throws IOException {
+        Path tmp = Files.createTempFile(jobsDir, job.getId(), ".tmp");
+        objectMapper.writeValue(tmp.toFile(), job);
+        move(tmp, jobsDir.resolve(job.getId() + ".json"));
+    }
+
+    public Optional<AnalysisJob> load(String id) throws IOException {
+        if (!isValidId(id)) {
+            return Optional.empty();
+        }
+        Path file = jobsDir.resolve(id + ".json");
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        return Optional.of(objectMapper.readValue(file.toFile(), AnalysisJob.class));
+    }
+
+    public void writePayload(String id, InputStream in) throws IOException {
+        Files.copy(in, payloadDir.resolve(id), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    public Path payloadPath(String id) {
+        return payloadDir.resolve(id);
+    }
+
+    public void deletePayload(String id) {
+        try {
+            Files.deleteIfExists(payloadDir.resolve(id));
+        } catch (IOException e) {
+            logger.warn("Failed to delete payload of job {}", id, e);
+        }
+    }
+
+    public void enqueue(AnalysisJob job) throws IOException {
+        Files.createFile(queuedDir.resolve(marker(job)));
+    }
+
+    /**
+     * Claims the highest priority queued job. Returns the job id, or empty if
+     * nothing is waiting.
+     */
+    public Optional<String> claimNext() throws IOException {
+        for (String marker : list(queuedDir)) {
+            try {
+                // A move keeps the modification time, which would still be the enqueue time
+                Files.setLastModifiedTime(queuedDir.resolve(marker), FileTime.fromMillis(System.currentTimeMillis()));
+                Files.move(queuedDir.resolve(marker), runningDir.resolve(marker), StandardCopyOption.ATOMIC_MOVE);
+                return Optional.of(idOf(marker));
+            } catch (NoSuchFileException | FileAlreadyExistsException e) {
+                // Another worker got there first
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Marks a running job as still alive so that {@link #requeueStale} leaves
+     * it alone.
+     */
+    public void heartbeat(AnalysisJob job) {
+        try {
+            Files.setLastModifiedTime(runningDir.resolve(marker(job)), FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (NoSuchFileException e) {
+            // Finished concurrently
+        } catch (IOException e) {
+            logger.warn("Failed to refresh running marker of job {}", job.getId(), e);
+        }
+    }
+
+    public void complete(AnalysisJob job) {
+        try {
+            Files.deleteIfExists(runningDir.resolve(marker(job)));
+        } catch (IOException e) {
+            logger.warn("Failed to remove running marker of job {}", job.getId(), e);
+        }
+    }
+
+    /**
+     * Puts claimed jobs whose markers have not been refreshed for
+     * {@code staleAfter} back in the queue. Such jobs were claimed by a worker
+     * that died before finishing.
+     */
+    public int requeueStale(Duration staleAfter) throws IOException {
+        long cutoff = System.currentTimeMillis() - staleAfter.toMillis();
+        int requeued = 0;
+        for (String marker : list(runningDir)) {
+            Path running = runningDir.resolve(marker);
+            try {
+                if (Files.getLastModifiedTime(running).toMillis() <= cutoff) {
+                    Files.move(running, queuedDir.resolve(marker), StandardCopyOption.ATOMIC_MOVE);
+                    requeued++;
+                }
+            } catch (NoSuchFileException e) {
+                // Finished or requeued concurrently
+            }
+        }
+        return requeued;
+    }
+
+    public int queuedCount() throws IOException {
+        return list(queuedDir).size();
+    }
+
+    private List<String> list(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(p -> p.getFileName().toString()).sorted().toList();
+        }
+    }
+
+    private void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    // Inverted priority first so that a plain lexicographic sort puts urgent jobs first
+    private static String marker(AnalysisJob job) {
+        return String.format("%03d-%013d-%s", MAX_PRIORITY - job.getPriority(), job.getCreatedAt(), job.getId());
+    }
+
+    private static String idOf(String marker) {
+        // Job ids are UUIDs, always the last 36 characters
+        return marker.substring(marker.length() - 36);
+    }
+
+    private static boolean isValidId(String id) {
+        return id.matches("[0-9a-f\\-]{36}");
+    }
+}
@@ -0,0 +1,232 @@
+package com.springboot.resumeanalyzer.service.llm;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encodes chat completion requests and decodes their responses without
+ * building intermediate maps or JSON trees.
+ *
+ * <p>Everything in a request except the user message is fixed per model and
+ * system prompt, so it is serialized once into a byte prefix. A request is then
+ * that prefix, the escaped user content and a constant suffix. Responses are
+ * read with a streaming {@link JsonParser} that keeps only the first choice's
+ * content and the token usage and skips everything else.
+ */
+public class ChatCompletionCodec {
+    private static final String CODE_FENCE = "```";
+    private static final byte[] REQUEST_SUFFIX = "\"}]}".getBytes(StandardCharsets.UTF_8);
+
+    private final JsonFactory jsonFactory;
+    private final byte[] requestPrefix;
+    private final byte[] streamingRequestPrefix;
+
+    public ChatCompletionCodec(JsonFactory jsonFactory, String model, double temperature, String systemPrompt) {
+        this.jsonFactory = jsonFactory;
+        this.requestPrefix = prefix(model, temperature, systemPrompt, false);
+        this.streamingRequestPrefix = prefix(model, temperature, systemPrompt, true);
+    }
+
+    private static byte[] prefix(String model, double temperature, String systemPrompt, boolean stream) {
+        JsonStringEncoder encoder = JsonStringEncoder.getInstance();
+        String prefix = "{\"model\":\"" + new String(encoder.quoteAsString(model))
+            + "\",\"temperature\":" + temperature
+            + (stream ? ",\"stream\":true" : "")
+            + ",\"messages\":[{\"role\":\"system\",\"content\":\"" + new String(encoder.quoteAsString(systemPrompt))
+            + "\"},{\"role\":\"user\",\"content\":\"";
+        return prefix.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Serializes a request carrying {@code userContent} as the user message.
+     */
+    public byte[] encodeRequest(String userContent, boolean stream) {
+        byte[] prefix = stream ? streamingRequestPrefix : requestPrefix;
+        byte[] content = JsonStringEncoder.getInstance().quoteAsUTF8(userContent);
+        byte[] body = new byte[prefix.length + content.length + REQUEST_SUFFIX.length];
+        System.arraycopy(prefix, 0, body, 0, prefix.length);
+        System.arraycopy(content, 0, body, prefix.length, content.length);
+        System.arraycopy(REQUEST_SUFFIX, 0, body, prefix.length + content.length, REQUEST_SUFFIX.length);
+        return body;
+    }
+
+    /**
+     * Reads {@code choices[0].message.content} and {@code usage} from a
+     * non-streaming response.
+     *
+     * @throws MalformedResponseException if the response has no message content
+     * @throws RuntimeException if the response carries an {@code error} object
+     */
+    public ChatCompletion decodeResponse(String responseBody) throws IOException {
+        String content = null;
+        long promptTokens = 0;
+        long completionTokens = 0;
+        try (JsonParser parser = jsonFactory.createParser(responseBody)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new MalformedResponseException("Invalid API response format");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "error" -> throw new RuntimeException("API Error: " + readErrorMessage(parser));
+                    case "choices" -> content = readFirstChoice(parser, "message");
+                    case "usage" -> {
+                        if (parser.currentToken() != JsonToken.START_OBJECT) {
+                            parser.skipChildren();
+                            break;
+                        }
+                        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                            String name = parser.currentName();
+                            parser.nextToken();
+                            if ("prompt_tokens".equals(name)) {
+                                promptTokens = parser.getValueAsLong();
+                            } else if ("completion_tokens".equals(name)) {
+                                completionTokens = parser.getValueAsLong();
+                            } else {
+                                parser.skipChildren();
+                            }
+                        }
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+        if (content == null) {
+            throw new MalformedResponseException("Invalid API response format");
+        }
+        return new ChatCompletion(content, promptTokens, completionTokens);
+    }
+
+    /**
+     * Reads {@code choices[0].delta.content} from one streamed chunk. Returns
+     * null if the chunk carries no content.
+     */
+    public static String decodeDelta(JsonFactory jsonFactory, String chunk) throws IOException {
+        String content = null;
+        try (JsonParser parser = jsonFactory.createParser(chunk)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "error" -> throw new RuntimeException("API Error: " + readErrorMessage(parser));
+                    case "choices" -> content = readFirstChoice(parser, "delta");
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+        return content;
+    }
+
+    /**
+     * Removes a surrounding markdown code fence (with optional language tag)
+     * and surrounding whitespace. Returns the input itself if there is nothing
+     * to strip.
+     */
+    public static String stripCodeFence(String content) {
+        if (content == null) {
+            return null;
+        }
+        int start = 0;
+        int end = content.length();
+        while (start < end && Character.isWhitespace(content.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(content.charAt(end - 1))) {
+            end--;
+        }
+        if (content.startsWith(CODE_FENCE, start)) {
+            start += CODE_FENCE.length();
+            while (start < end && isWordChar(content.charAt(start))) {
+                start++;
+            }
+            while (start < end && Character.isWhitespace(content.charAt(start))) {
+                start++;
+            }
+        }
+        if (end - start >= CODE_FENCE.length() && content.startsWith(CODE_FENCE, end - CODE_FENCE.length())) {
+            end -= CODE_FENCE.length();
+            while (end > start && Character.isWhitespace(content.charAt(end - 1))) {
+                end--;
+            }
+        }
+        return content.substring(start, end);
+    }
+
+    private static boolean isWordChar(char c) {
+        return c == '_' || (c < 128 && Character.isLetterOrDigit(c));
+    }
+
+    /**
+     * Reads {@code [0].<container>.content} from the {@code choices} array the
+     * parser is positioned on, consuming the whole array.
+     */
+    private static String readFirstChoice(JsonParser parser, String container) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return null;
+        }
+        String content = null;
+        boolean first = true;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (first && parser.currentToken() == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    parser.nextToken();
+                    if (container.equals(field)) {
+                        content = readStringField(parser, "content");
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            } else {
+                parser.skipChildren();
+            }
+            first = false;
+        }
+        return content;
+    }
+
+    /**
+     * Reads a string field from the object the parser is positioned on,
+     * consuming the whole object.
+     */
+    private static String readStringField(JsonParser parser, String name) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+        String value = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if (name.equals(field) && parser.currentToken() == JsonToken.VALUE_STRING) {
+                value = parser.getText();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return value;
+    }
+
+    private static String readErrorMessage(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.START_OBJECT) {
+            return readStringField(parser, "message");
+        }
+        return parser.getValueAsString();
+    }
+
+    /**
+     * Content of the first choice plus the token usage reported by the provider.
+     */
+    public record ChatCompletion(String content, long promptTokens, long completionTokens) {
+    }
+}
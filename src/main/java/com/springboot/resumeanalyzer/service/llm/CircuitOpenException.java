@@ -0,0 +1,11 @@
+package com.springboot.resumeanalyzer.service.llm;
+
+/**
+ * Raised without calling the provider while the circuit breaker is open.
+ */
+public class CircuitOpenException extends RuntimeException {
+
+    public CircuitOpenException(String message) {
+        super(message);
+    }
+}
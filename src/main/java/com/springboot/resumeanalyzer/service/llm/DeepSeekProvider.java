@@ -0,0 +1,32 @@
+package com.springboot.resumeanalyzer.service.llm;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.cdimascio.dotenv.Dotenv;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * DeepSeek chat completions, authenticated with {@code DEEPSEEK_API_KEY} from
+ * the environment or a {@code .env} file.
+ */
+@Component
+public class DeepSeekProvider extends OpenAiCompatibleProvider {
+    public static final String NAME = "deepseek";
+
+    public DeepSeekProvider(HttpClient llmHttpClient,
+                            ObjectMapper objectMapper,
+                            @Value("${deepseek.api-url:https://api.deepseek.com/v1/chat/completions}") String apiUrl,
+                            @Value("${deepseek.read-timeout:60s}") Duration readTimeout) {
+        super(NAME, llmHttpClient, objectMapper, apiUrl, readTimeout, apiKey());
+    }
+
+    private static String apiKey() {
+        Dotenv dotenv = Dotenv.configure().ignoreIfMissing().load();
+        String rawApiKey = dotenv.get("DEEPSEEK_API_KEY");
+        // Ensure API key starts with sk-
+        return rawApiKey != null && !rawApiKey.startsWith("sk-") ? "sk-" + rawApiKey : rawApiKey;
+    }
+}
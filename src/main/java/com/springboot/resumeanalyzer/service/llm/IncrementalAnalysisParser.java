@@ -0,0 +1,154 @@
+package com.springboot.resumeanalyzer.service.llm;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.springboot.resumeanalyzer.model.PersonalInfo;
+import com.springboot.resumeanalyzer.model.ResumeAnalysis;
+import com.springboot.resumeanalyzer.model.ResumeTag;
+import com.springboot.resumeanalyzer.service.AnalysisStreamListener;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parses the analysis JSON while the model is still generating it. Text deltas
+ * are fed into Jackson's non-blocking parser; {@code personalInfo} and every
+ * element of {@code tags} are buffered token by token and handed to the
+ * listener as soon as their closing brace arrives. Anything before the first
+ * '{' (such as a markdown fence) and after the root object is ignored.
+ */
+public class IncrementalAnalysisParser {
+    private static final String PERSONAL_INFO = "personalInfo";
+    private static final String TAGS = "tags";
+
+    private final ObjectMapper objectMapper;
+    private final AnalysisStreamListener listener;
+    private final JsonParser parser;
+
+    private boolean started;
+    private boolean finished;
+    private int depth;
+    private String rootField;
+    private TokenBuffer capture;
+    private Class<?> captureType;
+    private int captureDepth;
+
+    private PersonalInfo personalInfo;
+    private List<ResumeTag> tags;
+
+    public IncrementalAnalysisParser(ObjectMapper objectMapper, AnalysisStreamListener listener) throws IOException {
+        this.objectMapper = objectMapper;
+        this.listener = listener;
+        this.parser = objectMapper.getFactory().createNonBlockingByteArrayParser();
+    }
+
+    public void feed(String chunk) throws IOException {
+        if (finished || chunk.isEmpty()) {
+            return;
+        }
+        if (!started) {
+            int start = chunk.indexOf('{');
+            if (start < 0) {
+                return;
+            }
+            chunk = chunk.substring(start);
+            started = true;
+        }
+        byte[] bytes = chunk.getBytes(StandardCharsets.UTF_8);
+        ((ByteArrayFeeder) parser.getNonBlockingInputFeeder()).feedInput(bytes, 0, bytes.length);
+        drain();
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * Returns the complete analysis once the root object has been closed.
+     */
+    public ResumeAnalysis result() {
+        if (!finished) {
+            throw new IllegalStateException("Streamed response ended before the analysis was complete");
+        }
+        ResumeAnalysis analysis = new ResumeAnalysis();
+        analysis.setPersonalInfo(personalInfo);
+        analysis.setTags(tags);
+        return analysis;
+    }
+
+    private void drain() throws IOException {
+        JsonToken token;
+        while (!finished && (token = parser.nextToken()) != JsonToken.NOT_AVAILABLE && token != null) {
+            switch (token) {
+                case START_OBJECT, START_ARRAY -> {
+                    if (capture == null && token == JsonToken.START_OBJECT) {
+                        beginCapture();
+                    }
+                    if (capture != null) {
+                        capture.copyCurrentEvent(parser);
+                    }
+                    if (capture == null && depth == 1 && token == JsonToken.START_ARRAY && TAGS.equals(rootField)) {
+                        tags = new ArrayList<>();
+                    }
+                    depth++;
+                }
+                case END_OBJECT, END_ARRAY -> {
+                    depth--;
+                    if (capture != null) {
+                        capture.copyCurrentEvent(parser);
+                        if (depth == captureDepth) {
+                            endCapture();
+                        }
+                    }
+                    if (depth == 0) {
+                        finished = true;
+                    }
+                }
+                case FIELD_NAME -> {
+                    if (capture != null) {
+                        capture.copyCurrentEvent(parser);
+                    } else if (depth == 1) {
+                        rootField = parser.currentName();
+                    }
+                }
+                default -> {
+                    if (capture != null) {
+                        capture.copyCurrentEvent(parser);
+                    }
+                }
+            }
+        }
+    }
+
+    private void beginCapture() {
+        if (depth == 1 && PERSONAL_INFO.equals(rootField)) {
+            captureType = PersonalInfo.class;
+        } else if (depth == 2 && TAGS.equals(rootField)) {
+            captureType = ResumeTag.class;
+        } else {
+            return;
+        }
+        capture = new TokenBuffer(parser);
+        captureDepth = depth;
+    }
+
+    private void endCapture() throws IOException {
+        TokenBuffer buffer = capture;
+        capture = null;
+        try (JsonParser captured = buffer.asParser(objectMapper)) {
+            if (captureType == PersonalInfo.class) {
+                personalInfo = objectMapper.readValue(captured, PersonalInfo.class);
+                listener.onPersonalInfo(personalInfo);
+            } else {
+                ResumeTag tag = objectMapper.readValue(captured, ResumeTag.class);
+                tags.add(tag);
+                listener.onTag(tag);
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.springboot.resumeanalyzer.service.llm;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the most recent call latencies in a ring buffer and answers percentile
+ * queries over them.
+ */
+public class LatencyTracker {
+    private final long[] samples;
+    private int count;
+    private int position;
+
+    public LatencyTracker(int size) {
+        this.samples = new long[size];
+    }
+
+    public synchronized void record(long millis) {
+        samples[position] = millis;
+        position = (position + 1) % samples.length;
+        if (count < samples.length) {
+            count++;
+        }
+    }
+
+    /**
+     * Returns the percentile in milliseconds, or -1 until {@code minSamples}
+     * calls have been recorded.
+     */
+    public long percentile(double percentile, int minSamples) {
+        long[] copy;
+        synchronized (this) {
+            if (count < minSamples) {
+                return -1;
+            }
+            copy = Arrays.copyOf(samples, count);
+        }
+        Arrays.sort(copy);
+        int index = (int) Math.ceil(percentile / 100.0 * copy.length) - 1;
+        return copy[Math.max(0, Math.min(index, copy.length - 1))];
+    }
+}
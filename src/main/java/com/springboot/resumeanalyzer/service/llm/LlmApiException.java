@@ -0,0 +1,23 @@
+package com.springboot.resumeanalyzer.service.llm;
+
+/**
+ * Raised when the LLM endpoint answers with a non-2xx status.
+ */
+public class LlmApiException extends RuntimeException {
+    private final int statusCode;
+    private final String responseBody;
+
+    public LlmApiException(int statusCode, String responseBody) {
+        super("API returned status " + statusCode);
+        this.statusCode = statusCode;
+        this.responseBody = responseBody;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public String getResponseBody() {
+        return responseBody;
+    }
+}
@@ -0,0 +1,59 @@
+package com.springboot.resumeanalyzer.service.llm;
+
+import java.io.IOException;
+import java.net.http.HttpTimeoutException;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Coarse failure categories used to pick retry and circuit breaker behaviour.
+ */
+public enum LlmErrorClass {
+    RATE_LIMITED,
+    SERVER_ERROR,
+    TIMEOUT,
+    CONNECTION,
+    MALFORMED_RESPONSE,
+    CLIENT_ERROR,
+    LOCAL_CAPACITY,
+    CIRCUIT_OPEN,
+    OTHER;
+
+    public static LlmErrorClass of(Throwable error) {
+        Throwable cause = error;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof LlmApiException apiException) {
+            int status = apiException.getStatusCode();
+            if (status == 429) {
+                return RATE_LIMITED;
+            }
+            return status >= 500 ? SERVER_ERROR : CLIENT_ERROR;
+        }
+        if (cause instanceof HttpTimeoutException) {
+            return TIMEOUT;
+        }
+        if (cause instanceof IOException) {
+            return CONNECTION;
+        }
+        if (cause instanceof MalformedResponseException) {
+            return MALFORMED_RESPONSE;
+        }
+        if (cause instanceof RateLimitExceededException) {
+            return LOCAL_CAPACITY;
+        }
+        if (cause instanceof CircuitOpenException) {
+            return CIRCUIT_OPEN;
+        }
+        return OTHER;
+    }
+
+    /**
+     * Whether this failure says something about provider health. Rate limiting
+     * does not: the provider is up and asks for less traffic, which is the rate
+     * governor's job, not a reason to open the circuit.
+     */
+    public boolean isProviderFailure() {
+        return this == SERVER_ERROR || this == TIMEOUT || this == CONNECTION;
+    }
+}
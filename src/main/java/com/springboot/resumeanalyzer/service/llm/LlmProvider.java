@@ -0,0 +1,48 @@
+package com.springboot.resumeanalyzer.service.llm;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * A chat completions backend. Request bodies are produced by
+ * {@link ChatCompletionCodec} and carry the model name, so one provider can
+ * serve several models. Responses use the OpenAI chat completions format.
+ */
+public interface LlmProvider {
+
+    /**
+     * Name used in routing configuration, logs and metrics.
+     */
+    String getName();
+
+    /**
+     * Posts a chat completion request. The future completes with the raw
+     * response body, or exceptionally with {@link LlmApiException} for a
+     * non-2xx status.
+     */
+    CompletableFuture<String> chatCompletion(byte[] requestBody);
+
+    /**
+     * Posts a chat completion request that has {@code "stream": true} set and
+     * passes every content delta to {@code onContent} as it arrives. The future
+     * completes when the upstream stream ends. If {@code onContent} throws, the
+     * upstream response is cancelled and the future fails with that exception.
+     */
+    CompletableFuture<Void> streamChatCompletion(byte[] requestBody, Consumer<String> onContent);
+
+    /**
+     * Opens the connection to the provider ahead of the first request. The
+     * future completes once it is open, whatever the response status.
+     */
+    default CompletableFuture<Void> warmUp() {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * True for providers that run in process. Their calls do not count against
+     * the upstream rate limits in {@link LlmRateGovernor}.
+     */
+    default boolean isLocal() {
+        return false;
+    }
+}
@@ -0,0 +1,261 @@
+package com.springboot.resumeanalyzer.service.llm;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client-side admission control for LLM calls.
+ *
+ * <p>A request is admitted when three conditions hold:
+ * <ul>
+ *   <li>the requests-per-minute token bucket has a token;</li>
+ *   <li>the tokens-per-minute bucket covers its estimated token count;</li>
+ *   <li>fewer calls are in flight than the current concurrency limit.</li>
+ * </ul>
+ * The limit follows AIMD: it grows by {@code 1/limit} per successful call and
+ * is halved when the provider answers 429, 5xx or times out. It is halved once
+ * per congestion event: overload failures of calls admitted before the last
+ * decrease, or within {@code llm.governor.decrease-cooldown} of it, belong to
+ * the same event and are ignored. Requests that
+ * cannot be admitted wait in a FIFO queue for at most
+ * {@code llm.governor.max-wait}.
+ */
+@Component
+public class LlmRateGovernor {
+    private static final Logger logger = LoggerFactory.getLogger(LlmRateGovernor.class);
+    private static final long TICK_MILLIS = 50;
+
+    private final double requestsPerMinute;
+    private final double tokensPerMinute;
+    private final double minLimit;
+    private final double maxLimit;
+    private final double initialLimit;
+    private final long maxWaitNanos;
+    private final int maxQueue;
+    private final long decreaseCooldownNanos;
+
+    private final ArrayDeque<Waiter> waiters = new ArrayDeque<>();
+    private final ScheduledExecutorService scheduler;
+
+    private double requestTokens;
+    private double tokenTokens;
+    private long lastRefillNanos;
+    private double limit;
+    private int inFlight;
+    private long lastDecreaseNanos;
+    private boolean decreased;
+
+    public LlmRateGovernor(@Value("${llm.governor.requests-per-minute:300}") double requestsPerMinute,
+                           @Value("${llm.governor.tokens-per-minute:1000000}") double tokensPerMinute,
+                           @Value("${llm.governor.initial-concurrency:8}") int initialConcurrency,
+                           @Value("${llm.governor.min-concurrency:1}") int minConcurrency,
+                           @Value("${llm.governor.max-concurrency:64}") int maxConcurrency,
+                           @Value("${llm.governor.max-wait:30s}") Duration maxWait,
+                           @Value("${llm.governor.max-queue:1000}") int maxQueue,
+                           @Value("${llm.governor.decrease-cooldown:1s}") Duration decreaseCooldown) {
+        this.requestsPerMinute = requestsPerMinute;
+        this.tokensPerMinute = tokensPerMinute;
+        this.minLimit = minConcurrency;
+        this.maxLimit = maxConcurrency;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.maxQueue = maxQueue;
+        this.decreaseCooldownNanos = decreaseCooldown.toNanos();
+        this.requestTokens = requestsPerMinute;
+        this.tokenTokens = tokensPerMinute;
+        this.limit = initialConcurrency;
+        this.initialLimit = initialConcurrency;
+        this.lastRefillNanos = System.nanoTime();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "llm-governor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::drain, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Returns a future that completes with a permit once the call may proceed,
+     * or fails with {@link RateLimitExceededException} when the wait is too long.
+     * The permit must be released exactly once when the call finishes.
+     */
+    public CompletableFuture<Permit> acquire(int estimatedTokens) {
+        // A single request larger than the whole budget would otherwise wait forever
+        int tokens = (int) Math.min(estimatedTokens, tokensPerMinute);
+        Waiter waiter = new Waiter(tokens, System.nanoTime() + maxWaitNanos);
+        synchronized (this) {
+            if (waiters.size() >= maxQueue) {
+                return CompletableFuture.failedFuture(
+                    new RateLimitExceededException("LLM request queue is full, please retry later"));
+            }
+            waiters.addLast(waiter);
+        }
+        drain();
+        return waiter.future;
+    }
+
+    public synchronized int getConcurrencyLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public synchronized int getQueued() {
+        return waiters.size();
+    }
+
+    /**
+     * True while calls are waiting for capacity or the concurrency limit is
+     * below its initial value, i.e. the provider has recently been overloaded.
+     */
+    public synchronized boolean isConstrained() {
+        return !waiters.isEmpty() || limit < initialLimit;
+    }
+
+    private void drain() {
+        List<Waiter> admitted = new ArrayList<>();
+        List<Waiter> expired = new ArrayList<>();
+        long now;
+        synchronized (this) {
+            now = System.nanoTime();
+            refill(now);
+            Iterator<Waiter> it = waiters.iterator();
+            while (it.hasNext()) {
+                Waiter waiter = it.next();
+                if (waiter.deadlineNanos - now < 0) {
+                    it.remove();
+                    expired.add(waiter);
+                    continue;
+                }
+                // FIFO: stop at the first waiter that does not fit yet
+                if (inFlight >= (int) limit || requestTokens < 1 || tokenTokens < waiter.tokens) {
+                    break;
+                }
+                it.remove();
+                requestTokens -= 1;
+                tokenTokens -= waiter.tokens;
+                inFlight++;
+                admitted.add(waiter);
+            }
+        }
+        // Complete outside the lock, callbacks may start HTTP requests
+        for (Waiter waiter : expired) {
+            logger.warn("LLM request timed out waiting for capacity");
+            waiter.future.completeExceptionally(
+                new RateLimitExceededException("Timed out waiting for LLM capacity, please retry later"));
+        }
+        for (Waiter waiter : admitted) {
+            if (!waiter.future.complete(new Permit(now))) {
+                // Caller gave up in the meantime, hand the slot back
+                release(Outcome.NEUTRAL, now);
+            }
+        }
+    }
+
+    private void refill(long now) {
+        double elapsedMinutes = (now - lastRefillNanos) / 60e9;
+        lastRefillNanos = now;
+        requestTokens = Math.min(requestsPerMinute, requestTokens + elapsedMinutes * requestsPerMinute);
+        tokenTokens = Math.min(tokensPerMinute, tokenTokens + elapsedMinutes * tokensPerMinute);
+    }
+
+    /**
+     * @param admittedNanos when the released call was admitted
+     */
+    private void release(Outcome outcome, long admittedNanos) {
+        synchronized (this) {
+            inFlight--;
+            if (outcome == Outcome.OVERLOADED) {
+                long now = System.nanoTime();
+                // Calls admitted before the last decrease saw the old limit; their failures are the same event
+                boolean sameEvent = decreased
+                    && (admittedNanos - lastDecreaseNanos <= 0 || now - lastDecreaseNanos < decreaseCooldownNanos);
+                if (!sameEvent) {
+                    limit = Math.max(minLimit, limit / 2);
+                    lastDecreaseNanos = now;
+                    decreased = true;
+                    logger.warn("LLM provider overloaded, concurrency limit reduced to {}", (int) limit);
+                }
+            } else if (outcome == Outcome.SUCCESS) {
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+        }
+        drain();
+    }
+
+    static boolean isOverload(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof LlmApiException apiException) {
+            int status = apiException.getStatusCode();
+            return status == 429 || status >= 500;
+        }
+        return cause instanceof HttpTimeoutException;
+    }
+
+    /**
+     * A slot for one LLM call.
+     */
+    public final class Permit {
+        private final long admittedNanos;
+        private boolean released;
+
+        private Permit(long admittedNanos) {
+            this.admittedNanos = admittedNanos;
+        }
+
+        /**
+         * Returns the slot and feeds the call outcome into the concurrency limit.
+         *
+         * @param error the failure of the call, or null on success
+         */
+        public void release(Throwable error) {
+            synchronized (this) {
+                if (released) {
+                    return;
+                }
+                released = true;
+            }
+            Outcome outcome = error == null ? Outcome.SUCCESS : isOverload(error) ? Outcome.OVERLOADED : Outcome.NEUTRAL;
+            LlmRateGovernor.this.release(outcome, admittedNanos);
+        }
+    }
+
+    // Failures unrelated to provider load (bad request, unparsable output) leave the limit alone
+    private enum Outcome {
+        SUCCESS,
+        OVERLOADED,
+        NEUTRAL
+    }
+
+    private static final class Waiter {
+        private final int tokens;
+        private final long deadlineNanos;
+        private final CompletableFuture<Permit> future = new CompletableFuture<>();
+
+        private Waiter(int tokens, long deadlineNanos) {
+            this.tokens = tokens;
+            this.deadlineNanos = deadlineNanos;
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.springboot.resumeanalyzer.service.llm;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Wraps LLM calls with three layers:
+ * <ul>
+ *   <li>retries with exponential backoff and full jitter, configured per
+ *   {@link LlmErrorClass} via {@code llm.retry.<class>.max-attempts} and
+ *   {@code llm.retry.<class>.base-delay};</li>
+ *   <li>a hedged duplicate call once an attempt runs longer than the observed
+ *   p95 latency, unless the rate governor is already holding calls back;</li>
+ *   <li>a circuit breaker per provider that fails fast while that provider is
+ *   degraded.</li>
+ * </ul>
+ * The retried call should include routing, so that a retry can move to another
+ * provider, and response parsing, so that malformed output is retried like any
+ * other transient failure. The upstream request inside it goes through
+ * {@link #guarded(String, Supplier)}. Every layer of the call should pass
+ * cancellation on with {@link #cancelling(CompletableFuture, CompletableFuture)},
+ * so that cancelling the losing hedge stops its request and frees its permit.
+ */
+@Component
+public class LlmResilience {
+    private static final Logger logger = LoggerFactory.getLogger(LlmResilience.class);
+    private static final int MIN_HEDGE_SAMPLES = 20;
+
+    private final Map<LlmErrorClass, Integer> maxAttempts = new EnumMap<>(LlmErrorClass.class);
+    private final Map<LlmErrorClass, Duration> baseDelays = new EnumMap<>(LlmErrorClass.class);
+    private final long maxDelayMillis;
+    private final boolean hedgeEnabled;
+    private final double hedgePercentile;
+    private final long minHedgeDelayMillis;
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final Duration openDuration;
+    private final Map<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+    private final LatencyTracker latencies = new LatencyTracker(256);
+
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong hedges = new AtomicLong();
+
+    @Autowired(required = false)
+    private LlmRateGovernor rateGovernor;
+
+    public LlmResilience(Environment environment,
+                         @Value("${llm.retry.max-delay:10s}") Duration maxDelay,
+                         @Value("${llm.hedge.enabled:true}") boolean hedgeEnabled,
+                         @Value("${llm.hedge.percentile:95}") double hedgePercentile,
+                         @Value("${llm.hedge.min-delay:2s}") Duration minHedgeDelay,
+                         @Value("${llm.circuit-breaker.window-size:20}") int windowSize,
+                         @Value("${llm.circuit-breaker.minimum-calls:10}") int minimumCalls,
+                         @Value("${llm.circuit-breaker.failure-rate-threshold:0.5}") double failureRateThreshold,
+                         @Value("${llm.circuit-breaker.open-duration:30s}") Duration openDuration) {
+        configure(environment, LlmErrorClass.RATE_LIMITED, 4, Duration.ofSeconds(1));
+        configure(environment, LlmErrorClass.SERVER_ERROR, 3, Duration.ofMillis(500));
+        configure(environment, LlmErrorClass.TIMEOUT, 2, Duration.ofMillis(500));
+        configure(environment, LlmErrorClass.CONNECTION, 3, Duration.ofMillis(200));
+        configure(environment, LlmErrorClass.MALFORMED_RESPONSE, 2, Duration.ofMillis(100));
+        this.maxDelayMillis = maxDelay.toMillis();
+        this.hedgeEnabled = hedgeEnabled;
+        this.hedgePercentile = hedgePercentile;
+        this.minHedgeDelayMillis = minHedgeDelay.toMillis();
+        this.windowSize = windowSize;
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDuration = openDuration;
+    }
+
+    private void configure(Environment environment, LlmErrorClass errorClass, int defaultAttempts, Duration defaultDelay) {
+        String prefix = "llm.retry." + errorClass.name().toLowerCase(Locale.ROOT).replace('_', '-');
+        maxAttempts.put(errorClass, environment.getProperty(prefix + ".max-attempts", Integer.class, defaultAttempts));
+        baseDelays.put(errorClass, environment.getProperty(prefix + ".base-delay", Duration.class, defaultDelay));
+    }
+
+    /**
+     * Runs the call with retries and hedging.
+     */
+    public <T> CompletableFuture<T> execute(Supplier<CompletableFuture<T>> call) {
+        return attempt(call, 1);
+    }
+
+    /**
+     * Runs the call through the provider's circuit breaker only. Also used on
+     * its own for streaming, where partial output may already have reached the
+     * client and a retry or hedge would duplicate it.
+     */
+    public <T> CompletableFuture<T> guarded(String provider, Supplier<CompletableFuture<T>> call) {
+        CircuitBreaker circuitBreaker = circuitBreaker(provider);
+        if (!circuitBreaker.tryAcquire()) {
+            return CompletableFuture.failedFuture(
+                new CircuitOpenException("LLM provider is temporarily unavailable, please retry later"));
+        }
+        CompletableFuture<T> upstream = invoke(call);
+        return cancelling(upstream.whenComplete((value, error) -> {
+            if (error == null) {
+                circuitBreaker.onSuccess();
+            } else if (LlmErrorClass.of(error).isProviderFailure()) {
+                circuitBreaker.onFailure();
+            } else {
+                circuitBreaker.onIgnored();
+            }
+        }), upstream);
+    }
+
+    /**
+     * Returns {@code dependent} after arranging that cancelling it cancels
+     * {@code source} too; CompletableFuture does not pass cancellation back to
+     * the stage it was derived from.
+     */
+    public static <T> CompletableFuture<T> cancelling(CompletableFuture<T> dependent, CompletableFuture<?> source) {
+        dependent.whenComplete((value, error) -> {
+            if (dependent.isCancelled()) {
+                source.cancel(true);
+            }
+        });
+        return dependent;
+    }
+
+    /**
+     * True unless the provider's circuit breaker is rejecting calls.
+     */
+    public boolean isAvailable(String provider) {
+        return circuitBreaker(provider).isCallPermitted();
+    }
+
+    public CircuitBreaker.State getCircuitState(String provider) {
+        return circuitBreaker(provider).getState();
+    }
+
+    private CircuitBreaker circuitBreaker(String provider) {
+        return circuitBreakers.computeIfAbsent(provider,
+            name -> new CircuitBreaker(name, windowSize, minimumCalls, failureRateThreshold, openDuration));
+    }
+
+    public long getRetryCount() {
+        return retries.get();
+    }
+
+    public long getHedgeCount() {
+        return hedges.get();
+    }
+
+    private <T> CompletableFuture<T> attempt(Supplier<CompletableFuture<T>> call, int attempt) {
+        return hedged(call)
+            .handle((value, error) -> error == null
+                ? CompletableFuture.completedFuture(value)
+                : this.<T>retryOrFail(call, attempt, error))
+            .thenCompose(future -> future);
+    }
+
+    private <T> CompletableFuture<T> retryOrFail(Supplier<CompletableFuture<T>> call, int attempt, Throwable error) {
+        LlmErrorClass errorClass = LlmErrorClass.of(error);
+        int allowed = maxAttempts.getOrDefault(errorClass, 1);
+        if (attempt >= allowed) {
+            return CompletableFuture.failedFuture(error);
+        }
+        long delay = backoff(errorClass, attempt);
+        retries.incrementAndGet();
+        logger.warn("LLM call failed with {} (attempt {}/{}), retrying in {} ms",
+                    errorClass, attempt, allowed, delay);
+        return CompletableFuture.runAsync(() -> { }, CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS))
+            .thenCompose(v -> attempt(call, attempt + 1));
+    }
+
+    private <T> CompletableFuture<T> timed(Supplier<CompletableFuture<T>> call) {
+        long start = System.nanoTime();
+        CompletableFuture<T> upstream = invoke(call);
+        return cancelling(upstream.whenComplete((value, error) -> {
+            if (error == null) {
+                latencies.record((System.nanoTime() - start) / 1_000_000);
+            }
+        }), upstream);
+    }
+
+    private static <T> CompletableFuture<T> invoke(Supplier<CompletableFuture<T>> call) {
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Full jitter: a uniform delay between zero and the exponential backoff cap.
+     */
+    private long backoff(LlmErrorClass errorClass, int attempt) {
+        long base = baseDelays.getOrDefault(errorClass, Duration.ofMillis(500)).toMillis();
+        long cap = Math.min(maxDelayMillis, base << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(cap + 1);
+    }
+
+    /**
+     * Starts the call and, if it has not finished within the hedge delay, a
+     * second identical call. The first success wins and the other call is
+     * cancelled; the result only fails once every started call has failed.
+     * No hedge is sent while the rate governor has callers waiting or has cut
+     * the concurrency limit, since a slow provider is then an overloaded one
+     * and a second call would only add to its load.
+     */
+    private <T> CompletableFuture<T> hedged(Supplier<CompletableFuture<T>> call) {
+        long threshold = hedgeEnabled ? latencies.percentile(hedgePercentile, MIN_HEDGE_SAMPLES) : -1;
+        if (threshold < 0) {
+            return timed(call);
+        }
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicInteger outstanding = new AtomicInteger(1);
+        List<CompletableFuture<T>> started = new CopyOnWriteArrayList<>();
+        BiConsumer<T, Throwable> onDone = (value, error) -> {
+            if (error == null) {
+                result.complete(value);
+            } else if (outstanding.decrementAndGet() == 0) {
+                result.completeExceptionally(error);
+            }
+        };
+        // Cancelling a finished call is a no-op, so this only stops the loser
+        result.whenComplete((value, error) -> started.forEach(future -> future.cancel(true)));
+        started.add(timed(call));
+        started.get(0).whenComplete(onDone);
+
+        long delay = Math.max(threshold, minHedgeDelayMillis);
+        CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS).execute(() -> {
+            int current;
+            do {
+                current = outstanding.get();
+                if (current == 0 || result.isDone()) {
+                    return;
+                }
+                if (rateGovernor != null && rateGovernor.isConstrained()) {
+                    logger.debug("LLM call exceeded p{} latency of {} ms, not hedging while the rate governor is constrained",
+                                 (int) hedgePercentile, delay);
+                    return;
+                }
+            } while (!outstanding.compareAndSet(current, current + 1));
+            hedges.incrementAndGet();
+            logger.info("LLM call exceeded p{} latency of {} ms, sending hedged request", (int) hedgePercentile, delay);
+            CompletableFuture<T> hedge = timed(call);
+            started.add(hedge);
+            if (result.isDone()) {
+                hedge.cancel(true);
+            }
+            hedge.whenComplete(onDone);
+        });
+        return result;
+    }
+}
@@ -0,0 +1,122 @@
+package com.springboot.resumeanalyzer.service.llm;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Picks the provider and model for an LLM call.
+ *
+ * <p>Routes are written as {@code provider:model}:
+ * <ul>
+ *   <li>{@code llm.router.primary}: the default route;</li>
+ *   <li>{@code llm.router.fast}: optional cheaper or faster route, preferred
+ *   for inputs up to {@code llm.router.fast-max-tokens} and for callers that
+ *   ask for speed;</li>
+ *   <li>{@code llm.router.fallback}: optional route used when the others are
+ *   unhealthy.</li>
+ * </ul>
+ * A route is skipped while its provider's circuit breaker is open, so traffic
+ * shifts to the next route in order until the provider recovers.
+ */
+@Component
+public class LlmRouter {
+    private static final Logger logger = LoggerFactory.getLogger(LlmRouter.class);
+
+    public record LlmRoute(LlmProvider provider, String model) {
+        @Override
+        public String toString() {
+            return provider.getName() + ":" + model;
+        }
+    }
+
+    private final LlmResilience resilience;
+    private final Map<String, LlmProvider> providers = new LinkedHashMap<>();
+    private final LlmRoute primary;
+    private final LlmRoute fast;
+    private final LlmRoute fallback;
+    private final int fastMaxTokens;
+
+    public LlmRouter(List<LlmProvider> providers,
+                     LlmResilience resilience,
+                     @Value("${llm.router.primary:deepseek:deepseek-chat}") String primary,
+                     @Value("${llm.router.fast:}") String fast,
+                     @Value("${llm.router.fallback:}") String fallback,
+                     @Value("${llm.router.fast-max-tokens:1500}") int fastMaxTokens) {
+        this.resilience = resilience;
+        providers.forEach(provider -> this.providers.put(provider.getName(), provider));
+        this.primary = parse(primary);
+        this.fast = parse(fast);
+        this.fallback = parse(fallback);
+        this.fastMaxTokens = fastMaxTokens;
+        if (this.primary == null) {
+            throw new IllegalStateException("llm.router.primary must be set");
+        }
+        logger.info("LLM routes: primary={}, fast={}, fallback={} (providers: {})",
+                    this.primary, this.fast, this.fallback, this.providers.keySet());
+    }
+
+    private LlmRoute parse(String route) {
+        if (route == null || route.isBlank()) {
+            return null;
+        }
+        int separator = route.indexOf(':');
+        if (separator <= 0 || separator == route.length() - 1) {
+            throw new IllegalStateException("Invalid LLM route '" + route + "', expected provider:model");
+        }
+        String name = route.substring(0, separator).strip();
+        LlmProvider provider = providers.get(name);
+        if (provider == null) {
+            throw new IllegalStateException("Unknown LLM provider '" + name + "', available: " + providers.keySet());
+        }
+        return new LlmRoute(provider, route.substring(separator + 1).strip());
+    }
+
+    /**
+     * The route the request would take with every provider healthy. Stable for
+     * a given input, so it can be part of a cache key.
+     */
+    public LlmRoute preferred(int inputTokens, boolean preferFast) {
+        return candidates(inputTokens, preferFast).get(0);
+    }
+
+    /**
+     * The first route whose provider is currently accepting calls.
+     *
+     * @throws CircuitOpenException if every candidate provider is unavailable
+     */
+    public LlmRoute route(int inputTokens, boolean preferFast) {
+        List<LlmRoute> candidates = candidates(inputTokens, preferFast);
+        for (LlmRoute route : candidates) {
+            if (resilience.isAvailable(route.provider().getName())) {
+                if (route != candidates.get(0)) {
+                    logger.warn("Provider {} unavailable, routing to {}", candidates.get(0).provider().getName(), route);
+                }
+                return route;
+            }
+        }
+        throw new CircuitOpenException("LLM provider is temporarily unavailable, please retry later");
+    }
+
+    public Map<String, LlmProvider> getProviders() {
+        return providers;
+    }
+
+    private List<LlmRoute> candidates(int inputTokens, boolean preferFast) {
+        List<LlmRoute> candidates = new ArrayList<>(3);
+        if (fast != null && (preferFast || inputTokens <= fastMaxTokens)) {
+            candidates.add(fast);
+        }
+        candidates.add(primary);
+        if (fallback != null) {
+            candidates.add(fallback);
+        }
+        return candidates;
+    }
+}
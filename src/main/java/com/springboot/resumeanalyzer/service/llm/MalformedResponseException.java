@@ -0,0 +1,12 @@
+package com.springboot.resumeanalyzer.service.llm;
+
+/**
+ * Raised when the model answered but its output could not be turned into an
+ * analysis. Such failures are often transient and worth a retry.
+ */
+public class MalformedResponseException extends RuntimeException {
+
+    public MalformedResponseException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,220 @@
+package com.springboot.resumeanalyzer.service.llm;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Non-blocking client for any endpoint that speaks the OpenAI chat completions
+ * protocol (bearer auth, {@code choices[].message}, SSE streaming). Requests
+ * are sent through a shared, pooled {@link HttpClient} so no servlet thread is
+ * held while the model is generating.
+ *
+ * <p>The read timeout bounds the wait for response headers and, for streamed
+ * responses, every gap between two lines of the body: a stream that stalls for
+ * longer fails with an {@link HttpTimeoutException} and its body is cancelled,
+ * so the call does not hold its rate governor permit or circuit breaker trial
+ * forever.
+ */
+public class OpenAiCompatibleProvider implements LlmProvider {
+    private static final Logger logger = LoggerFactory.getLogger(OpenAiCompatibleProvider.class);
+
+    private static final String SSE_DATA_PREFIX = "data:";
+    private static final String SSE_DONE = "[DONE]";
+
+    private final String name;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final URI apiUri;
+    private final Duration readTimeout;
+    private final String apiKey;
+
+    public OpenAiCompatibleProvider(String name, HttpClient httpClient, ObjectMapper objectMapper,
+                                    String apiUrl, Duration readTimeout, String apiKey) {
+        this.name = name;
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.apiUri = URI.create(apiUrl);
+        this.readTimeout = readTimeout;
+        this.apiKey = apiKey;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public CompletableFuture<String> chatCompletion(byte[] requestBody) {
+        HttpRequest request = newRequest(requestBody).build();
+
+        logger.info("Sending request to {} API", name);
+        CompletableFuture<HttpResponse<String>> exchange = httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+        return LlmResilience.cancelling(exchange.thenApply(response -> {
+            logger.info("Received response from {} API: {}", name, response.statusCode());
+            if (response.statusCode() / 100 != 2) {
+                throw new LlmApiException(response.statusCode(), response.body());
+            }
+            return response.body();
+        }), exchange);
+    }
+
+    @Override
+    public CompletableFuture<Void> streamChatCompletion(byte[] requestBody, Consumer<String> onContent) {
+        HttpRequest request = newRequest(requestBody)
+            .header("Accept", "text/event-stream")
+            .build();
+
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        ChatStreamSubscriber subscriber = new ChatStreamSubscriber(onContent, done);
+
+        logger.info("Sending streaming request to {} API", name);
+        CompletableFuture<HttpResponse<Void>> response = httpClient.sendAsync(request, responseInfo -> {
+            logger.info("Received streaming response from {} API: {}", name, responseInfo.statusCode());
+            if (responseInfo.statusCode() / 100 == 2) {
+                return HttpResponse.BodySubscribers.fromLineSubscriber(subscriber);
+            }
+            return HttpResponse.BodySubscribers.mapping(
+                HttpResponse.BodySubscribers.ofString(StandardCharsets.UTF_8),
+                body -> {
+                    throw new LlmApiException(responseInfo.statusCode(), body);
+                });
+        });
+        response.whenComplete((r, e) -> {
+            if (e != null) {
+                done.completeExceptionally(e);
+            }
+        });
+        done.whenComplete((v, e) -> {
+            if (e != null) {
+                subscriber.cancel();
+                response.cancel(true);
+            }
+        });
+        watchIdle(subscriber, done, readTimeout.toNanos());
+        return done;
+    }
+
+    /**
+     * Fails the stream once no line has arrived for the read timeout. Checks
+     * again after the remaining time whenever data arrived in between.
+     */
+    private void watchIdle(ChatStreamSubscriber subscriber, CompletableFuture<Void> done, long delayNanos) {
+        CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS).execute(() -> {
+            if (done.isDone()) {
+                return;
+            }
+            long remaining = readTimeout.toNanos() - (System.nanoTime() - subscriber.lastActivityNanos);
+            if (remaining > 0) {
+                watchIdle(subscriber, done, remaining);
+            } else {
+                logger.warn("No data from {} API for {}, cancelling the stream", name, readTimeout);
+                done.completeExceptionally(new HttpTimeoutException(
+                    "No data from " + name + " API for " + readTimeout.toMillis() + " ms"));
+            }
+        });
+    }
+
+    /**
+     * Sends a HEAD request to the endpoint, which sets up TLS and the HTTP/2
+     * connection that the shared client then keeps for the first real request.
+     * No credentials are sent and no tokens are used.
+     */
+    @Override
+    public CompletableFuture<Void> warmUp() {
+        if (apiKey == null || apiKey.isBlank()) {
+            // Without a key no real request will be made, so there is no connection worth opening
+            logger.info("Skipping connection warm-up for {} API: no API key configured", name);
+            return CompletableFuture.completedFuture(null);
+        }
+        HttpRequest request = HttpRequest.newBuilder(apiUri)
+            .timeout(readTimeout)
+            .method("HEAD", HttpRequest.BodyPublishers.noBody())
+            .build();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+            .thenAccept(response -> logger.info("Opened connection to {} API: {}", name, response.statusCode()));
+    }
+
+    private HttpRequest.Builder newRequest(byte[] requestBody) {
+        return HttpRequest.newBuilder(apiUri)
+            .timeout(readTimeout)
+            .header("Content-Type", "application/json")
+            .header("Authorization", "Bearer " + apiKey)
+            .POST(HttpRequest.BodyPublishers.ofByteArray(requestBody));
+    }
+
+    /**
+     * Reads server-sent event lines and extracts {@code choices[0].delta.content}.
+     */
+    private class ChatStreamSubscriber implements Flow.Subscriber<String> {
+        private final Consumer<String> onContent;
+        private final CompletableFuture<Void> done;
+        private volatile Flow.Subscription subscription;
+        private volatile long lastActivityNanos = System.nanoTime();
+
+        ChatStreamSubscriber(Consumer<String> onContent, CompletableFuture<Void> done) {
+            this.onContent = onContent;
+            this.done = done;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (done.isDone()) {
+                subscription.cancel();
+                return;
+            }
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        void cancel() {
+            Flow.Subscription current = subscription;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+
+        @Override
+        public void onNext(String line) {
+            lastActivityNanos = System.nanoTime();
+            if (done.isDone() || !line.startsWith(SSE_DATA_PREFIX)) {
+                return;
+            }
+            String payload = line.substring(SSE_DATA_PREFIX.length()).trim();
+            if (payload.isEmpty() || SSE_DONE.equals(payload)) {
+                return;
+            }
+            try {
+                String content = ChatCompletionCodec.decodeDelta(objectMapper.getFactory(), payload);
+                if (content != null && !content.isEmpty()) {
+                    onContent.accept(content);
+                }
+            } catch (Exception e) {
+                subscription.cancel();
+                done.completeExceptionally(e);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            done.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            done.complete(null);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.springboot.resumeanalyzer.service.llm;
+
+/**
+ * Raised when a request waited longer than allowed for LLM capacity, or the
+ * wait queue is full.
+ */
+public class RateLimitExceededException extends RuntimeException {
+
+    public RateLimitExceededException(String message) {
+        super(message);
+    }
+}
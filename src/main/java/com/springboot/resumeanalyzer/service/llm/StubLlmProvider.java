@@ -0,0 +1,140 @@
+package com.springboot.resumeanalyzer.service.llm;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.springboot.resumeanalyzer.model.ResumeAnalysis;
+import com.springboot.resumeanalyzer.model.ResumeTag;
+import com.springboot.resumeanalyzer.service.local.LocalResumeExtractor;
+import com.springboot.resumeanalyzer.service.text.TokenEstimator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * In-process provider for load tests and local development. It answers with
+ * the {@link LocalResumeExtractor} result for the user message after a fixed
+ * {@code llm.providers.stub.latency}, so the same input always gives the same
+ * response (tag ids are derived from the tag names). Streaming spreads the
+ * latency evenly over chunks of {@code llm.providers.stub.stream-chunk-chars}.
+ *
+ * <p>Only registered with {@code llm.providers.stub.enabled=true}, so that a
+ * real deployment cannot route or fall back to canned output.
+ */
+@Component
+@ConditionalOnProperty(prefix = "llm.providers.stub", name = "enabled", havingValue = "true")
+public class StubLlmProvider implements LlmProvider {
+    public static final String NAME = "stub";
+
+    private final ObjectMapper objectMapper;
+    private final LocalResumeExtractor localExtractor;
+    private final Executor executor;
+    private final long latencyMillis;
+    private final int streamChunkChars;
+
+    public StubLlmProvider(ObjectMapper objectMapper,
+                           LocalResumeExtractor localExtractor,
+                           ExecutorService llmClientExecutor,
+                           @Value("${llm.providers.stub.latency:200ms}") Duration latency,
+                           @Value("${llm.providers.stub.stream-chunk-chars:32}") int streamChunkChars) {
+        this.objectMapper = objectMapper;
+        this.localExtractor = localExtractor;
+        this.executor = llmClientExecutor;
+        this.latencyMillis = latency.toMillis();
+        this.streamChunkChars = Math.max(1, streamChunkChars);
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean isLocal() {
+        return true;
+    }
+
+    @Override
+    public CompletableFuture<String> chatCompletion(byte[] requestBody) {
+        return CompletableFuture.supplyAsync(() -> completionResponse(requestBody),
+            CompletableFuture.delayedExecutor(latencyMillis, TimeUnit.MILLISECONDS, executor));
+    }
+
+    @Override
+    public CompletableFuture<Void> streamChatCompletion(byte[] requestBody, Consumer<String> onContent) {
+        String content;
+        try {
+            content = answer(objectMapper.readTree(requestBody));
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        int chunks = Math.max(1, (content.length() + streamChunkChars - 1) / streamChunkChars);
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        emit(content, 0, latencyMillis / chunks, onContent, done);
+        return done;
+    }
+
+    private void emit(String content, int offset, long interval, Consumer<String> onContent, CompletableFuture<Void> done) {
+        if (offset >= content.length()) {
+            done.complete(null);
+            return;
+        }
+        CompletableFuture.delayedExecutor(interval, TimeUnit.MILLISECONDS, executor).execute(() -> {
+            int end = Math.min(content.length(), offset + streamChunkChars);
+            try {
+                onContent.accept(content.substring(offset, end));
+            } catch (RuntimeException e) {
+                done.completeExceptionally(e);
+                return;
+            }
+            emit(content, end, interval, onContent, done);
+        });
+    }
+
+    private String completionResponse(byte[] requestBody) {
+        try {
+            JsonNode request = objectMapper.readTree(requestBody);
+            String content = answer(request);
+            String prompt = new String(requestBody, StandardCharsets.UTF_8);
+
+            ObjectNode response = objectMapper.createObjectNode();
+            response.put("id", "stub-" + UUID.nameUUIDFromBytes(requestBody));
+            response.put("object", "chat.completion");
+            response.put("model", request.path("model").asText());
+            ObjectNode choice = response.putArray("choices").addObject();
+            choice.put("index", 0);
+            choice.putObject("message").put("role", "assistant").put("content", content);
+            choice.put("finish_reason", "stop");
+            ObjectNode usage = response.putObject("usage");
+            int promptTokens = TokenEstimator.estimate(prompt);
+            int completionTokens = TokenEstimator.estimate(content);
+            usage.put("prompt_tokens", promptTokens);
+            usage.put("completion_tokens", completionTokens);
+            usage.put("total_tokens", promptTokens + completionTokens);
+            return objectMapper.writeValueAsString(response);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String answer(JsonNode request) throws IOException {
+        JsonNode messages = request.path("messages");
+        String userContent = messages.path(messages.size() - 1).path("content").asText("");
+        ResumeAnalysis analysis = localExtractor.extract(userContent);
+        for (ResumeTag tag : analysis.getTags()) {
+            tag.setId(UUID.nameUUIDFromBytes(LocalResumeExtractor.tagKey(tag).getBytes(StandardCharsets.UTF_8)).toString());
+        }
+        return objectMapper.writeValueAsString(analysis);
+    }
+}
@@ -0,0 +1,161 @@
+package com.springboot.resumeanalyzer.service.local;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Case-insensitive multi-keyword matcher (Aho-Corasick automaton). Finds all
+ * occurrences of all keywords in a single pass over the text.
+ *
+ * <p>Keywords that start or end with an ASCII letter or digit only match on a
+ * word boundary on that side, so "Java" does not match inside "JavaScript" and
+ * "Go" does not match inside "Google". CJK keywords match anywhere.
+ */
+class AhoCorasickMatcher<T> {
+
+    record Match<T>(int start, int end, T value) {
+    }
+
+    private static final class Node<T> {
+        // Used while building; frozen into the sorted arrays below
+        Map<Character, Node<T>> next = new HashMap<>();
+        final List<Keyword<T>> outputs = new ArrayList<>(1);
+        Keyword<T>[] matches;
+        Node<T> fail;
+        char[] keys;
+        Node<T>[] children;
+
+        Node<T> child(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        @SuppressWarnings("unchecked")
+        void freeze() {
+            List<Character> sorted = new ArrayList<>(next.keySet());
+            sorted.sort(null);
+            keys = new char[sorted.size()];
+            children = new Node[sorted.size()];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = sorted.get(i);
+                children[i] = next.get(sorted.get(i));
+            }
+            next = null;
+            matches = outputs.toArray(new Keyword[0]);
+        }
+    }
+
+    private record Keyword<T>(int length, boolean boundaryStart, boolean boundaryEnd, T value) {
+    }
+
+    private final Node<T> root = new Node<>();
+
+    AhoCorasickMatcher(Map<String, T> keywords) {
+        keywords.forEach(this::add);
+        link();
+    }
+
+    private void add(String keyword, T value) {
+        if (keyword.isEmpty()) {
+            return;
+        }
+        Node<T> node = root;
+        for (int i = 0; i < keyword.length(); i++) {
+            node = node.next.computeIfAbsent(lowerCase(keyword.charAt(i)), c -> new Node<>());
+        }
+        node.outputs.add(new Keyword<>(keyword.length(),
+            isWordChar(keyword.charAt(0)), isWordChar(keyword.charAt(keyword.length() - 1)), value));
+    }
+
+    /**
+     * Builds the failure links breadth-first and folds each node's failure
+     * outputs into its own, so matching never has to walk the failure chain
+     * to report suffix matches.
+     */
+    private void link() {
+        Queue<Node<T>> queue = new ArrayDeque<>();
+        List<Node<T>> nodes = new ArrayList<>();
+        nodes.add(root);
+        for (Node<T> child : root.next.values()) {
+            child.fail = root;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            Node<T> node = queue.poll();
+            nodes.add(node);
+            for (Map.Entry<Character, Node<T>> edge : node.next.entrySet()) {
+                Node<T> child = edge.getValue();
+                Node<T> fail = node.fail;
+                while (fail != root && !fail.next.containsKey(edge.getKey())) {
+                    fail = fail.fail;
+                }
+                Node<T> target = fail.next.get(edge.getKey());
+                child.fail = target != null && target != child ? target : root;
+                child.outputs.addAll(child.fail.outputs);
+                queue.add(child);
+            }
+        }
+        nodes.forEach(Node::freeze);
+    }
+
+    List<Match<T>> findAll(CharSequence text) {
+        List<Match<T>> matches = new ArrayList<>();
+        Node<T> node = root;
+        for (int i = 0; i < text.length(); i++) {
+            char c = lowerCase(text.charAt(i));
+            Node<T> child = node.child(c);
+            while (child == null && node != root) {
+                node = node.fail;
+                child = node.child(c);
+            }
+            node = child != null ? child : root;
+            for (Keyword<T> keyword : node.matches) {
+                int start = i - keyword.length() + 1;
+                int end = i + 1;
+                if (keyword.boundaryStart() && start > 0 && isWordChar(text.charAt(start - 1))) {
+                    continue;
+                }
+                if (keyword.boundaryEnd() && end < text.length() && isWordChar(text.charAt(end))) {
+                    continue;
+                }
+                matches.add(new Match<>(start, end, keyword.value()));
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Leftmost-longest matches that do not overlap, so "Spring Boot" is
+     * reported once rather than also as "Spring".
+     */
+    List<Match<T>> findLongest(CharSequence text) {
+        List<Match<T>> all = findAll(text);
+        all.sort(Comparator.<Match<T>>comparingInt(Match::start).thenComparing(m -> -(m.end() - m.start())));
+        List<Match<T>> longest = new ArrayList<>(all.size());
+        int covered = 0;
+        for (Match<T> match : all) {
+            if (match.start() >= covered) {
+                longest.add(match);
+                covered = match.end();
+            }
+        }
+        return longest;
+    }
+
+    private static char lowerCase(char c) {
+        if (c < 128) {
+            return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+        }
+        return Character.toLowerCase(c);
+    }
+
+    private static boolean isWordChar(char c) {
+        return c < 128 && Character.isLetterOrDigit(c);
+    }
+}
@@ -0,0 +1,263 @@
+package com.springboot.resumeanalyzer.service.local;
+
+import com.springboot.resumeanalyzer.model.PersonalInfo;
+import com.springboot.resumeanalyzer.model.ResumeAnalysis;
+import com.springboot.resumeanalyzer.model.ResumeTag;
+import com.springboot.resumeanalyzer.service.text.ResumeSections;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Rule-based extractor that answers in microseconds without calling the LLM.
+ *
+ * <p>Email and phone come from precompiled regexes, the name from a labelled
+ * field or a short first line, and the location, skill, position and field
+ * tags from a dictionary lexicon matched in one pass. Lexicon files live under
+ * {@code local-extraction.lexicon-location}; each line is a canonical term
+ * followed by optional {@code |}-separated aliases, and {@code #} starts a
+ * comment.
+ *
+ * <p>Tag confidence grows with the number of mentions. Local tags carry no
+ * score, since proficiency cannot be judged from a keyword hit.
+ */
+@Component
+public class LocalResumeExtractor {
+    private static final Logger logger = LoggerFactory.getLogger(LocalResumeExtractor.class);
+
+    private static final Pattern EMAIL = Pattern.compile("[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}");
+    // Mainland mobile numbers first, then international numbers with a country code
+    private static final Pattern MOBILE_PHONE = Pattern.compile("1[3-9]\\d(?:[-\\s]?\\d{4}){2}(?!\\d)");
+    private static final Pattern MAINLAND_PREFIX = Pattern.compile("\\+?86[-\\s]?$");
+    private static final Pattern INTERNATIONAL_PHONE = Pattern.compile("\\+\\d{1,3}[-\\s]?\\(?\\d{1,4}\\)?(?:[-\\s]?\\d{2,4}){2,3}(?!\\d)");
+    private static final String[] NAME_LABELS = {"姓名", "姓 名", "姓\u3000名", "Name"};
+    private static final Pattern NAME_VALUE = Pattern.compile("\\s*[:：]\\s*([\\p{IsHan}·]{2,5}|[A-Za-z][A-Za-z .'-]{1,40}[A-Za-z])");
+    private static final Pattern CJK_NAME_LINE = Pattern.compile("[\\p{IsHan}·]{2,5}");
+
+    private static final double BASE_CONFIDENCE = 0.7;
+    private static final double CONFIDENCE_PER_MENTION = 0.05;
+    private static final double MAX_CONFIDENCE = 0.95;
+
+    private static final Map<String, ResumeTag.TagType> TAG_LEXICONS = Map.of(
+        "skills.txt", ResumeTag.TagType.SKILL,
+        "positions.txt", ResumeTag.TagType.POSITION,
+        "fields.txt", ResumeTag.TagType.FIELD);
+    // Location terms have no tag type; the first one found fills PersonalInfo.location
+    private static final String LOCATION_LEXICON = "locations.txt";
+
+    private record Term(String name, ResumeTag.TagType type) {
+    }
+
+    private final AhoCorasickMatcher<Term> matcher;
+
+    public LocalResumeExtractor(ResourceLoader resourceLoader,
+                                @Value("${local-extraction.lexicon-location:classpath:lexicon/}") String lexiconLocation) {
+        Map<String, Term> keywords = new HashMap<>();
+        String base = lexiconLocation.endsWith("/") ? lexiconLocation : lexiconLocation + "/";
+        TAG_LEXICONS.forEach((file, type) -> load(resourceLoader.getResource(base + file), type, keywords));
+        load(resourceLoader.getResource(base + LOCATION_LEXICON), null, keywords);
+        this.matcher = new AhoCorasickMatcher<>(keywords);
+        logger.info("Loaded local extraction lexicon with {} keywords from {}", keywords.size(), base);
+    }
+
+    private static void load(Resource resource, ResumeTag.TagType type, Map<String, Term> keywords) {
+        if (!resource.exists()) {
+            logger.warn("Lexicon {} not found, skipping", resource.getDescription());
+            return;
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int comment = line.indexOf('#');
+                String entry = (comment >= 0 ? line.substring(0, comment) : line).trim();
+                if (entry.isEmpty()) {
+                    continue;
+                }
+                String[] forms = entry.split("\\|");
+                Term term = new Term(forms[0].trim(), type);
+                for (String form : forms) {
+                    if (!form.isBlank()) {
+                        keywords.putIfAbsent(form.trim().toLowerCase(Locale.ROOT), term);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load lexicon " + resource.getDescription(), e);
+        }
+    }
+
+    public ResumeAnalysis extract(String content) {
+        PersonalInfo personalInfo = new PersonalInfo();
+        personalInfo.setName(findName(content));
+        personalInfo.setEmail(findEmail(content));
+        String phone = findMobilePhone(content);
+        personalInfo.setPhone(phone != null ? phone : find(INTERNATIONAL_PHONE, content));
+
+        Map<Term, Integer> mentions = new LinkedHashMap<>();
+        for (AhoCorasickMatcher.Match<Term> match : matcher.findLongest(content)) {
+            Term term = match.value();
+            if (term.type() == null) {
+                if (personalInfo.getLocation() == null) {
+                    personalInfo.setLocation(term.name());
+                }
+            } else {
+                mentions.merge(term, 1, Integer::sum);
+            }
+        }
+
+        List<ResumeTag> tags = new ArrayList<>(mentions.size());
+        mentions.forEach((term, count) -> tags.add(createTag(term, count)));
+
+        ResumeAnalysis analysis = new ResumeAnalysis();
+        analysis.setPersonalInfo(personalInfo);
+        analysis.setTags(tags);
+        return analysis;
+    }
+
+    /**
+     * Returns a copy of {@code analysis} with empty personal info fields taken
+     * from {@code local} and local tags appended where the analysis has no tag
+     * of the same type and name. Neither argument is modified.
+     */
+    public static ResumeAnalysis enrich(ResumeAnalysis analysis, ResumeAnalysis local) {
+        PersonalInfo info = new PersonalInfo();
+        PersonalInfo primary = analysis.getPersonalInfo();
+        PersonalInfo fallback = local.getPersonalInfo();
+        info.setName(firstPresent(primary.getName(), fallback.getName()));
+        info.setEmail(firstPresent(primary.getEmail(), fallback.getEmail()));
+        info.setPhone(firstPresent(primary.getPhone(), fallback.getPhone()));
+        info.setLocation(firstPresent(primary.getLocation(), fallback.getLocation()));
+
+        List<ResumeTag> tags = new ArrayList<>(analysis.getTags());
+        Set<String> seen = new HashSet<>();
+        analysis.getTags().forEach(tag -> seen.add(tagKey(tag)));
+        for (ResumeTag tag : local.getTags()) {
+            if (seen.add(tagKey(tag))) {
+                tags.add(tag);
+            }
+        }
+
+        ResumeAnalysis enriched = new ResumeAnalysis();
+        enriched.setPersonalInfo(info);
+        enriched.setTags(tags);
+        enriched.setRawContent(analysis.getRawContent());
+        enriched.setDuplicateOf(analysis.getDuplicateOf());
+        return enriched;
+    }
+
+    public static String tagKey(ResumeTag tag) {
+        return tag.getType() + ":" + (tag.getName() == null ? "" : tag.getName().strip().toLowerCase(Locale.ROOT));
+    }
+
+    private static String firstPresent(String value, String fallback) {
+        return value != null && !value.isBlank() ? value : fallback;
+    }
+
+    private static ResumeTag createTag(Term term, int mentions) {
+        ResumeTag tag = new ResumeTag();
+        tag.setId(UUID.randomUUID().toString());
+        tag.setName(term.name());
+        tag.setType(term.type());
+        tag.setConfidence(Math.min(MAX_CONFIDENCE, BASE_CONFIDENCE + CONFIDENCE_PER_MENTION * (mentions - 1)));
+        return tag;
+    }
+
+    private static String find(Pattern pattern, String content) {
+        Matcher matcher = pattern.matcher(content);
+        return matcher.find() ? matcher.group().trim() : null;
+    }
+
+    /**
+     * Expands around each '@' and validates the candidate, instead of letting
+     * the regex backtrack over every word of the resume.
+     */
+    private static String findEmail(String content) {
+        for (int at = content.indexOf('@'); at >= 0; at = content.indexOf('@', at + 1)) {
+            int start = at;
+            while (start > 0 && isEmailChar(content.charAt(start - 1), "._%+-")) {
+                start--;
+            }
+            int end = at + 1;
+            while (end < content.length() && isEmailChar(content.charAt(end), ".-")) {
+                end++;
+            }
+            while (end > at + 1 && content.charAt(end - 1) == '.') {
+                end--;
+            }
+            if (EMAIL.matcher(content).region(start, end).matches()) {
+                return content.substring(start, end);
+            }
+        }
+        return null;
+    }
+
+    private static boolean isEmailChar(char c, String symbols) {
+        return (c < 128 && Character.isLetterOrDigit(c)) || symbols.indexOf(c) >= 0;
+    }
+
+    /**
+     * Scans for a '1' that starts a digit run and only then runs the regex
+     * there. Java regexes try every start position of an alternation or
+     * lookbehind, which costs far more than this scan on a whole resume.
+     */
+    private static String findMobilePhone(String content) {
+        Matcher matcher = MOBILE_PHONE.matcher(content);
+        for (int i = 0; i < content.length() - 1; i++) {
+            char next = content.charAt(i + 1);
+            if (content.charAt(i) != '1' || next < '3' || next > '9') {
+                continue;
+            }
+            boolean afterCountryCode = i >= 2 && content.startsWith("86", i - 2)
+                && (i == 2 || !Character.isDigit(content.charAt(i - 3)));
+            if (i > 0 && Character.isDigit(content.charAt(i - 1)) && !afterCountryCode) {
+                continue;
+            }
+            if (matcher.region(i, content.length()).lookingAt()) {
+                Matcher prefix = MAINLAND_PREFIX.matcher(content.substring(Math.max(0, i - 4), i));
+                int start = prefix.find() ? i - (prefix.end() - prefix.start()) : i;
+                return content.substring(start, matcher.end());
+            }
+        }
+        return null;
+    }
+
+    private static String findName(String content) {
+        Matcher value = NAME_VALUE.matcher(content);
+        for (String label : NAME_LABELS) {
+            for (int at = content.indexOf(label); at >= 0; at = content.indexOf(label, at + 1)) {
+                if (value.region(at + label.length(), content.length()).lookingAt()) {
+                    return value.group(1).trim();
+                }
+            }
+        }
+        // Chinese resumes usually open with the candidate's name on its own line
+        for (String line : content.split("\n", 5)) {
+            String trimmed = line.trim();
+            if (!trimmed.isEmpty()) {
+                boolean heading = trimmed.contains("简历") || ResumeSections.headingType(trimmed) != null;
+                return !heading && CJK_NAME_LINE.matcher(trimmed).matches() ? trimmed : null;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,218 @@
+package com.springboot.resumeanalyzer.service.match;
+
+import com.springboot.resumeanalyzer.model.ResumeTag;
+import com.springboot.resumeanalyzer.service.local.LocalResumeExtractor;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntFunction;
+
+/**
+ * Sparse tag vectors of every stored candidate, kept in compressed sparse row
+ * form: the terms of candidate {@code i} are {@code terms[starts[i] .. starts[i + 1])}
+ * in ascending order with their weights at the same positions, and each row is
+ * pre-normalised to unit length. Tag names are interned to dense term ids by type and
+ * lower-cased name.
+ *
+ * <p>A tag's weight is its type weight ({@code match.weights.<type>}) times its
+ * score out of ten (five when unscored) times its confidence. Rows are added
+ * by {@link com.springboot.resumeanalyzer.service.store.AnalysisStore} as
+ * analyses are stored, using the store's document ids.
+ */
+@Component
+public class CandidateVectors {
+    private static final int DEFAULT_SCORE = 5;
+
+    private final Map<ResumeTag.TagType, Float> typeWeights = new EnumMap<>(ResumeTag.TagType.class);
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private final List<String> termNames = new ArrayList<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private int[] starts = new int[1025];
+    private int[] terms = new int[8192];
+    private float[] weights = new float[8192];
+    private int count;
+
+    public CandidateVectors(Environment environment) {
+        typeWeights.put(ResumeTag.TagType.SKILL, 1.0f);
+        typeWeights.put(ResumeTag.TagType.POSITION, 1.5f);
+        typeWeights.put(ResumeTag.TagType.FIELD, 0.8f);
+        typeWeights.put(ResumeTag.TagType.INTEREST, 0.2f);
+        typeWeights.put(ResumeTag.TagType.MOTTO, 0.0f);
+        for (ResumeTag.TagType type : ResumeTag.TagType.values()) {
+            String property = "match.weights." + type.name().toLowerCase(Locale.ROOT);
+            typeWeights.put(type, environment.getProperty(property, Float.class, typeWeights.get(type)));
+        }
+    }
+
+    /**
+     * Adds the row of candidate {@code id}. Ids must be added in order without
+     * gaps; a candidate without usable tags gets an empty row.
+     */
+    public void add(int id, List<ResumeTag> tags) {
+        lock.writeLock().lock();
+        try {
+            if (id != count) {
+                throw new IllegalStateException("Expected candidate " + count + " but got " + id);
+            }
+            Map<Integer, Float> row = weigh(tags, true);
+            if (count + 2 > starts.length) {
+                starts = Arrays.copyOf(starts, starts.length * 2);
+            }
+            int start = starts[count];
+            if (start + row.size() > terms.length) {
+                int capacity = Math.max(terms.length * 2, start + row.size());
+                terms = Arrays.copyOf(terms, capacity);
+                weights = Arrays.copyOf(weights, capacity);
+            }
+            float norm = norm(row);
+            int end = start;
+            for (Map.Entry<Integer, Float> entry : row.entrySet()) {
+                terms[end] = entry.getKey();
+                weights[end] = entry.getValue() / norm;
+                end++;
+            }
+            starts[++count] = end;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Builds a sparse unit-length query vector. Tags whose terms no candidate
+     * has are dropped, as they cannot contribute to a score. Returns null if
+     * nothing is left.
+     */
+    Query queryVector(List<ResumeTag> tags) {
+        lock.readLock().lock();
+        try {
+            Map<Integer, Float> row = weigh(tags, false);
+            if (row.isEmpty()) {
+                return null;
+            }
+            float norm = norm(row);
+            int[] queryTerms = new int[row.size()];
+            float[] queryWeights = new float[row.size()];
+            int i = 0;
+            for (Map.Entry<Integer, Float> entry : row.entrySet()) {
+                queryTerms[i] = entry.getKey();
+                queryWeights[i++] = entry.getValue() / norm;
+            }
+            return new Query(queryTerms, queryWeights);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Runs {@code scorer} with a consistent view of the rows; no rows are
+     * added while it runs.
+     */
+    <T> T read(IntFunction<T> scorer) {
+        lock.readLock().lock();
+        try {
+            return scorer.apply(count);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Dot product of candidate {@code id} with the query, i.e. the cosine
+     * similarity since both are unit length. Both term lists are sorted, so
+     * they are merged in one pass. Call from within {@link #read(IntFunction)}.
+     */
+    float score(int id, Query query) {
+        int[] queryTerms = query.terms();
+        float dot = 0;
+        int i = starts[id];
+        int end = starts[id + 1];
+        int q = 0;
+        while (i < end && q < queryTerms.length) {
+            int term = terms[i];
+            if (term < queryTerms[q]) {
+                i++;
+            } else if (term > queryTerms[q]) {
+                q++;
+            } else {
+                dot += query.weights()[q++] * weights[i++];
+            }
+        }
+        return dot;
+    }
+
+    /**
+     * Names of candidate {@code id}'s terms that also occur in the query.
+     * Call from within {@link #read(IntFunction)}.
+     */
+    List<String> sharedTerms(int id, Query query) {
+        List<String> shared = new ArrayList<>();
+        for (int i = starts[id], end = starts[id + 1]; i < end; i++) {
+            if (Arrays.binarySearch(query.terms(), terms[i]) >= 0) {
+                shared.add(termNames.get(terms[i]));
+            }
+        }
+        return shared;
+    }
+
+    public int size() {
+        return read(count -> count);
+    }
+
+    /**
+     * Sums weights per term, in term order. Only {@code intern} creates new
+     * term ids.
+     */
+    private Map<Integer, Float> weigh(List<ResumeTag> tags, boolean intern) {
+        Map<Integer, Float> row = new TreeMap<>();
+        if (tags == null) {
+            return row;
+        }
+        for (ResumeTag tag : tags) {
+            if (tag.getName() == null || tag.getName().isBlank() || tag.getType() == null) {
+                continue;
+            }
+            float weight = typeWeights.get(tag.getType())
+                * (tag.getScore() == null ? DEFAULT_SCORE : tag.getScore()) / 10f
+                * (float) tag.getConfidence();
+            if (weight <= 0) {
+                continue;
+            }
+            String key = LocalResumeExtractor.tagKey(tag);
+            Integer term = termIds.get(key);
+            if (term == null) {
+                if (!intern) {
+                    continue;
+                }
+                term = termNames.size();
+                termIds.put(key, term);
+                termNames.add(key);
+            }
+            row.merge(term, weight, Float::sum);
+        }
+        return row;
+    }
+
+    /**
+     * A query vector: ascending term ids and their weights.
+     */
+    record Query(int[] terms, float[] weights) {
+    }
+
+    private static float norm(Map<Integer, Float> row) {
+        double sum = 0;
+        for (float weight : row.values()) {
+            sum += weight * weight;
+        }
+        return (float) Math.sqrt(sum);
+    }
+}
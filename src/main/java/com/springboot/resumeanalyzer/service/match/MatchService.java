@@ -0,0 +1,132 @@
+package com.springboot.resumeanalyzer.service.match;
+
+import com.springboot.resumeanalyzer.model.CandidateMatch;
+import com.springboot.resumeanalyzer.model.MatchResult;
+import com.springboot.resumeanalyzer.model.ResumeTag;
+import com.springboot.resumeanalyzer.model.StoredAnalysis;
+import com.springboot.resumeanalyzer.service.AnalysisMode;
+import com.springboot.resumeanalyzer.service.ResumeAnalyzerService;
+import com.springboot.resumeanalyzer.service.store.AnalysisStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+/**
+ * Ranks stored candidates against a job description. The description goes
+ * through the regular tag extraction; every candidate is then scored by the
+ * cosine similarity of its precomputed tag vector with the job's, in parallel
+ * over slices of the candidate rows, each slice keeping its own top-K heap.
+ * No LLM call is made per candidate.
+ *
+ * <p>Twice the requested number of candidates is ranked so that documents
+ * that cannot be read can be skipped; at most that many documents are read
+ * per request, and fewer matches are returned if too many are unreadable.
+ */
+@Service
+public class MatchService {
+    private static final Logger logger = LoggerFactory.getLogger(MatchService.class);
+    public static final int MAX_LIMIT = 100;
+
+    @Autowired
+    private ResumeAnalyzerService analyzerService;
+
+    @Autowired
+    private CandidateVectors vectors;
+
+    @Autowired
+    private AnalysisStore analysisStore;
+
+    @Value("${match.slice-size:8192}")
+    private int sliceSize;
+
+    public CompletableFuture<MatchResult> match(String jobDescription, AnalysisMode mode, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        return analyzerService.analyzeJobDescriptionAsync(jobDescription, mode)
+            .thenApply(job -> rank(job.getTags(), limit));
+    }
+
+    /**
+     * Ranks candidates against the given job tags.
+     */
+    public MatchResult rank(List<ResumeTag> jobTags, int limit) {
+        long start = System.nanoTime();
+        CandidateVectors.Query query = vectors.queryVector(jobTags);
+        List<Ranked> ranked = query == null ? List.of() : vectors.read(count -> topCandidates(query, count, 2 * limit));
+
+        // Documents are read after releasing the vectors, which the store locks in the opposite order
+        List<CandidateMatch> matches = new ArrayList<>(limit);
+        for (Ranked candidate : ranked) {
+            if (matches.size() == limit) {
+                break;
+            }
+            Optional<StoredAnalysis> stored;
+            try {
+                stored = analysisStore.get(candidate.id());
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Skipping unreadable candidate {}: {}", candidate.id(), e.getMessage());
+                continue;
+            }
+            stored.ifPresent(analysis -> {
+                CandidateMatch match = new CandidateMatch();
+                match.setScore(candidate.score());
+                match.setMatchedTags(candidate.matchedTags());
+                match.setCandidate(analysis);
+                matches.add(match);
+            });
+        }
+
+        MatchResult result = new MatchResult();
+        result.setJobTags(jobTags);
+        result.setCandidates(vectors.size());
+        result.setMatches(matches);
+        result.setTookMicros((System.nanoTime() - start) / 1_000);
+        logger.info("Ranked {} candidates against {} job tags in {} us",
+                    result.getCandidates(), jobTags == null ? 0 : jobTags.size(), result.getTookMicros());
+        return result;
+    }
+
+    private List<Ranked> topCandidates(CandidateVectors.Query query, int count, int limit) {
+        int slices = (count + sliceSize - 1) / sliceSize;
+        TopK top = IntStream.range(0, slices)
+            .parallel()
+            .mapToObj(slice -> {
+                TopK sliceTop = new TopK(limit);
+                for (int id = slice * sliceSize, end = Math.min(count, id + sliceSize); id < end; id++) {
+                    float score = vectors.score(id, query);
+                    if (score > 0) {
+                        sliceTop.offer(id, score);
+                    }
+                }
+                return sliceTop;
+            })
+            .reduce(new TopK(limit), (a, b) -> {
+                TopK merged = new TopK(limit);
+                merged.addAll(a);
+                merged.addAll(b);
+                return merged;
+            });
+
+        int[] ids = new int[top.size()];
+        float[] scores = new float[top.size()];
+        top.drainDescending(ids, scores);
+        List<Ranked> ranked = new ArrayList<>(ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            ranked.add(new Ranked(ids[i], Math.min(1f, scores[i]), vectors.sharedTerms(ids[i], query)));
+        }
+        return ranked;
+    }
+
+    private record Ranked(int id, float score, List<String> matchedTags) {
+    }
+}
@@ -0,0 +1,96 @@
+package com.springboot.resumeanalyzer.service.match;
+
+/**
+ * Bounded min-heap of (id, score) pairs on primitive arrays that keeps the
+ * {@code k} highest scores seen. Ties keep the higher id, i.e. the newer
+ * candidate.
+ */
+final class TopK {
+    private final int[] ids;
+    private final float[] scores;
+    private int size;
+
+    TopK(int k) {
+        this.ids = new int[k];
+        this.scores = new float[k];
+    }
+
+    void offer(int id, float score) {
+        if (size < ids.length) {
+            ids[size] = id;
+            scores[size] = score;
+            siftUp(size++);
+        } else if (ids.length > 0 && less(ids[0], scores[0], id, score)) {
+            ids[0] = id;
+            scores[0] = score;
+            siftDown(0);
+        }
+    }
+
+    void addAll(TopK other) {
+        for (int i = 0; i < other.size; i++) {
+            offer(other.ids[i], other.scores[i]);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Drains the heap into {@code ids}/{@code scores}, best first.
+     */
+    void drainDescending(int[] outIds, float[] outScores) {
+        for (int i = size - 1; i >= 0; i--) {
+            outIds[i] = ids[0];
+            outScores[i] = scores[0];
+            size--;
+            ids[0] = ids[size];
+            scores[0] = scores[size];
+            siftDown(0);
+        }
+    }
+
+    private static boolean less(int idA, float scoreA, int idB, float scoreB) {
+        return scoreA < scoreB || (scoreA == scoreB && idA < idB);
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!less(ids[i], scores[i], ids[parent], scores[parent])) {
+                return;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int smallest = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+            if (left < size && less(ids[left], scores[left], ids[smallest], scores[smallest])) {
+                smallest = left;
+            }
+            if (right < size && less(ids[right], scores[right], ids[smallest], scores[smallest])) {
+                smallest = right;
+            }
+            if (smallest == i) {
+                return;
+            }
+            swap(i, smallest);
+            i = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        int id = ids[a];
+        ids[a] = ids[b];
+        ids[b] = id;
+        float score = scores[a];
+        scores[a] = scores[b];
+        scores[b] = score;
+    }
+}
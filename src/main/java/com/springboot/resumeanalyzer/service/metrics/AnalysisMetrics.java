@@ -0,0 +1,188 @@
+package com.springboot.resumeanalyzer.service.metrics;
+
+import com.springboot.resumeanalyzer.service.admission.UploadAdmission;
+import com.springboot.resumeanalyzer.service.cache.AnalysisCache;
+import com.springboot.resumeanalyzer.service.llm.CircuitBreaker;
+import com.springboot.resumeanalyzer.service.llm.LlmErrorClass;
+import com.springboot.resumeanalyzer.service.llm.LlmRateGovernor;
+import com.springboot.resumeanalyzer.service.llm.LlmResilience;
+import com.springboot.resumeanalyzer.service.llm.LlmRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Central place for the analysis pipeline's meters and observations.
+ *
+ * <p>Each stage runs inside an Observation, which produces both a timer
+ * (histogram enabled in application.properties) and a trace span:
+ * <ul>
+ *   <li>{@code resume.analysis}: whole analysis, tagged with the cache outcome;</li>
+ *   <li>{@code resume.analysis.stage}: one stage, tagged with its name.</li>
+ * </ul>
+ */
+@Component
+public class AnalysisMetrics {
+    public static final String ANALYSIS_OBSERVATION = "resume.analysis";
+    public static final String STAGE_OBSERVATION = "resume.analysis.stage";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObservationRegistry observationRegistry;
+
+    @Autowired
+    private LlmRateGovernor rateGovernor;
+
+    @Autowired
+    private LlmResilience resilience;
+
+    @Autowired
+    private AnalysisCache analysisCache;
+
+    @Autowired
+    private LlmRouter router;
+
+    // Looked up lazily: admission depends on services that depend on these metrics
+    @Autowired
+    private ObjectProvider<UploadAdmission> uploadAdmission;
+
+    private DistributionSummary inputChars;
+    private Counter promptTokens;
+    private Counter completionTokens;
+    private Counter tokensSaved;
+
+    @PostConstruct
+    public void registerMeters() {
+        inputChars = DistributionSummary.builder("resume.analysis.input.chars")
+            .description("Characters of resume text per analysis")
+            .baseUnit("chars")
+            .register(meterRegistry);
+        promptTokens = Counter.builder("resume.llm.tokens").tag("kind", "prompt")
+            .description("Tokens reported in the provider usage field")
+            .register(meterRegistry);
+        completionTokens = Counter.builder("resume.llm.tokens").tag("kind", "completion")
+            .description("Tokens reported in the provider usage field")
+            .register(meterRegistry);
+        tokensSaved = Counter.builder("resume.preprocess.tokens.saved")
+            .description("Estimated input tokens removed by preprocessing")
+            .register(meterRegistry);
+
+        FunctionCounter.builder("resume.llm.retries", resilience, LlmResilience::getRetryCount)
+            .description("LLM calls retried after a transient failure")
+            .register(meterRegistry);
+        FunctionCounter.builder("resume.llm.hedges", resilience, LlmResilience::getHedgeCount)
+            .description("Hedged duplicate LLM calls sent")
+            .register(meterRegistry);
+        for (String provider : router.getProviders().keySet()) {
+            Gauge.builder("resume.llm.circuit.open", resilience,
+                    r -> r.getCircuitState(provider) == CircuitBreaker.State.CLOSED ? 0 : 1)
+                .description("1 while the provider's circuit breaker is open or half-open")
+                .tag("provider", provider)
+                .register(meterRegistry);
+        }
+        Gauge.builder("resume.llm.concurrency.limit", rateGovernor, LlmRateGovernor::getConcurrencyLimit)
+            .register(meterRegistry);
+        Gauge.builder("resume.llm.inflight", rateGovernor, LlmRateGovernor::getInFlight)
+            .register(meterRegistry);
+        Gauge.builder("resume.llm.queued", rateGovernor, LlmRateGovernor::getQueued)
+            .register(meterRegistry);
+        Gauge.builder("resume.analysis.cache.size", analysisCache, c -> c.stats().getSize())
+            .register(meterRegistry);
+        Gauge.builder("resume.upload.inflight", uploadAdmission, p -> p.getObject().getInFlightBytes())
+            .description("Bytes reserved by uploads in progress")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Starts the observation around one whole analysis.
+     */
+    public Observation startAnalysis() {
+        return Observation.createNotStarted(ANALYSIS_OBSERVATION, observationRegistry)
+            .contextualName("resume analysis")
+            .start();
+    }
+
+    public Observation startStage(String stage, Observation parent) {
+        return Observation.createNotStarted(STAGE_OBSERVATION, observationRegistry)
+            .contextualName("resume " + stage)
+            .lowCardinalityKeyValue("stage", stage)
+            .parentObservation(parent)
+            .start();
+    }
+
+    public <T> T observeStage(String stage, Observation parent, Supplier<T> work) {
+        Observation observation = startStage(stage, parent);
+        try (Observation.Scope scope = observation.openScope()) {
+            return work.get();
+        } catch (RuntimeException e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+
+    /**
+     * Stops the observation when the future completes, recording its failure.
+     */
+    public <T> CompletableFuture<T> observe(CompletableFuture<T> future, Observation observation) {
+        return LlmResilience.cancelling(future.whenComplete((value, error) -> {
+            if (error != null) {
+                observation.error(error);
+            }
+            observation.stop();
+        }), future);
+    }
+
+    public void recordCacheOutcome(Observation analysis, String outcome) {
+        analysis.lowCardinalityKeyValue("cache", outcome);
+        meterRegistry.counter("resume.analysis.cache", "result", outcome).increment();
+    }
+
+    public void recordInput(int chars, int savedTokens) {
+        inputChars.record(chars);
+        if (savedTokens > 0) {
+            tokensSaved.increment(savedTokens);
+        }
+    }
+
+    /**
+     * Counts the chunks of one analysis served from the cache and sent upstream.
+     */
+    public void recordChunks(int reused, int sent) {
+        meterRegistry.counter("resume.analysis.chunks", "result", "reused").increment(reused);
+        meterRegistry.counter("resume.analysis.chunks", "result", "sent").increment(sent);
+    }
+
+    public void recordUsage(long prompt, long completion) {
+        promptTokens.increment(prompt);
+        completionTokens.increment(completion);
+    }
+
+    public void recordRoute(LlmRouter.LlmRoute route) {
+        meterRegistry.counter("resume.llm.requests",
+            "provider", route.provider().getName(), "model", route.model()).increment();
+    }
+
+    public void recordUploadRejected(String reason) {
+        meterRegistry.counter("resume.upload.rejected", "reason", reason).increment();
+    }
+
+    public void recordError(Throwable error) {
+        meterRegistry.counter("resume.analysis.errors", "class", LlmErrorClass.of(error).name()).increment();
+    }
+}
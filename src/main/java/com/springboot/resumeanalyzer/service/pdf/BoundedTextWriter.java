@@ -0,0 +1,65 @@
+package com.springboot.resumeanalyzer.service.pdf;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writer that keeps at most {@code maxChars} characters. Once the budget is
+ * spent it throws {@link LimitReachedException}, which stops PDFTextStripper
+ * from processing the remaining pages.
+ */
+class BoundedTextWriter extends Writer {
+    private final StringBuilder buffer;
+    private final int maxChars;
+    private boolean truncated;
+
+    BoundedTextWriter(int maxChars) {
+        this.maxChars = maxChars;
+        this.buffer = new StringBuilder(Math.min(maxChars, 16 * 1024));
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        int remaining = maxChars - buffer.length();
+        if (len > remaining) {
+            buffer.append(cbuf, off, remaining);
+            truncated = true;
+            throw new LimitReachedException();
+        }
+        buffer.append(cbuf, off, len);
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        int remaining = maxChars - buffer.length();
+        if (len > remaining) {
+            buffer.append(str, off, off + remaining);
+            truncated = true;
+            throw new LimitReachedException();
+        }
+        buffer.append(str, off, off + len);
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+    }
+
+    boolean isTruncated() {
+        return truncated;
+    }
+
+    @Override
+    public String toString() {
+        return buffer.toString();
+    }
+
+    static class LimitReachedException extends IOException {
+        LimitReachedException() {
+            super("Character limit reached", null);
+        }
+    }
+}
@@ -0,0 +1,317 @@
+package com.springboot.resumeanalyzer.service.pdf;
+
+import com.springboot.resumeanalyzer.service.metrics.AnalysisMetrics;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.annotation.PreDestroy;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.multipdf.Splitter;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Extracts plain text from PDF documents with PDFBox.
+ *
+ * <p>Documents are loaded with a mixed memory/scratch-file buffer so that at
+ * most {@code pdf.extraction.max-main-memory} of the parsed file is held on the
+ * heap; the rest spills to temp files. Text is written page by page into a
+ * bounded buffer, and extraction stops once {@code pdf.extraction.max-pages}
+ * or {@code pdf.extraction.max-chars} is reached. Pages are separated by a form
+ * feed ({@code \f}). Documents over {@code pdf.extraction.max-file-size} or
+ * {@code pdf.extraction.max-document-pages} are refused outright: the size is
+ * checked while spooling, the page count right after the page tree is loaded.
+ *
+ * <p>Documents with at least {@code pdf.extraction.parallel-threshold} pages are
+ * split into documents of {@code pdf.extraction.pages-per-task} pages that are
+ * stripped concurrently on a fork-join pool. PDDocument is not thread-safe and
+ * splits share objects with their source, so the already parsed document is
+ * split and each split saved to its own temp file on the calling thread; every
+ * task then parses only its split. The ranges are joined back in page order.
+ * Splitting costs about a serial extraction of 20 pages, so the threshold
+ * should be well above that; {@code 0}, the default, and a pool of one thread
+ * disable the parallel path.
+ */
+@Component
+public class PdfTextExtractor {
+    private static final Logger logger = LoggerFactory.getLogger(PdfTextExtractor.class);
+    public static final String PAGE_SEPARATOR = "\f";
+
+    private final long maxMainMemoryBytes;
+    private final int maxPages;
+    private final int maxChars;
+    private final long maxFileBytes;
+    private final int maxDocumentPages;
+    private final File tempDir;
+    private final int parallelThreshold;
+    private final int pagesPerTask;
+    private final ForkJoinPool extractionPool;
+
+    // Absent when the extractor is constructed outside Spring, e.g. in benchmarks
+    @Autowired(required = false)
+    private ObservationRegistry observationRegistry = ObservationRegistry.NOOP;
+
+    public PdfTextExtractor(@Value("${pdf.extraction.max-main-memory:4MB}") DataSize maxMainMemory,
+                            @Value("${pdf.extraction.max-pages:50}") int maxPages,
+                            @Value("${pdf.extraction.max-chars:200000}") int maxChars,
+                            @Value("${pdf.extraction.max-file-size:50MB}") DataSize maxFileSize,
+                            @Value("${pdf.extraction.max-document-pages:500}") int maxDocumentPages,
+                            @Value("${pdf.extraction.temp-dir:${java.io.tmpdir}}") String tempDir,
+                            @Value("${pdf.extraction.parallel-threshold:0}") int parallelThreshold,
+                            @Value("${pdf.extraction.pages-per-task:4}") int pagesPerTask,
+                            @Value("${pdf.extraction.parallelism:0}") int parallelism) {
+        this.maxMainMemoryBytes = maxMainMemory.toBytes();
+        this.maxPages = maxPages;
+        this.maxChars = maxChars;
+        this.maxFileBytes = maxFileSize.toBytes();
+        this.maxDocumentPages = maxDocumentPages;
+        this.tempDir = new File(tempDir);
+        this.pagesPerTask = Math.max(1, pagesPerTask);
+        this.extractionPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        // With a single worker splitting is pure overhead
+        this.parallelThreshold = parallelThreshold > 0 && extractionPool.getParallelism() > 1
+            ? parallelThreshold : Integer.MAX_VALUE;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        extractionPool.shutdownNow();
+    }
+
+    public String extract(InputStream inputStream) throws IOException {
+        // Spool to disk so the parsed document can spill to scratch files
+        Path spooled = Files.createTempFile(tempDir.toPath(), "resume-", ".pdf");
+        try {
+            long size = Files.copy(new BoundedInputStream(inputStream, maxFileBytes), spooled,
+                StandardCopyOption.REPLACE_EXISTING);
+            if (size > maxFileBytes) {
+                throw new IllegalArgumentException("PDF exceeds the size limit of " + maxFileSize() + " MB");
+            }
+            return extract(spooled);
+        } finally {
+            Files.deleteIfExists(spooled);
+        }
+    }
+
+    public String extract(Path pdf) throws IOException {
+        if (Files.size(pdf) > maxFileBytes) {
+            throw new IllegalArgumentException("PDF exceeds the size limit of " + maxFileSize() + " MB");
+        }
+        int pageCount;
+        RangeText extracted;
+        PDDocument document = null;
+        Observation loadStage = startStage("pdf.load");
+        try {
+            document = load(pdf);
+        } catch (IOException | RuntimeException e) {
+            loadStage.error(e);
+            throw e;
+        } finally {
+            loadStage.stop();
+        }
+
+        Observation extractStage = startStage("pdf.extract");
+        try {
+            pageCount = document.getNumberOfPages();
+            if (pageCount > maxDocumentPages) {
+                throw new IllegalArgumentException(
+                    "PDF has " + pageCount + " pages, documents over " + maxDocumentPages + " pages are not accepted");
+            }
+            int lastPage = Math.min(pageCount, maxPages);
+            if (pageCount > maxPages) {
+                logger.warn("PDF has {} pages, extracting only the first {}", pageCount, maxPages);
+            }
+
+            if (lastPage >= parallelThreshold) {
+                extracted = extractParallel(document, lastPage);
+            } else {
+                extracted = stripRange(document, 1, lastPage);
+            }
+        } catch (IOException | RuntimeException e) {
+            extractStage.error(e);
+            throw e;
+        } finally {
+            extractStage.stop();
+            if (document != null) {
+                close(document);
+            }
+        }
+
+        String text = extracted.text;
+        if (extracted.truncated) {
+            logger.warn("PDF text exceeds {} characters, remaining pages skipped", maxChars);
+        }
+        if (text.trim().isEmpty()) {
+            logger.error("Extracted text is empty");
+            throw new IllegalArgumentException("Could not extract text from PDF");
+        }
+
+        logger.info("Successfully extracted {} characters from {} pages{}",
+                   text.length(), pageCount, extracted.truncated ? " (truncated)" : "");
+        if (logger.isDebugEnabled()) {
+            logger.debug("Extracted text: {}", text);
+        }
+        return text;
+    }
+
+    private RangeText extractParallel(PDDocument document, int lastPage) throws IOException {
+        long start = System.nanoTime();
+        List<Path> splits = split(document, lastPage);
+        try {
+            RangeText text = extractionPool.invoke(new RangeTask(splits, 0, splits.size()));
+            logger.info("Extracted {} pages in parallel in {} ms", lastPage, (System.nanoTime() - start) / 1_000_000);
+            if (text.text.length() > maxChars) {
+                return new RangeText(text.text.substring(0, maxChars), true);
+            }
+            return text;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            deleteAll(splits);
+        }
+    }
+
+    /**
+     * Saves pages 1 to {@code lastPage} as temp files of {@code pagesPerTask}
+     * pages each, in page order.
+     */
+    private List<Path> split(PDDocument document, int lastPage) throws IOException {
+        Splitter splitter = new Splitter();
+        splitter.setStartPage(1);
+        splitter.setEndPage(lastPage);
+        splitter.setSplitAtPage(pagesPerTask);
+        splitter.setMemoryUsageSetting(memoryUsage());
+
+        List<Path> files = new ArrayList<>();
+        List<PDDocument> parts = splitter.split(document);
+        try {
+            for (PDDocument part : parts) {
+                Path file = Files.createTempFile(tempDir.toPath(), "resume-split-", ".pdf");
+                files.add(file);
+                part.save(file.toFile());
+            }
+            return files;
+        } catch (IOException | RuntimeException e) {
+            deleteAll(files);
+            throw e;
+        } finally {
+            parts.forEach(this::close);
+        }
+    }
+
+    private RangeText stripRange(PDDocument document, int startPage, int endPage) throws IOException {
+        PDFTextStripper stripper = new PDFTextStripper();
+        stripper.setStartPage(startPage);
+        stripper.setEndPage(endPage);
+        stripper.setPageEnd(PAGE_SEPARATOR);
+
+        BoundedTextWriter writer = new BoundedTextWriter(maxChars);
+        try {
+            stripper.writeText(document, writer);
+        } catch (BoundedTextWriter.LimitReachedException e) {
+            // Budget spent, later pages are skipped
+        }
+        return new RangeText(writer.toString(), writer.isTruncated());
+    }
+
+    private long maxFileSize() {
+        return DataSize.ofBytes(maxFileBytes).toMegabytes();
+    }
+
+    private Observation startStage(String stage) {
+        return Observation.createNotStarted(AnalysisMetrics.STAGE_OBSERVATION, observationRegistry)
+            .contextualName("resume " + stage)
+            .lowCardinalityKeyValue("stage", stage)
+            .start();
+    }
+
+    private PDDocument load(Path pdf) throws IOException {
+        return PDDocument.load(pdf.toFile(), memoryUsage());
+    }
+
+    private MemoryUsageSetting memoryUsage() {
+        return MemoryUsageSetting.setupMixed(maxMainMemoryBytes).setTempDir(tempDir);
+    }
+
+    private void deleteAll(List<Path> files) {
+        for (Path file : files) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                logger.warn("Failed to delete split PDF {}", file, e);
+            }
+        }
+    }
+
+    private void close(PDDocument document) {
+        try {
+            document.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close PDF document", e);
+        }
+    }
+
+    private record RangeText(String text, boolean truncated) {
+    }
+
+    /**
+     * Halves the list of splits until one is left, then parses and strips it.
+     */
+    private class RangeTask extends RecursiveTask<RangeText> {
+        private final List<Path> splits;
+        private final int from;
+        private final int to;
+
+        RangeTask(List<Path> splits, int from, int to) {
+            this.splits = splits;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected RangeText compute() {
+            if (to - from == 1) {
+                PDDocument document = null;
+                try {
+                    document = load(splits.get(from));
+                    return stripRange(document, 1, document.getNumberOfPages());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } finally {
+                    if (document != null) {
+                        close(document);
+                    }
+                }
+            }
+
+            int middle = (from + to) / 2;
+            RangeTask left = new RangeTask(splits, from, middle);
+            RangeTask right = new RangeTask(splits, middle, to);
+            right.fork();
+            RangeText leftText = left.compute();
+            RangeText rightText = right.join();
+            // A truncated left half already used the whole budget
+            if (leftText.truncated) {
+                return leftText;
+            }
+            return new RangeText(leftText.text + rightText.text, rightText.truncated);
+        }
+    }
+}
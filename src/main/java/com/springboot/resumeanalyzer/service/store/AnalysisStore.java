@@ -0,0 +1,383 @@
+package com.springboot.resumeanalyzer.service.store;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.springboot.resumeanalyzer.model.ResumeAnalysis;
+import com.springboot.resumeanalyzer.model.ResumeTag;
+import com.springboot.resumeanalyzer.model.StoredAnalysis;
+import com.springboot.resumeanalyzer.model.TagClause;
+import com.springboot.resumeanalyzer.model.TagQuery;
+import com.springboot.resumeanalyzer.model.TagQueryResult;
+import com.springboot.resumeanalyzer.service.match.CandidateVectors;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Persists every completed analysis and answers tag queries over them.
+ *
+ * <p>Analyses are appended as JSON lines to {@code analyses.jsonl}; a
+ * document's id is its line number. Only the file offset of each line and a
+ * {@link TagIndex} are kept in memory, so a query evaluates its clauses against
+ * the index as bit sets and reads just the documents of the requested page.
+ * The index is updated on every append and rebuilt by scanning the log on
+ * startup. Analyses of content already in the store are not stored again.
+ * Every stored analysis is also added to the {@link CandidateVectors} used for
+ * job matching, and one stored with a {@link MinHash} signature to the
+ * {@link NearDuplicateIndex}.
+ */
+@Component
+public class AnalysisStore {
+    private static final Logger logger = LoggerFactory.getLogger(AnalysisStore.class);
+    private static final String LOG_FILE = "analyses.jsonl";
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Path logFile;
+    private final TagIndex index = new TagIndex();
+    private final NearDuplicateIndex nearDuplicates = new NearDuplicateIndex();
+    private final CandidateVectors vectors;
+    private final Map<String, Integer> idsByContentKey = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private FileChannel channel;
+    private long[] offsets = new long[1024];
+    private int[] lengths = new int[1024];
+    private int count;
+
+    public AnalysisStore(ObjectMapper objectMapper,
+                         CandidateVectors vectors,
+                         @Value("${store.enabled:true}") boolean enabled,
+                         @Value("${store.directory:${java.io.tmpdir}/resume-analyzer/store}") String directory) throws IOException {
+        this.objectMapper = objectMapper;
+        this.vectors = vectors;
+        this.enabled = enabled;
+        this.logFile = Path.of(directory).resolve(LOG_FILE);
+        if (enabled) {
+            Files.createDirectories(logFile.getParent());
+            this.channel = FileChannel.open(logFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            load();
+        }
+    }
+
+    private void load() throws IOException {
+        long start = System.nanoTime();
+        ObjectReader reader = objectMapper.readerFor(StoredAnalysis.class);
+        long offset = 0;
+        ByteArrayOutputStream partial = new ByteArrayOutputStream();
+        byte[] chunk = new byte[1 << 16];
+        try (InputStream in = Files.newInputStream(logFile)) {
+            int read;
+            scan:
+            while ((read = in.read(chunk)) > 0) {
+                int lineStart = 0;
+                for (int i = 0; i < read; i++) {
+                    if (chunk[i] != '\n') {
+                        continue;
+                    }
+                    // Records are parsed straight from the chunk unless they span two reads
+                    byte[] line = chunk;
+                    int from = lineStart;
+                    int length = i - lineStart;
+                    if (partial.size() > 0) {
+                        partial.write(chunk, lineStart, length);
+                        line = partial.toByteArray();
+                        from = 0;
+                        length = line.length;
+                        partial.reset();
+                    }
+                    try {
+                        index(reader.readValue(line, from, length), offset, length);
+                    } catch (IOException e) {
+                        logger.warn("Truncating analysis store at unreadable record {}: {}", count, e.getMessage());
+                        break scan;
+                    }
+                    offset += length + 1;
+                    lineStart = i + 1;
+                }
+                partial.write(chunk, lineStart, read - lineStart);
+            }
+        }
+        // Drop a partial record left behind by a crash mid-append
+        if (channel.size() > offset) {
+            channel.truncate(offset);
+        }
+        channel.position(offset);
+        logger.info("Loaded {} stored analyses ({} tag terms) from {} in {} ms",
+                    count, index.termCount(), logFile, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public Optional<StoredAnalysis> add(String contentKey, ResumeAnalysis analysis) throws IOException {
+        return add(contentKey, analysis, null, null);
+    }
+
+    /**
+     * Appends the analysis unless one for the same content key is already
+     * stored, and returns the stored record.
+     *
+     * @param variant   {@link com.springboot.resumeanalyzer.service.cache.AnalysisCacheKey#variant}
+     *                  of the analysis; near-duplicate lookups only match the same variant
+     * @param signature the {@link MinHash} of the resume text, or null to
+     *                  leave the analysis out of near-duplicate lookups
+     */
+    public Optional<StoredAnalysis> add(String contentKey, ResumeAnalysis analysis, String variant,
+                                        int[] signature) throws IOException {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        lock.writeLock().lock();
+        try {
+            Integer existing = idsByContentKey.get(contentKey);
+            if (existing != null) {
+                return Optional.of(read(existing));
+            }
+            StoredAnalysis stored = new StoredAnalysis();
+            stored.setId(count);
+            stored.setContentKey(contentKey);
+            stored.setStoredAt(System.currentTimeMillis());
+            stored.setAnalysis(analysis);
+            stored.setVariant(variant);
+            stored.setSignature(signature);
+
+            byte[] json = objectMapper.writeValueAsBytes(stored);
+            byte[] record = Arrays.copyOf(json, json.length + 1);
+            record[json.length] = '\n';
+            long offset = channel.position();
+            ByteBuffer buffer = ByteBuffer.wrap(record);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            index(stored, offset, json.length);
+            return Optional.of(stored);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Optional<StoredAnalysis> get(int id) throws IOException {
+        lock.readLock().lock();
+        try {
+            if (id < 0 || id >= count) {
+                return Optional.empty();
+            }
+            return Optional.of(read(id));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the stored analysis whose resume text is most similar to the one
+     * behind the signature among those stored with the same variant, if that
+     * similarity is at least {@code minSimilarity}. Ties go to the newer
+     * analysis.
+     */
+    public Optional<NearDuplicate> findNearDuplicate(int[] signature, String variant,
+                                                     double minSimilarity) throws IOException {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            NearDuplicate best = null;
+            for (int id : nearDuplicates.candidates(signature)) {
+                StoredAnalysis stored = read(id);
+                if (!variant.equals(stored.getVariant())) {
+                    continue;
+                }
+                double similarity = MinHash.similarity(signature, stored.getSignature());
+                if (similarity >= minSimilarity && (best == null || similarity >= best.similarity())) {
+                    best = new NearDuplicate(stored, similarity);
+                }
+            }
+            return Optional.ofNullable(best);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public record NearDuplicate(StoredAnalysis stored, double similarity) {
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Runs the query. Results are ordered newest first, or for
+     * {@link TagQuery.Sort#SCORE} by the sum of score times confidence over the
+     * tags matched by {@code must} and {@code should} clauses.
+     *
+     * @throws IllegalArgumentException if the query is empty or malformed
+     */
+    public TagQueryResult query(TagQuery query) throws IOException {
+        long start = System.nanoTime();
+        validate(query);
+        int page = query.getPage();
+        int size = query.getSize();
+
+        lock.readLock().lock();
+        try {
+            boolean byScore = query.getSort() == TagQuery.Sort.SCORE;
+            float[] relevance = byScore ? new float[count] : null;
+            BitSet matches = null;
+            for (TagClause clause : query.getMust()) {
+                BitSet clauseMatches = index.match(clause, count, relevance);
+                if (matches == null) {
+                    matches = clauseMatches;
+                } else {
+                    matches.and(clauseMatches);
+                }
+            }
+            if (!query.getShould().isEmpty()) {
+                BitSet any = new BitSet(count);
+                for (TagClause clause : query.getShould()) {
+                    any.or(index.match(clause, count, relevance));
+                }
+                if (matches == null) {
+                    matches = any;
+                } else {
+                    matches.and(any);
+                }
+            }
+            if (matches == null) {
+                // Only exclusions were given: start from every document
+                matches = new BitSet(count);
+                matches.set(0, count);
+            }
+            for (TagClause clause : query.getMustNot()) {
+                matches.andNot(index.match(clause, count, null));
+            }
+
+            int total = matches.cardinality();
+            List<StoredAnalysis> items = new ArrayList<>(Math.min(size, total));
+            if ((long) page * size < total) {
+                for (int id : byScore ? topByRelevance(matches, relevance, page, size) : newest(matches, page, size)) {
+                    items.add(read(id));
+                }
+            }
+
+            TagQueryResult result = new TagQueryResult();
+            result.setTotal(total);
+            result.setPage(page);
+            result.setSize(size);
+            result.setItems(items);
+            result.setTookMicros((System.nanoTime() - start) / 1_000);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void validate(TagQuery query) {
+        if (query.getMust().isEmpty() && query.getShould().isEmpty() && query.getMustNot().isEmpty()) {
+            throw new IllegalArgumentException("Query needs at least one clause");
+        }
+        if (query.getPage() < 0) {
+            throw new IllegalArgumentException("Page must not be negative");
+        }
+        if (query.getSize() < 1 || query.getSize() > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    private static int[] newest(BitSet matches, int page, int size) {
+        int skip = page * size;
+        int[] ids = new int[size];
+        int n = 0;
+        for (int id = matches.previousSetBit(matches.length() - 1); id >= 0 && n < size; id = matches.previousSetBit(id - 1)) {
+            if (skip > 0) {
+                skip--;
+            } else {
+                ids[n++] = id;
+            }
+        }
+        return Arrays.copyOf(ids, n);
+    }
+
+    /**
+     * Selects one page of the highest relevance documents with a bounded heap
+     * rather than sorting every match. Ties go to the newer document.
+     */
+    private static int[] topByRelevance(BitSet matches, float[] relevance, int page, int size) {
+        int limit = (page + 1) * size;
+        PriorityQueue<Integer> heap = new PriorityQueue<>(limit + 1,
+            (a, b) -> relevance[a] != relevance[b] ? Float.compare(relevance[a], relevance[b]) : Integer.compare(a, b));
+        for (int id = matches.nextSetBit(0); id >= 0; id = matches.nextSetBit(id + 1)) {
+            heap.offer(id);
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+        int[] ranked = new int[heap.size()];
+        for (int i = ranked.length - 1; i >= 0; i--) {
+            ranked[i] = heap.poll();
+        }
+        int from = Math.min(page * size, ranked.length);
+        return Arrays.copyOfRange(ranked, from, ranked.length);
+    }
+
+    private void index(StoredAnalysis stored, long offset, int length) {
+        if (count == offsets.length) {
+            offsets = Arrays.copyOf(offsets, count * 2);
+            lengths = Arrays.copyOf(lengths, count * 2);
+        }
+        offsets[count] = offset;
+        lengths[count] = length;
+        List<ResumeTag> tags = stored.getAnalysis() == null ? null : stored.getAnalysis().getTags();
+        if (tags != null) {
+            index.add(count, tags);
+        }
+        vectors.add(count, tags);
+        if (stored.getSignature() != null && stored.getSignature().length == MinHash.SIZE) {
+            nearDuplicates.add(count, stored.getSignature());
+        }
+        if (stored.getContentKey() != null) {
+            idsByContentKey.put(stored.getContentKey(), count);
+        }
+        count++;
+    }
+
+    private StoredAnalysis read(int id) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(lengths[id]);
+        long position = offsets[id];
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Analysis store is truncated at record " + id);
+            }
+        }
+        return objectMapper.readValue(buffer.array(), StoredAnalysis.class);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.springboot.resumeanalyzer.service.store;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+
+/**
+ * MinHash signatures of resume text, for finding resumes whose text is nearly
+ * the same although their files differ (re-exported, re-saved or printed to
+ * PDF).
+ *
+ * <p>The text is NFKC-normalised, lower-cased and reduced to its letters and
+ * digits, so differences in whitespace, line breaks, bullets, punctuation and
+ * ligatures between PDF producers disappear. Its overlapping
+ * {@value #SHINGLE_LENGTH}-character shingles are hashed once, and each of the
+ * {@value #SIZE} signature values is the minimum of those hashes under its own
+ * mix function. The fraction of equal values estimates the Jaccard similarity
+ * of the shingle sets.
+ *
+ * <p>Signatures are persisted by {@link AnalysisStore}; changing the
+ * normalisation, shingle length, size or seeds invalidates stored ones.
+ */
+public final class MinHash {
+    public static final int SIZE = 128;
+    static final int SHINGLE_LENGTH = 8;
+
+    private static final long[] SEEDS = new long[SIZE];
+
+    static {
+        long seed = 0x5DEECE66DL;
+        for (int i = 0; i < SIZE; i++) {
+            seed += 0x9E3779B97F4A7C15L;
+            SEEDS[i] = mix(seed);
+        }
+    }
+
+    private MinHash() {
+    }
+
+    /**
+     * Returns the signature of the text, or null if it has no letters or
+     * digits.
+     */
+    public static int[] signature(String text) {
+        String normalized = normalize(text);
+        if (normalized.isEmpty()) {
+            return null;
+        }
+        int[] signature = new int[SIZE];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        int shingles = Math.max(1, normalized.length() - SHINGLE_LENGTH + 1);
+        for (int start = 0; start < shingles; start++) {
+            long hash = shingleHash(normalized, start, Math.min(normalized.length(), start + SHINGLE_LENGTH));
+            for (int i = 0; i < SIZE; i++) {
+                int value = (int) (mix(hash ^ SEEDS[i]) >>> 32);
+                if (value < signature[i]) {
+                    signature[i] = value;
+                }
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * Estimated Jaccard similarity of the texts behind two signatures.
+     */
+    public static double similarity(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < SIZE; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / SIZE;
+    }
+
+    static String normalize(String text) {
+        String nfkc = Normalizer.normalize(text, Normalizer.Form.NFKC);
+        StringBuilder normalized = new StringBuilder(nfkc.length());
+        nfkc.codePoints()
+            .filter(Character::isLetterOrDigit)
+            .map(Character::toLowerCase)
+            .forEach(normalized::appendCodePoint);
+        return normalized.toString();
+    }
+
+    // FNV-1a over the shingle's chars
+    private static long shingleHash(String text, int from, int to) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = from; i < to; i++) {
+            hash ^= text.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,70 @@
+package com.springboot.resumeanalyzer.service.store;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Locality-sensitive hashing over {@link MinHash} signatures: each signature
+ * is cut into {@value #BANDS} bands of {@value #ROWS} values, and documents
+ * whose signatures agree on all values of any band share that band's bucket.
+ * Documents with a Jaccard similarity {@code s} become candidates with
+ * probability {@code 1 - (1 - s^8)^16}, which is above 99% from about 0.85
+ * and about 1% at 0.4, so a lookup only has to verify a handful of documents.
+ *
+ * <p>Only the band keys are kept in memory; {@link AnalysisStore} verifies
+ * candidates against the signatures in their stored records. Not thread-safe;
+ * the store guards it with its read/write lock.
+ */
+class NearDuplicateIndex {
+    static final int BANDS = 16;
+    static final int ROWS = MinHash.SIZE / BANDS;
+
+    private final List<Map<Long, int[]>> buckets = new ArrayList<>(BANDS);
+
+    NearDuplicateIndex() {
+        for (int band = 0; band < BANDS; band++) {
+            buckets.add(new HashMap<>());
+        }
+    }
+
+    void add(int docId, int[] signature) {
+        for (int band = 0; band < BANDS; band++) {
+            buckets.get(band).merge(bandKey(signature, band), new int[] {docId}, NearDuplicateIndex::append);
+        }
+    }
+
+    /**
+     * Ids of the documents sharing at least one band with the signature, in
+     * ascending order.
+     */
+    int[] candidates(int[] signature) {
+        BitSet candidates = new BitSet();
+        for (int band = 0; band < BANDS; band++) {
+            int[] ids = buckets.get(band).get(bandKey(signature, band));
+            if (ids != null) {
+                for (int id : ids) {
+                    candidates.set(id);
+                }
+            }
+        }
+        return candidates.stream().toArray();
+    }
+
+    private static int[] append(int[] ids, int[] added) {
+        int[] merged = Arrays.copyOf(ids, ids.length + added.length);
+        System.arraycopy(added, 0, merged, ids.length, added.length);
+        return merged;
+    }
+
+    private static long bandKey(int[] signature, int band) {
+        long key = band;
+        for (int i = band * ROWS, end = i + ROWS; i < end; i++) {
+            key = key * 0x100000001b3L + signature[i];
+        }
+        return key;
+    }
+}
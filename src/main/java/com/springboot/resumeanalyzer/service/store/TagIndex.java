@@ -0,0 +1,125 @@
+package com.springboot.resumeanalyzer.service.store;
+
+import com.springboot.resumeanalyzer.model.ResumeTag;
+import com.springboot.resumeanalyzer.model.TagClause;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * In-memory inverted index from tag (name, type) to the documents carrying it.
+ *
+ * <p>Each posting list stores document ids, scores and confidences in parallel
+ * primitive arrays, so a clause is answered by one sequential scan over the
+ * postings of its term with the range bounds checked inline. A second set of
+ * posting lists per tag type answers clauses that give a type but no name.
+ * Not thread-safe; {@link AnalysisStore} guards it with a read/write lock.
+ */
+class TagIndex {
+    private static final byte NO_SCORE = -1;
+
+    private final Map<String, Map<ResumeTag.TagType, Postings>> byName = new HashMap<>();
+    private final Map<ResumeTag.TagType, Postings> byType = new EnumMap<>(ResumeTag.TagType.class);
+
+    void add(int docId, List<ResumeTag> tags) {
+        for (ResumeTag tag : tags) {
+            if (tag.getName() == null || tag.getType() == null) {
+                continue;
+            }
+            byte score = tag.getScore() == null ? NO_SCORE : (byte) Math.max(0, Math.min(100, tag.getScore()));
+            float confidence = (float) tag.getConfidence();
+            byName.computeIfAbsent(normalize(tag.getName()), name -> new EnumMap<>(ResumeTag.TagType.class))
+                .computeIfAbsent(tag.getType(), type -> new Postings())
+                .add(docId, score, confidence);
+            byType.computeIfAbsent(tag.getType(), type -> new Postings()).add(docId, score, confidence);
+        }
+    }
+
+    /**
+     * Sets the bit of every document matching the clause. If {@code relevance}
+     * is given, the score of each matching tag is added to its document's slot.
+     */
+    BitSet match(TagClause clause, int docCount, float[] relevance) {
+        BitSet matches = new BitSet(docCount);
+        if (clause.getName() == null || clause.getName().isBlank()) {
+            if (clause.getType() == null) {
+                throw new IllegalArgumentException("A tag clause needs a name or a type");
+            }
+            scan(byType.get(clause.getType()), clause, matches, relevance);
+            return matches;
+        }
+        Map<ResumeTag.TagType, Postings> postings = byName.get(normalize(clause.getName()));
+        if (postings == null) {
+            return matches;
+        }
+        if (clause.getType() != null) {
+            scan(postings.get(clause.getType()), clause, matches, relevance);
+        } else {
+            postings.values().forEach(p -> scan(p, clause, matches, relevance));
+        }
+        return matches;
+    }
+
+    int termCount() {
+        return byName.size();
+    }
+
+    private static void scan(Postings postings, TagClause clause, BitSet matches, float[] relevance) {
+        if (postings == null) {
+            return;
+        }
+        int minScore = clause.getMinScore() == null ? Integer.MIN_VALUE : clause.getMinScore();
+        int maxScore = clause.getMaxScore() == null ? Integer.MAX_VALUE : clause.getMaxScore();
+        boolean scoreBounded = clause.getMinScore() != null || clause.getMaxScore() != null;
+        double minConfidence = clause.getMinConfidence() == null ? Double.NEGATIVE_INFINITY : clause.getMinConfidence();
+        double maxConfidence = clause.getMaxConfidence() == null ? Double.POSITIVE_INFINITY : clause.getMaxConfidence();
+
+        int[] docs = postings.docs;
+        byte[] scores = postings.scores;
+        float[] confidences = postings.confidences;
+        for (int i = 0; i < postings.size; i++) {
+            int score = scores[i];
+            // A tag without a score never satisfies a score bound
+            if (scoreBounded && (score == NO_SCORE || score < minScore || score > maxScore)) {
+                continue;
+            }
+            float confidence = confidences[i];
+            if (confidence < minConfidence || confidence > maxConfidence) {
+                continue;
+            }
+            matches.set(docs[i]);
+            if (relevance != null) {
+                relevance[docs[i]] += score == NO_SCORE ? confidence : score * confidence;
+            }
+        }
+    }
+
+    static String normalize(String name) {
+        return name.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Postings {
+        int[] docs = new int[4];
+        byte[] scores = new byte[4];
+        float[] confidences = new float[4];
+        int size;
+
+        void add(int docId, byte score, float confidence) {
+            if (size == docs.length) {
+                int capacity = size + (size >> 1);
+                docs = Arrays.copyOf(docs, capacity);
+                scores = Arrays.copyOf(scores, capacity);
+                confidences = Arrays.copyOf(confidences, capacity);
+            }
+            docs[size] = docId;
+            scores[size] = score;
+            confidences[size] = confidence;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.springboot.resumeanalyzer.service.text;
+
+/**
+ * Output of {@link ResumeTextPreprocessor} with the token accounting for the
+ * request.
+ */
+public record PreprocessedText(String text, int originalTokens, int tokens, boolean truncated) {
+
+    public int tokensSaved() {
+        return originalTokens - tokens;
+    }
+}
@@ -0,0 +1,185 @@
+package com.springboot.resumeanalyzer.service.text;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Splits long resumes into chunks that can be analyzed independently.
+ *
+ * <p>Text above {@code analysis.chunking.threshold-tokens} is cut along section
+ * boundaries and consecutive sections are packed into chunks of at most
+ * {@code analysis.chunking.chunk-tokens}. A section too large for one chunk is
+ * cut between paragraphs, then between lines, and every piece repeats the
+ * section heading so the model knows what it is reading. The header section
+ * with the name and contact details always lands in the first chunk.
+ *
+ * <p>With {@code analysis.incremental.enabled} (off by default) every resume
+ * is instead cut into one part per section by {@link #splitSections(String)}.
+ * A part's cache key only depends on its own text, so a revised resume only
+ * sends its new or changed sections upstream and reuses the cached results of
+ * the others. This costs a request and a system prompt per part on every
+ * first upload, so it only pays off where revised resumes are common.
+ */
+@Component
+public class ResumeChunker {
+    private static final Pattern PARAGRAPH_BREAK = Pattern.compile("\\n\\s*\\n");
+
+    private final boolean enabled;
+    private final int thresholdTokens;
+    private final int chunkTokens;
+    private final int tokenBudget;
+    private final boolean incremental;
+    private final int minSectionTokens;
+
+    public ResumeChunker(@Value("${analysis.chunking.enabled:true}") boolean enabled,
+                         @Value("${analysis.chunking.threshold-tokens:4000}") int thresholdTokens,
+                         @Value("${analysis.chunking.chunk-tokens:2500}") int chunkTokens,
+                         @Value("${analysis.chunking.token-budget:24000}") int tokenBudget,
+                         @Value("${analysis.incremental.enabled:false}") boolean incremental,
+                         @Value("${analysis.incremental.min-section-tokens:150}") int minSectionTokens) {
+        if (chunkTokens <= 0 || thresholdTokens < chunkTokens) {
+            throw new IllegalStateException("analysis.chunking.threshold-tokens must be at least chunk-tokens");
+        }
+        this.enabled = enabled;
+        this.thresholdTokens = thresholdTokens;
+        this.chunkTokens = chunkTokens;
+        this.tokenBudget = tokenBudget;
+        this.incremental = incremental;
+        this.minSectionTokens = minSectionTokens;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    /**
+     * Total tokens a chunked analysis may send upstream; longer text is
+     * trimmed by the preprocessor before chunking.
+     */
+    public int getTokenBudget() {
+        return tokenBudget;
+    }
+
+    /**
+     * Returns the chunks of {@code text}, or just {@code text} when chunking
+     * is disabled or the text is under the threshold.
+     */
+    public List<String> split(String text) {
+        if (!enabled || TokenEstimator.estimate(text) <= thresholdTokens) {
+            return List.of(text);
+        }
+        List<String> chunks = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        int currentTokens = 0;
+        for (ResumeSection section : ResumeSections.split(text)) {
+            for (String piece : pieces(section)) {
+                int pieceTokens = TokenEstimator.estimate(piece);
+                if (current.length() > 0 && currentTokens + pieceTokens > chunkTokens) {
+                    chunks.add(current.toString());
+                    current.setLength(0);
+                    currentTokens = 0;
+                }
+                if (current.length() > 0) {
+                    current.append("\n\n");
+                }
+                current.append(piece);
+                currentTokens += pieceTokens;
+            }
+        }
+        if (current.length() > 0) {
+            chunks.add(current.toString());
+        }
+        return chunks;
+    }
+
+    /**
+     * Returns one part per section of {@code text}, in document order. Sections
+     * larger than a chunk are cut like in {@link #split(String)}. Sections under
+     * {@code analysis.incremental.min-section-tokens} are joined to the next
+     * one (the last to the previous one), which keeps the header with the
+     * contact details in the first part and avoids a request per one-line
+     * section. No part is joined beyond {@code analysis.chunking.chunk-tokens}.
+     * Returns just {@code text} when chunking is disabled.
+     */
+    public List<String> splitSections(String text) {
+        if (!enabled) {
+            return List.of(text);
+        }
+        List<String> parts = new ArrayList<>();
+        String pending = null;
+        for (ResumeSection section : ResumeSections.split(text)) {
+            for (String piece : pieces(section)) {
+                if (pending != null) {
+                    String joined = pending + "\n\n" + piece;
+                    if (TokenEstimator.estimate(joined) <= chunkTokens) {
+                        piece = joined;
+                    } else {
+                        parts.add(pending);
+                    }
+                    pending = null;
+                }
+                if (TokenEstimator.estimate(piece) < minSectionTokens) {
+                    pending = piece;
+                } else {
+                    parts.add(piece);
+                }
+            }
+        }
+        if (pending != null) {
+            String joined = parts.isEmpty() ? null : parts.get(parts.size() - 1) + "\n\n" + pending;
+            if (joined != null && TokenEstimator.estimate(joined) <= chunkTokens) {
+                parts.set(parts.size() - 1, joined);
+            } else {
+                parts.add(pending);
+            }
+        }
+        return parts;
+    }
+
+    private List<String> pieces(ResumeSection section) {
+        String text = section.text();
+        if (TokenEstimator.estimate(text) <= chunkTokens) {
+            return List.of(text);
+        }
+        String prefix = section.heading() == null ? "" : section.heading() + "\n";
+        int budget = Math.max(1, chunkTokens - TokenEstimator.estimate(prefix));
+        List<String> units = new ArrayList<>();
+        for (String paragraph : PARAGRAPH_BREAK.split(section.body())) {
+            if (TokenEstimator.estimate(paragraph) <= budget) {
+                units.add(paragraph);
+            } else {
+                // A single line longer than the budget is kept whole
+                units.addAll(List.of(paragraph.split("\n")));
+            }
+        }
+
+        List<String> pieces = new ArrayList<>();
+        StringBuilder piece = new StringBuilder();
+        int pieceTokens = 0;
+        for (String unit : units) {
+            int unitTokens = TokenEstimator.estimate(unit);
+            if (piece.length() > 0 && pieceTokens + unitTokens > budget) {
+                pieces.add(prefix + piece);
+                piece.setLength(0);
+                pieceTokens = 0;
+            }
+            if (piece.length() > 0) {
+                piece.append('\n');
+            }
+            piece.append(unit);
+            pieceTokens += unitTokens;
+        }
+        if (piece.length() > 0) {
+            pieces.add(prefix + piece);
+        }
+        return pieces;
+    }
+}
@@ -0,0 +1,24 @@
+package com.springboot.resumeanalyzer.service.text;
+
+/**
+ * A contiguous block of resume text under one heading. {@code heading} is null
+ * for the leading block that usually holds the name and contact details.
+ */
+public record ResumeSection(Type type, String heading, String body) {
+
+    public enum Type {
+        HEADER,
+        SUMMARY,
+        SKILLS,
+        EXPERIENCE,
+        PROJECTS,
+        EDUCATION,
+        AWARDS,
+        INTERESTS,
+        OTHER
+    }
+
+    public String text() {
+        return heading == null ? body : heading + "\n" + body;
+    }
+}
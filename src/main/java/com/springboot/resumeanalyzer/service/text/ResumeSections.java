@@ -0,0 +1,82 @@
+package com.springboot.resumeanalyzer.service.text;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Splits resume text into sections by recognising common Chinese and English
+ * headings on their own line.
+ */
+public final class ResumeSections {
+    private static final int MAX_HEADING_LENGTH = 30;
+    private static final Pattern HEADING_SUFFIX = Pattern.compile("[\\s:：]*$");
+
+    // A heading line must match one of these exactly, ignoring case and a trailing colon
+    private static final Map<ResumeSection.Type, List<String>> HEADINGS = Map.of(
+        ResumeSection.Type.SUMMARY, List.of("个人简介", "自我评价", "个人总结", "个人优势", "summary", "profile", "about me", "objective"),
+        ResumeSection.Type.SKILLS, List.of("专业技能", "技能", "技术栈", "skills", "technical skills"),
+        ResumeSection.Type.EXPERIENCE, List.of("工作经历", "工作经验", "实习经历", "职业经历", "experience", "work experience", "employment", "work history"),
+        ResumeSection.Type.PROJECTS, List.of("项目经历", "项目经验", "项目", "projects", "project experience"),
+        ResumeSection.Type.EDUCATION, List.of("教育背景", "教育经历", "学历", "education"),
+        ResumeSection.Type.AWARDS, List.of("获奖", "荣誉", "证书", "awards", "honors", "certifications"),
+        ResumeSection.Type.INTERESTS, List.of("兴趣爱好", "爱好", "hobbies", "interests")
+    );
+
+    private ResumeSections() {
+    }
+
+    public static List<ResumeSection> split(String text) {
+        List<ResumeSection> sections = new ArrayList<>();
+        ResumeSection.Type currentType = ResumeSection.Type.HEADER;
+        String currentHeading = null;
+        StringBuilder body = new StringBuilder();
+
+        for (String line : text.split("\n", -1)) {
+            ResumeSection.Type headingType = headingType(line);
+            if (headingType != null) {
+                if (currentHeading != null || body.length() > 0) {
+                    sections.add(new ResumeSection(currentType, currentHeading, body.toString().strip()));
+                }
+                currentType = headingType;
+                currentHeading = line.strip();
+                body.setLength(0);
+            } else {
+                body.append(line).append('\n');
+            }
+        }
+        if (currentHeading != null || body.length() > 0) {
+            sections.add(new ResumeSection(currentType, currentHeading, body.toString().strip()));
+        }
+        return sections;
+    }
+
+    public static String join(List<ResumeSection> sections) {
+        StringBuilder text = new StringBuilder();
+        for (ResumeSection section : sections) {
+            if (text.length() > 0) {
+                text.append("\n\n");
+            }
+            text.append(section.text());
+        }
+        return text.toString();
+    }
+
+    public static ResumeSection.Type headingType(String line) {
+        String candidate = line.strip();
+        if (candidate.isEmpty() || candidate.length() > MAX_HEADING_LENGTH) {
+            return null;
+        }
+        candidate = HEADING_SUFFIX.matcher(candidate.toLowerCase(Locale.ROOT)).replaceAll("");
+        for (ResumeSection.Type type : ResumeSection.Type.values()) {
+            for (String heading : HEADINGS.getOrDefault(type, List.of())) {
+                if (candidate.equals(heading)) {
+                    return type;
+                }
+            }
+        }
+        return null;
+    }
+}
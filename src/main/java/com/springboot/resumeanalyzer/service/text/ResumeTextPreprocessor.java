@@ -0,0 +1,265 @@
+package com.springboot.resumeanalyzer.service.text;
+
+import com.springboot.resumeanalyzer.service.pdf.PdfTextExtractor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Compacts extracted resume text before it is sent to the LLM: normalizes
+ * whitespace, removes page numbers and headers/footers repeated on most pages,
+ * drops lines that immediately repeat the previous one and, when the estimated token count exceeds
+ * {@code preprocess.token-budget}, trims the lowest priority sections first.
+ */
+@Component
+public class ResumeTextPreprocessor {
+    private static final Logger logger = LoggerFactory.getLogger(ResumeTextPreprocessor.class);
+
+    private static final Pattern HORIZONTAL_WHITESPACE = Pattern.compile("[\\t\\x0B\\u00A0\\u3000 ]+");
+    private static final Pattern PAGE_NUMBER = Pattern.compile(
+        "^(?:(?:page|p\\.)\\s*)?[-–—]?\\s*\\d{1,3}\\s*[-–—]?(?:\\s*(?:/|of)\\s*\\d{1,3})?$|^第\\s*\\d{1,3}\\s*页(?:\\s*[/，,]?\\s*共\\s*\\d{1,3}\\s*页)?$",
+        Pattern.CASE_INSENSITIVE);
+    // A page counter at the end of a header/footer line, e.g. "Resume - 2/3" or "简历 第2页"
+    private static final Pattern TRAILING_PAGE_COUNTER = Pattern.compile(
+        "(?:(?<![\\d.:/\\-])\\d{1,3}(?:\\s*(?:/|of)\\s*\\d{1,3})?|第\\s*\\d{1,3}\\s*页(?:\\s*[/，,]?\\s*共\\s*\\d{1,3}\\s*页)?)$",
+        Pattern.CASE_INSENSITIVE);
+    // Lines this short are usually list items, keep repeats of them
+    private static final int MIN_DEDUPE_LENGTH = 4;
+    // How many lines at each end of a page are considered header/footer candidates
+    private static final int EDGE_LINES = 2;
+
+    // Lower value = kept longer when the budget is exceeded
+    private static final Map<ResumeSection.Type, Integer> PRIORITY = Map.of(
+        ResumeSection.Type.HEADER, 0,
+        ResumeSection.Type.SKILLS, 1,
+        ResumeSection.Type.EXPERIENCE, 2,
+        ResumeSection.Type.PROJECTS, 3,
+        ResumeSection.Type.EDUCATION, 4,
+        ResumeSection.Type.SUMMARY, 5,
+        ResumeSection.Type.AWARDS, 6,
+        ResumeSection.Type.OTHER, 7,
+        ResumeSection.Type.INTERESTS, 8
+    );
+
+    private final boolean enabled;
+    private final int tokenBudget;
+
+    public ResumeTextPreprocessor(@Value("${preprocess.enabled:true}") boolean enabled,
+                                  @Value("${preprocess.token-budget:6000}") int tokenBudget) {
+        this.enabled = enabled;
+        this.tokenBudget = tokenBudget;
+    }
+
+    public PreprocessedText process(String raw) {
+        return process(raw, tokenBudget);
+    }
+
+    /**
+     * Like {@link #process(String)} with a caller-chosen token budget, for
+     * callers that can handle more than one request's worth of text.
+     */
+    public PreprocessedText process(String raw, int tokenBudget) {
+        int originalTokens = TokenEstimator.estimate(raw);
+        if (!enabled) {
+            return new PreprocessedText(raw, originalTokens, originalTokens, false);
+        }
+
+        List<List<String>> pages = new ArrayList<>();
+        for (String page : raw.split(PdfTextExtractor.PAGE_SEPARATOR, -1)) {
+            List<String> lines = normalizeLines(page);
+            removePageNumbers(lines);
+            pages.add(lines);
+        }
+        removeRepeatedPageEdges(pages);
+
+        List<String> lines = dedupe(pages);
+        String text = String.join("\n", lines);
+        boolean truncated = false;
+        if (TokenEstimator.estimate(text) > tokenBudget) {
+            text = fitToBudget(text, tokenBudget);
+            truncated = true;
+        }
+
+        PreprocessedText result = new PreprocessedText(text, originalTokens, TokenEstimator.estimate(text), truncated);
+        logger.info("Preprocessed resume: ~{} -> ~{} tokens (saved ~{}){}", result.originalTokens(), result.tokens(),
+                   result.tokensSaved(), truncated ? ", truncated to budget" : "");
+        return result;
+    }
+
+    private List<String> normalizeLines(String page) {
+        List<String> lines = new ArrayList<>();
+        boolean previousBlank = true;
+        for (String line : page.split("\\r?\\n")) {
+            String normalized = HORIZONTAL_WHITESPACE.matcher(line).replaceAll(" ").strip();
+            boolean blank = normalized.isEmpty();
+            // Keep at most one blank line in a row, paragraphs still matter for section splitting
+            if (blank && previousBlank) {
+                continue;
+            }
+            lines.add(normalized);
+            previousBlank = blank;
+        }
+        return lines;
+    }
+
+    /**
+     * Removes a page number standing alone on the first or last line of the
+     * page. Elsewhere a lone number is content, e.g. years of experience.
+     */
+    private void removePageNumbers(List<String> page) {
+        List<Integer> edges = edgeIndices(page, 1);
+        for (int i = edges.size() - 1; i >= 0; i--) {
+            int index = edges.get(i);
+            if (PAGE_NUMBER.matcher(page.get(index)).matches()) {
+                page.remove(index);
+            }
+        }
+    }
+
+    /**
+     * Removes lines that appear near the top or bottom of most pages, and only
+     * there. Lines are compared as written except for a trailing page counter,
+     * so "Resume - 2/3" and "Resume - 3/3" count as the same line while date
+     * ranges such as "2019.03 - 2021.06" stay distinct.
+     */
+    private void removeRepeatedPageEdges(List<List<String>> pages) {
+        if (pages.size() < 2) {
+            return;
+        }
+        Map<String, Integer> edgeCounts = new HashMap<>();
+        for (List<String> page : pages) {
+            Set<String> seen = new HashSet<>();
+            for (int index : edgeIndices(page, EDGE_LINES)) {
+                String key = mask(page.get(index));
+                if (seen.add(key)) {
+                    edgeCounts.merge(key, 1, Integer::sum);
+                }
+            }
+        }
+        int threshold = Math.max(2, (int) Math.ceil(pages.size() * 0.6));
+        Set<String> repeated = new HashSet<>();
+        edgeCounts.forEach((line, count) -> {
+            if (count >= threshold) {
+                repeated.add(line);
+            }
+        });
+        if (repeated.isEmpty()) {
+            return;
+        }
+        for (List<String> page : pages) {
+            List<Integer> edges = edgeIndices(page, EDGE_LINES);
+            for (int i = edges.size() - 1; i >= 0; i--) {
+                int index = edges.get(i);
+                if (repeated.contains(mask(page.get(index)))) {
+                    page.remove(index);
+                }
+            }
+        }
+    }
+
+    /**
+     * Positions of the first and last {@code count} non-blank lines of the
+     * page, in ascending order.
+     */
+    private List<Integer> edgeIndices(List<String> page, int count) {
+        List<Integer> nonBlank = new ArrayList<>();
+        for (int i = 0; i < page.size(); i++) {
+            if (!page.get(i).isEmpty()) {
+                nonBlank.add(i);
+            }
+        }
+        if (nonBlank.size() <= count * 2) {
+            return nonBlank;
+        }
+        List<Integer> edges = new ArrayList<>(nonBlank.subList(0, count));
+        edges.addAll(nonBlank.subList(nonBlank.size() - count, nonBlank.size()));
+        return edges;
+    }
+
+    private String mask(String line) {
+        return TRAILING_PAGE_COUNTER.matcher(line).replaceFirst("#");
+    }
+
+    /**
+     * Joins the pages, dropping a line that repeats the previous non-blank line,
+     * as PDF producers that draw bold text twice leave behind. Repeats further
+     * apart, such as a second job with the same title, are content and stay.
+     */
+    private List<String> dedupe(List<List<String>> pages) {
+        List<String> lines = new ArrayList<>();
+        String previous = null;
+        for (List<String> page : pages) {
+            for (String line : page) {
+                if (line.length() >= MIN_DEDUPE_LENGTH && line.equals(previous)) {
+                    continue;
+                }
+                if (!line.isEmpty()) {
+                    previous = line;
+                }
+                if (line.isEmpty() && (lines.isEmpty() || lines.get(lines.size() - 1).isEmpty())) {
+                    continue;
+                }
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Shrinks or drops sections, lowest priority first, until the estimate fits
+     * the budget. Sections keep their original order in the output.
+     */
+    private String fitToBudget(String text, int tokenBudget) {
+        List<ResumeSection> sections = new ArrayList<>(ResumeSections.split(text));
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < sections.size(); i++) {
+            order.add(i);
+        }
+        order.sort(Comparator.comparing((Integer i) -> PRIORITY.get(sections.get(i).type())).reversed()
+            .thenComparing(Comparator.reverseOrder()));
+
+        int total = TokenEstimator.estimate(text);
+        for (int index : order) {
+            if (total <= tokenBudget) {
+                break;
+            }
+            ResumeSection section = sections.get(index);
+            int sectionTokens = TokenEstimator.estimate(section.text());
+            int allowed = sectionTokens - (total - tokenBudget);
+            if (allowed <= 0) {
+                sections.set(index, null);
+                total -= sectionTokens;
+            } else {
+                String body = truncateToTokens(section.body(), allowed - TokenEstimator.estimate(
+                    section.heading() == null ? "" : section.heading()));
+                sections.set(index, new ResumeSection(section.type(), section.heading(), body));
+                total -= sectionTokens - TokenEstimator.estimate(sections.get(index).text());
+            }
+        }
+        return ResumeSections.join(sections.stream().filter(s -> s != null).toList());
+    }
+
+    private String truncateToTokens(String text, int maxTokens) {
+        if (maxTokens <= 0) {
+            return "";
+        }
+        // Cut on the budget ratio first, then back off to a line boundary
+        int end = (int) ((long) text.length() * maxTokens / Math.max(1, TokenEstimator.estimate(text)));
+        end = Math.min(end, text.length());
+        int lineEnd = text.lastIndexOf('\n', end);
+        if (lineEnd > end / 2) {
+            end = lineEnd;
+        }
+        return text.substring(0, end).strip();
+    }
+}
@@ -0,0 +1,120 @@
+package com.springboot.resumeanalyzer.service.warmup;
+
+import com.springboot.resumeanalyzer.model.ResumeAnalysis;
+import com.springboot.resumeanalyzer.service.ResumeAnalyzerService;
+import com.springboot.resumeanalyzer.service.llm.LlmProvider;
+import com.springboot.resumeanalyzer.service.llm.LlmRouter;
+import com.springboot.resumeanalyzer.service.pdf.PdfTextExtractor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs the upload pipeline once before the application takes traffic, so the
+ * first requests after a restart do not pay for lazy initialization:
+ * <ul>
+ *   <li>PDFBox class loading, the system font scan behind font fallback and
+ *   the predefined Chinese CMaps, by extracting {@code warmup/resume.pdf},
+ *   which is set in a non-embedded Chinese font;</li>
+ *   <li>Jackson (de)serializers, the request codecs and the streaming parser,
+ *   by passing the extracted text and {@code warmup/completion.json} to
+ *   {@link ResumeAnalyzerService#warmUp};</li>
+ *   <li>the TLS connection to every LLM provider, which the shared HttpClient
+ *   keeps for the first real call.</li>
+ * </ul>
+ * Spring Boot only reports the application ready ({@code /actuator/health/readiness})
+ * once all application runners have returned, so the readiness probe stays down
+ * until warm-up completes. A failing step is logged and does not stop startup;
+ * connections that are not open within {@code warmup.connect-timeout} are left
+ * to the first request.
+ */
+@Component
+public class StartupWarmup implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(StartupWarmup.class);
+
+    @Autowired
+    private PdfTextExtractor pdfTextExtractor;
+
+    @Autowired
+    private ResumeAnalyzerService analyzerService;
+
+    @Autowired
+    private LlmRouter router;
+
+    @Value("${warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${warmup.connect-timeout:10s}")
+    private Duration connectTimeout;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        // Connections are set up in the background while the local steps run
+        List<CompletableFuture<Void>> connections = new ArrayList<>();
+        for (LlmProvider provider : router.getProviders().values()) {
+            connections.add(provider.warmUp().exceptionally(e -> {
+                logger.warn("Could not open connection to LLM provider {}: {}", provider.getName(), e.toString());
+                return null;
+            }));
+        }
+
+        try {
+            String text = timed("pdf", () -> {
+                try (InputStream pdf = new ClassPathResource("warmup/resume.pdf").getInputStream()) {
+                    return pdfTextExtractor.extract(pdf);
+                }
+            });
+            String completion = new ClassPathResource("warmup/completion.json").getContentAsString(StandardCharsets.UTF_8);
+            ResumeAnalysis analysis = timed("analysis", () -> analyzerService.warmUp(text, completion));
+            logger.debug("Warm-up analysis: {}", analysis);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Warm-up of the analysis pipeline failed", e);
+        }
+
+        long connecting = System.nanoTime();
+        try {
+            CompletableFuture.allOf(connections.toArray(CompletableFuture[]::new))
+                .get(connectTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            logger.info("Warm-up step connections took {} ms", (System.nanoTime() - connecting) / 1_000_000);
+        } catch (TimeoutException e) {
+            logger.warn("LLM provider connections not open after {}, continuing", connectTimeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            logger.warn("LLM provider connection warm-up failed", e.getCause());
+        }
+        logger.info("Warm-up completed in {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private <T> T timed(String step, WarmupStep<T> work) throws IOException {
+        long start = System.nanoTime();
+        T result = work.run();
+        logger.info("Warm-up step {} took {} ms", step, (System.nanoTime() - start) / 1_000_000);
+        return result;
+    }
+
+    @FunctionalInterface
+    private interface WarmupStep<T> {
+        T run() throws IOException;
+    }
+}
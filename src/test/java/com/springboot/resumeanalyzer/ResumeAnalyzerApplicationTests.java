@@ -3,7 +3,7 @@ package com.springboot.resumeanalyzer;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "warmup.enabled=false")
 class ResumeAnalyzerApplicationTests {
 
     @Test
@@ -0,0 +1,338 @@
+package com.springboot.resumeanalyzer.service.admission;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MultipartUploadParserTests {
+    private static final String BOUNDARY = "----boundary42";
+
+    @TempDir
+    Path tempDir;
+
+    private final UploadAdmission admission = new UploadAdmission(DataSize.ofMegabytes(10), DataSize.ofMegabytes(100),
+        DataSize.ofMegabytes(20), 100, Duration.ofSeconds(5));
+
+    @Test
+    void spoolsFilesSniffsTypeAndKeepsFields() throws Exception {
+        // Large enough to cross several read buffers, with delimiter look-alikes inside
+        byte[] pdf = pdf(300_000);
+        byte[] body = new Body()
+            .field("mode", "hybrid")
+            .file("file", "简历.pdf", "application/octet-stream", pdf)
+            .build();
+        MockHttpServletRequest request = request(body);
+        request.setQueryString("priority=5");
+
+        MultipartUploadParser.AdmittedMultipartRequest parsed;
+        try (UploadAdmission.Reservation reservation = admission.reserve("client", -1)) {
+            parsed = parser().parse(request, EnumSet.of(FileMagic.PDF), true, reservation);
+            assertEquals(body.length, reservation.getBytes());
+        }
+
+        MultipartFile file = parsed.getFile("file");
+        assertNotNull(file);
+        assertEquals("简历.pdf", file.getOriginalFilename());
+        assertEquals("application/pdf", file.getContentType());
+        assertArrayEquals(pdf, file.getBytes());
+        assertEquals("hybrid", parsed.getParameter("mode"));
+        assertEquals("5", parsed.getParameter("priority"));
+
+        parsed.cleanup();
+        try (var files = Files.list(tempDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void rejectsOrDropsFilesWithoutAcceptedMagic() throws Exception {
+        byte[] body = new Body().file("file", "resume.pdf", "application/pdf", "<html>not a pdf".getBytes()).build();
+
+        try (UploadAdmission.Reservation reservation = admission.reserve("client", body.length)) {
+            UploadRejectedException e = assertThrows(UploadRejectedException.class,
+                () -> parser().parse(request(body), EnumSet.of(FileMagic.PDF), true, reservation));
+            assertEquals(415, e.getStatus());
+        }
+        try (var files = Files.list(tempDir)) {
+            assertEquals(0, files.count());
+        }
+
+        byte[] zip = {'P', 'K', 3, 4, 0, 0};
+        byte[] batch = new Body()
+            .file("files", "a.zip", "application/octet-stream", zip)
+            .file("files", "b.pdf", "application/pdf", "<html>".getBytes())
+            .build();
+        try (UploadAdmission.Reservation reservation = admission.reserve("client", batch.length)) {
+            var parsed = parser().parse(request(batch), Set.of(FileMagic.PDF, FileMagic.ZIP), false, reservation);
+            assertEquals("application/zip", parsed.getFiles("files").get(0).getContentType());
+            assertArrayEquals(zip, parsed.getFiles("files").get(0).getBytes());
+            assertEquals("application/octet-stream", parsed.getFiles("files").get(1).getContentType());
+            assertTrue(parsed.getFiles("files").get(1).isEmpty());
+            parsed.cleanup();
+        }
+    }
+
+    @Test
+    void enforcesSizeLimitsAndClientBudget() throws Exception {
+        byte[] body = new Body().file("file", "big.pdf", "application/pdf", pdf(2_000_000)).build();
+        try (UploadAdmission.Reservation reservation = admission.reserve("client", -1)) {
+            UploadRejectedException e = assertThrows(UploadRejectedException.class,
+                () -> new MultipartUploadParser(tempDir.toString(), DataSize.ofMegabytes(1))
+                    .parse(request(body), EnumSet.of(FileMagic.PDF), true, reservation));
+            assertEquals(413, e.getStatus());
+        }
+
+        assertEquals(413, assertThrows(UploadRejectedException.class,
+            () -> admission.reserve("client", DataSize.ofMegabytes(11).toBytes())).getStatus());
+        UploadAdmission.Reservation first = admission.reserve("client", DataSize.ofMegabytes(9).toBytes());
+        UploadAdmission.Reservation second = admission.reserve("client", DataSize.ofMegabytes(9).toBytes());
+        UploadRejectedException busy = assertThrows(UploadRejectedException.class,
+            () -> admission.reserve("client", DataSize.ofMegabytes(9).toBytes()));
+        assertEquals(429, busy.getStatus());
+        assertEquals(5, busy.getRetryAfterSeconds());
+        admission.reserve("other", DataSize.ofMegabytes(9).toBytes()).close();
+        first.close();
+        second.close();
+        first.close();
+        assertEquals(0, admission.getInFlightBytes());
+    }
+
+    @Test
+    void parsesBodiesArrivingInSmallReads() throws Exception {
+        byte[] pdf = pdf(5_000);
+        byte[] body = new Body()
+            .preamble("ignored preamble\r\n--" + BOUNDARY.substring(0, 6) + "\r\n")
+            .field("mode", "fast")
+            .file("files", "a.pdf", "application/pdf", pdf)
+            .file("files", "b.pdf", "application/pdf", "%PD".getBytes(StandardCharsets.US_ASCII))
+            .build();
+
+        // Delimiters and part headers split at every offset across reads
+        for (int chunk : List.of(1, 2, 3, 5, 7, BOUNDARY.length() + 3, 4096)) {
+            try (UploadAdmission.Reservation reservation = admission.reserve("client", body.length)) {
+                var parsed = parser().parse(trickled(body, chunk), EnumSet.of(FileMagic.PDF), false, reservation);
+                assertEquals("fast", parsed.getParameter("mode"), "chunk " + chunk);
+                assertArrayEquals(pdf, parsed.getFiles("files").get(0).getBytes(), "chunk " + chunk);
+                assertTrue(parsed.getFiles("files").get(1).isEmpty(), "chunk " + chunk);
+                assertEquals("application/octet-stream", parsed.getFiles("files").get(1).getContentType());
+                parsed.cleanup();
+            }
+        }
+    }
+
+    @Test
+    void rejectsTruncatedBodiesAndRemovesTheirParts() throws Exception {
+        byte[] complete = new Body().file("file", "a.pdf", "application/pdf", pdf(10_000)).build();
+        String text = new String(complete, StandardCharsets.ISO_8859_1);
+        List<String> truncated = List.of(
+            text.substring(0, text.length() - ("--" + BOUNDARY + "--\r\n").length()),
+            text.substring(0, text.length() - 4),
+            text.substring(0, 5_000),
+            text.substring(0, text.indexOf("\r\n\r\n") + 2),
+            "no boundary at all",
+            "");
+
+        for (String body : truncated) {
+            try (UploadAdmission.Reservation reservation = admission.reserve("client", -1)) {
+                UploadRejectedException e = assertThrows(UploadRejectedException.class,
+                    () -> parser().parse(trickled(body.getBytes(StandardCharsets.ISO_8859_1), 1000),
+                        EnumSet.of(FileMagic.PDF), true, reservation));
+                assertEquals(400, e.getStatus());
+            }
+        }
+        try (var files = Files.list(tempDir)) {
+            assertEquals(0, files.count());
+        }
+
+        // A closing delimiter without the trailing line break is complete
+        byte[] unterminated = text.substring(0, text.length() - 2).getBytes(StandardCharsets.ISO_8859_1);
+        try (UploadAdmission.Reservation reservation = admission.reserve("client", -1)) {
+            var parsed = parser().parse(request(unterminated), EnumSet.of(FileMagic.PDF), true, reservation);
+            assertEquals(10_000, parsed.getFile("file").getSize());
+            parsed.cleanup();
+        }
+    }
+
+    @Test
+    void rejectsOversizedHeadersAndFields() throws Exception {
+        byte[] headers = new Body()
+            .raw("--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"file\"; filename=\"a.pdf\"\r\n"
+                + "X-Padding: " + "x".repeat(20_000) + "\r\n\r\n%PDF-1.4\r\n")
+            .build();
+        byte[] field = new Body().field("mode", "x".repeat(70_000)).build();
+
+        for (byte[] body : List.of(headers, field)) {
+            try (UploadAdmission.Reservation reservation = admission.reserve("client", -1)) {
+                UploadRejectedException e = assertThrows(UploadRejectedException.class,
+                    () -> parser().parse(request(body), EnumSet.of(FileMagic.PDF), true, reservation));
+                assertEquals(413, e.getStatus());
+            }
+        }
+    }
+
+    @Test
+    void decodesQuotedAndEncodedFilenames() throws Exception {
+        byte[] body = new Body()
+            .part("form-data; name=\"files\"; filename=\"a \\\"b\\\"; c.pdf\"", pdf(100))
+            .part("form-data; name=\"files\"; filename*=UTF-8''%E7%AE%80%E5%8E%86.pdf", pdf(100))
+            .part("form-data; name=files; filename=plain.pdf", pdf(100))
+            .build();
+        try (UploadAdmission.Reservation reservation = admission.reserve("client", -1)) {
+            var parsed = parser().parse(request(body), EnumSet.of(FileMagic.PDF), true, reservation);
+            List<String> names = parsed.getFiles("files").stream().map(MultipartFile::getOriginalFilename).toList();
+            assertEquals(List.of("a \"b\"; c.pdf", "简历.pdf", "plain.pdf"), names);
+            parsed.cleanup();
+        }
+
+        byte[] broken = new Body().part("form-data; name=\"file\"; filename", pdf(100)).build();
+        try (UploadAdmission.Reservation reservation = admission.reserve("client", -1)) {
+            assertEquals(400, assertThrows(UploadRejectedException.class,
+                () -> parser().parse(request(broken), EnumSet.of(FileMagic.PDF), true, reservation)).getStatus());
+        }
+    }
+
+    @Test
+    void findsThePdfHeaderWithinTheFirstKilobyte() throws Exception {
+        byte[] shifted = new byte[2_000];
+        System.arraycopy(pdf(1_000), 0, shifted, 1_000, 1_000);
+        byte[] late = new byte[2_000];
+        System.arraycopy(pdf(900), 0, late, 1_100, 900);
+
+        byte[] body = new Body().file("file", "a.pdf", "application/pdf", shifted).build();
+        try (UploadAdmission.Reservation reservation = admission.reserve("client", -1)) {
+            var parsed = parser().parse(request(body), EnumSet.of(FileMagic.PDF), true, reservation);
+            assertEquals("application/pdf", parsed.getFile("file").getContentType());
+            assertArrayEquals(shifted, parsed.getFile("file").getBytes());
+            parsed.cleanup();
+        }
+
+        byte[] rejected = new Body().file("file", "a.pdf", "application/pdf", late).build();
+        try (UploadAdmission.Reservation reservation = admission.reserve("client", -1)) {
+            assertEquals(415, assertThrows(UploadRejectedException.class,
+                () -> parser().parse(request(rejected), EnumSet.of(FileMagic.PDF), true, reservation)).getStatus());
+        }
+    }
+
+    private MultipartUploadParser parser() {
+        return new MultipartUploadParser(tempDir.toString(), DataSize.ofMegabytes(5));
+    }
+
+    private static MockHttpServletRequest request(byte[] body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/resume/upload");
+        request.setContentType("multipart/form-data; boundary=\"" + BOUNDARY + "\"");
+        request.setContent(body);
+        return request;
+    }
+
+    /**
+     * A request whose body is read at most {@code chunk} bytes at a time.
+     */
+    private static MockHttpServletRequest trickled(byte[] body, int chunk) {
+        ByteArrayInputStream in = new ByteArrayInputStream(body);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/resume/batch") {
+            @Override
+            public ServletInputStream getInputStream() {
+                return new ServletInputStream() {
+                    @Override
+                    public int read() {
+                        return in.read();
+                    }
+
+                    @Override
+                    public int read(byte[] b, int off, int len) {
+                        return in.read(b, off, Math.min(len, chunk));
+                    }
+
+                    @Override
+                    public boolean isFinished() {
+                        return in.available() == 0;
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return true;
+                    }
+
+                    @Override
+                    public void setReadListener(ReadListener listener) {
+                    }
+                };
+            }
+        };
+        request.setContentType("multipart/form-data; boundary=" + BOUNDARY);
+        return request;
+    }
+
+    private static byte[] pdf(int size) {
+        byte[] content = new byte[size];
+        byte[] lookAlike = ("\r\n--" + BOUNDARY.substring(0, BOUNDARY.length() - 1)).getBytes(StandardCharsets.US_ASCII);
+        for (int i = 0; i < size; i++) {
+            content[i] = (byte) (i * 31 + 7);
+        }
+        for (int i = 1000; i + lookAlike.length < size; i += 65_000) {
+            System.arraycopy(lookAlike, 0, content, i, lookAlike.length);
+        }
+        System.arraycopy("%PDF-".getBytes(StandardCharsets.US_ASCII), 0, content, 0, 5);
+        return content;
+    }
+
+    private static final class Body {
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        Body preamble(String text) {
+            write(text);
+            return this;
+        }
+
+        Body raw(String text) {
+            write(text);
+            return this;
+        }
+
+        Body part(String disposition, byte[] content) {
+            write("--" + BOUNDARY + "\r\nContent-Disposition: " + disposition + "\r\n\r\n");
+            out.writeBytes(content);
+            write("\r\n");
+            return this;
+        }
+
+        Body field(String name, String value) {
+            write("--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"" + name + "\"\r\n\r\n" + value + "\r\n");
+            return this;
+        }
+
+        Body file(String name, String filename, String contentType, byte[] content) {
+            write("--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"" + name + "\"; filename=\"" + filename
+                + "\"\r\nContent-Type: " + contentType + "\r\n\r\n");
+            out.writeBytes(content);
+            write("\r\n");
+            return this;
+        }
+
+        byte[] build() {
+            write("--" + BOUNDARY + "--\r\n");
+            return out.toByteArray();
+        }
+
+        private void write(String text) {
+            out.writeBytes(text.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
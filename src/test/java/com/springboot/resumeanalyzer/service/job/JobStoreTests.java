@@ -0,0 +1,56 @@
+package com.springboot.resumeanalyzer.service.job;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.springboot.resumeanalyzer.model.AnalysisJob;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JobStoreTests {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void requeuesOnlyJobsWhoseWorkerStopped() throws IOException {
+        JobStore store = new JobStore(new ObjectMapper(), directory.toString());
+        AnalysisJob job = new AnalysisJob();
+        job.setId(UUID.randomUUID().toString());
+        job.setPriority(50);
+        job.setCreatedAt(System.currentTimeMillis());
+        store.save(job);
+        store.enqueue(job);
+
+        // The job waited in the queue longer than the stale period before it was claimed
+        FileTime enqueued = FileTime.fromMillis(System.currentTimeMillis() - Duration.ofMinutes(30).toMillis());
+        Files.setLastModifiedTime(onlyFile(directory.resolve("queued")), enqueued);
+        assertEquals(Optional.of(job.getId()), store.claimNext());
+        assertEquals(0, store.requeueStale(Duration.ofMinutes(10)));
+
+        // Its worker stops refreshing the marker
+        Files.setLastModifiedTime(onlyFile(directory.resolve("running")), enqueued);
+        assertEquals(1, store.requeueStale(Duration.ofMinutes(10)));
+        assertEquals(1, store.queuedCount());
+
+        assertEquals(Optional.of(job.getId()), store.claimNext());
+        Files.setLastModifiedTime(onlyFile(directory.resolve("running")), enqueued);
+        store.heartbeat(job);
+        assertEquals(0, store.requeueStale(Duration.ofMinutes(10)));
+    }
+
+    private static Path onlyFile(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.findFirst().orElseThrow();
+        }
+    }
+}
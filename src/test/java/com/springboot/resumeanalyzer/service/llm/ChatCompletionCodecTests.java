@@ -0,0 +1,54 @@
+package com.springboot.resumeanalyzer.service.llm;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChatCompletionCodecTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ChatCompletionCodec codec =
+        new ChatCompletionCodec(objectMapper.getFactory(), "deepseek-chat", 0.7, "系统提示\n\"quoted\"");
+
+    @Test
+    void encodesTheSameRequestAsAMapBasedBody() throws Exception {
+        String content = "张三\n\t\"Java\" \\ 工程师\u0001";
+        JsonNode request = objectMapper.readTree(codec.encodeRequest(content, true));
+
+        assertEquals("deepseek-chat", request.get("model").asText());
+        assertEquals(0.7, request.get("temperature").asDouble());
+        assertTrue(request.get("stream").asBoolean());
+        assertEquals("system", request.at("/messages/0/role").asText());
+        assertEquals("系统提示\n\"quoted\"", request.at("/messages/0/content").asText());
+        assertEquals("user", request.at("/messages/1/role").asText());
+        assertEquals(content, request.at("/messages/1/content").asText());
+        assertFalse(objectMapper.readTree(codec.encodeRequest(content, false)).has("stream"));
+    }
+
+    @Test
+    void decodesFirstChoiceAndUsage() throws Exception {
+        String body = """
+            {"id":"x","choices":[{"index":0,"message":{"role":"assistant","content":"{\\"a\\":1}"},"logprobs":null},
+             {"index":1,"message":{"content":"second"}}],
+             "usage":{"prompt_tokens":120,"completion_tokens":45,"total_tokens":165}}""";
+
+        ChatCompletionCodec.ChatCompletion completion = codec.decodeResponse(body);
+
+        assertEquals("{\"a\":1}", completion.content());
+        assertEquals(120, completion.promptTokens());
+        assertEquals(45, completion.completionTokens());
+        assertThrows(MalformedResponseException.class, () -> codec.decodeResponse("{\"choices\":[]}"));
+        RuntimeException error = assertThrows(RuntimeException.class,
+            () -> codec.decodeResponse("{\"error\":{\"message\":\"bad key\"}}"));
+        assertEquals("API Error: bad key", error.getMessage());
+    }
+
+    @Test
+    void stripsSurroundingCodeFence() {
+        assertEquals("{\"a\":1}", ChatCompletionCodec.stripCodeFence("  ```json\n{\"a\":1}\n```  "));
+        assertEquals("{\"a\":1}", ChatCompletionCodec.stripCodeFence("```\n{\"a\":1}```"));
+        assertEquals("{\"a\":1}", ChatCompletionCodec.stripCodeFence("{\"a\":1}"));
+    }
+}
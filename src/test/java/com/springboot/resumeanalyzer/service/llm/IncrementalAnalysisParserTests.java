@@ -0,0 +1,74 @@
+package com.springboot.resumeanalyzer.service.llm;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.springboot.resumeanalyzer.model.PersonalInfo;
+import com.springboot.resumeanalyzer.model.ResumeAnalysis;
+import com.springboot.resumeanalyzer.model.ResumeTag;
+import com.springboot.resumeanalyzer.service.AnalysisStreamListener;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IncrementalAnalysisParserTests {
+
+    private static final String RESPONSE = """
+        ```json
+        {
+          "personalInfo": {"name": "张三", "email": "zhangsan@example.com", "phone": null, "location": "北京"},
+          "tags": [
+            {"id": "1", "name": "Java", "type": "SKILL", "confidence": 0.9, "score": 8},
+            {"id": "2", "name": "后端工程师", "type": "POSITION", "confidence": 0.8, "score": 7}
+          ]
+        }
+        ```""";
+
+    @Test
+    void emitsPartsAsSoonAsTheyAreComplete() throws Exception {
+        List<Object> events = new ArrayList<>();
+        IncrementalAnalysisParser parser = new IncrementalAnalysisParser(new ObjectMapper(), new AnalysisStreamListener() {
+            @Override
+            public void onPersonalInfo(PersonalInfo personalInfo) {
+                events.add(personalInfo);
+            }
+
+            @Override
+            public void onTag(ResumeTag tag) {
+                events.add(tag);
+            }
+        });
+
+        int firstTagEnd = RESPONSE.indexOf("},", RESPONSE.indexOf("\"Java\"")) + 1;
+        for (int i = 0; i < RESPONSE.length(); i += 3) {
+            parser.feed(RESPONSE.substring(i, Math.min(i + 3, RESPONSE.length())));
+            if (i + 3 >= firstTagEnd && i < firstTagEnd) {
+                assertEquals(2, events.size(), "first tag should be emitted once its object closes");
+            }
+        }
+
+        assertTrue(parser.isFinished());
+        assertEquals(3, events.size());
+        ResumeAnalysis analysis = parser.result();
+        assertEquals("张三", analysis.getPersonalInfo().getName());
+        assertEquals(2, analysis.getTags().size());
+        assertEquals(ResumeTag.TagType.POSITION, analysis.getTags().get(1).getType());
+    }
+
+    @Test
+    void resultFailsWhenStreamIsIncomplete() throws Exception {
+        IncrementalAnalysisParser parser = new IncrementalAnalysisParser(new ObjectMapper(), new AnalysisStreamListener() {
+            @Override
+            public void onPersonalInfo(PersonalInfo personalInfo) {
+            }
+
+            @Override
+            public void onTag(ResumeTag tag) {
+            }
+        });
+        parser.feed("{\"personalInfo\": {\"name\": \"x\"}, \"tags\": [");
+        assertFalse(parser.isFinished());
+        assertThrows(IllegalStateException.class, parser::result);
+    }
+}
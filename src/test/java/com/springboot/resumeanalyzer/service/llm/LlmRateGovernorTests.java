@@ -0,0 +1,33 @@
+package com.springboot.resumeanalyzer.service.llm;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LlmRateGovernorTests {
+
+    @Test
+    void halvesTheLimitOncePerOverloadEvent() {
+        LlmRateGovernor governor = new LlmRateGovernor(1_000_000, 1_000_000_000, 8, 1, 64,
+            Duration.ofSeconds(5), 100, Duration.ZERO);
+        try {
+            List<LlmRateGovernor.Permit> permits = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                permits.add(governor.acquire(100).join());
+            }
+            // Every call of one overload episode fails, but only the first failure counts
+            permits.forEach(permit -> permit.release(new LlmApiException(429, "rate limited")));
+            assertEquals(4, governor.getConcurrencyLimit());
+
+            // A call admitted after the decrease that is still overloaded halves it again
+            governor.acquire(100).join().release(new LlmApiException(503, "overloaded"));
+            assertEquals(2, governor.getConcurrencyLimit());
+        } finally {
+            governor.shutdown();
+        }
+    }
+}
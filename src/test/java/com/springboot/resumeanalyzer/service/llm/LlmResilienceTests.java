@@ -0,0 +1,50 @@
+package com.springboot.resumeanalyzer.service.llm;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LlmResilienceTests {
+
+    private final LlmResilience resilience = new LlmResilience(new MockEnvironment(), Duration.ofSeconds(1), true, 95,
+        Duration.ofMillis(50), 4, 4, 0.5, Duration.ofSeconds(30));
+
+    @Test
+    void cancelsTheSlowerCallOnceTheHedgeWins() {
+        for (int i = 0; i < 20; i++) {
+            resilience.execute(() -> CompletableFuture.completedFuture("fast")).join();
+        }
+
+        CompletableFuture<String> slow = new CompletableFuture<>();
+        List<CompletableFuture<String>> calls = List.of(slow, CompletableFuture.completedFuture("hedge"));
+        int[] started = {0};
+        String result = resilience.execute(() -> calls.get(started[0]++))
+            .orTimeout(5, TimeUnit.SECONDS)
+            .join();
+
+        assertEquals("hedge", result);
+        assertEquals(1, resilience.getHedgeCount());
+        // The loser is cancelled by a callback of the result, which may run just after join returns
+        assertThrows(CancellationException.class, () -> slow.get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void rateLimitingDoesNotOpenTheCircuit() {
+        for (int i = 0; i < 8; i++) {
+            resilience.guarded("provider", () -> CompletableFuture.failedFuture(new LlmApiException(429, "slow down")));
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, resilience.getCircuitState("provider"));
+
+        for (int i = 0; i < 4; i++) {
+            resilience.guarded("provider", () -> CompletableFuture.failedFuture(new LlmApiException(503, "down")));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, resilience.getCircuitState("provider"));
+    }
+}
@@ -0,0 +1,59 @@
+package com.springboot.resumeanalyzer.service.local;
+
+import com.springboot.resumeanalyzer.model.ResumeAnalysis;
+import com.springboot.resumeanalyzer.model.ResumeTag;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalResumeExtractorTests {
+
+    private final LocalResumeExtractor extractor =
+        new LocalResumeExtractor(new DefaultResourceLoader(), "classpath:lexicon/");
+
+    @Test
+    void extractsPersonalInfoAndLexiconTags() {
+        ResumeAnalysis analysis = extractor.extract("""
+            张三
+            邮箱：zhangsan@example.com  电话：138-0013-8000  现居：上海
+            求职意向：后端工程师
+            技能：Java、Spring Boot、MySQL、Redis、K8s，熟悉JavaScript
+            项目：基于Java和Kafka的微服务平台，部署在 Google Cloud
+            """);
+
+        assertEquals("张三", analysis.getPersonalInfo().getName());
+        assertEquals("zhangsan@example.com", analysis.getPersonalInfo().getEmail());
+        assertEquals("138-0013-8000", analysis.getPersonalInfo().getPhone());
+        assertEquals("上海", analysis.getPersonalInfo().getLocation());
+
+        Map<String, ResumeTag> tags = analysis.getTags().stream()
+            .collect(Collectors.toMap(ResumeTag::getName, tag -> tag));
+        assertEquals(ResumeTag.TagType.POSITION, tags.get("后端工程师").getType());
+        assertTrue(tags.keySet().containsAll(
+            List.of("Java", "Spring Boot", "MySQL", "Redis", "Kubernetes", "JavaScript", "Kafka", "微服务")));
+        // Longest match wins and ASCII keywords need word boundaries
+        assertFalse(tags.containsKey("Spring"));
+        assertFalse(tags.containsKey("Go"));
+        assertTrue(tags.get("Java").getConfidence() > tags.get("Redis").getConfidence());
+        assertNull(tags.get("Java").getScore());
+    }
+
+    @Test
+    void enrichFillsGapsWithoutDuplicatingTags() {
+        ResumeAnalysis local = extractor.extract("李四\nlisi@example.com\nJava Python");
+        ResumeAnalysis llm = extractor.extract("王五\nJava");
+        llm.getPersonalInfo().setEmail(null);
+
+        ResumeAnalysis enriched = LocalResumeExtractor.enrich(llm, local);
+
+        assertEquals("王五", enriched.getPersonalInfo().getName());
+        assertEquals("lisi@example.com", enriched.getPersonalInfo().getEmail());
+        assertEquals(2, enriched.getTags().size());
+        assertEquals(1, llm.getTags().size());
+    }
+}
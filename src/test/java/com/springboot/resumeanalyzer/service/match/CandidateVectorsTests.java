@@ -0,0 +1,56 @@
+package com.springboot.resumeanalyzer.service.match;
+
+import com.springboot.resumeanalyzer.model.ResumeTag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CandidateVectorsTests {
+
+    @Test
+    void scoresCandidatesByWeightedCosine() {
+        CandidateVectors vectors = new CandidateVectors(new MockEnvironment());
+        vectors.add(0, List.of(tag("Java", ResumeTag.TagType.SKILL, 9), tag("Spring Boot", ResumeTag.TagType.SKILL, 8)));
+        vectors.add(1, List.of(tag("java", ResumeTag.TagType.SKILL, 4), tag("Photoshop", ResumeTag.TagType.SKILL, 9)));
+        vectors.add(2, List.of(tag("Java", ResumeTag.TagType.INTEREST, 9)));
+        vectors.add(3, null);
+        assertThrows(IllegalStateException.class, () -> vectors.add(5, List.of()));
+
+        CandidateVectors.Query query = vectors.queryVector(List.of(
+            tag("JAVA", ResumeTag.TagType.SKILL, 8), tag("Spring Boot", ResumeTag.TagType.SKILL, 6), tag("Rust", ResumeTag.TagType.SKILL, 9)));
+        float best = vectors.read(count -> vectors.score(0, query));
+        float weaker = vectors.read(count -> vectors.score(1, query));
+        assertTrue(best > weaker && weaker > 0);
+        // Same name with another type is a different term
+        assertEquals(0f, (float) vectors.read(count -> vectors.score(2, query)));
+        assertEquals(0f, (float) vectors.read(count -> vectors.score(3, query)));
+        assertEquals(List.of("SKILL:java", "SKILL:spring boot"), vectors.read(count -> vectors.sharedTerms(0, query)));
+        assertNull(vectors.queryVector(List.of(tag("Rust", ResumeTag.TagType.SKILL, 9))));
+    }
+
+    @Test
+    void topKKeepsHighestScoresBestFirst() {
+        TopK top = new TopK(3);
+        float[] scores = {0.2f, 0.9f, 0.5f, 0.9f, 0.1f, 0.7f};
+        for (int id = 0; id < scores.length; id++) {
+            top.offer(id, scores[id]);
+        }
+        int[] ids = new int[top.size()];
+        float[] ranked = new float[top.size()];
+        top.drainDescending(ids, ranked);
+        assertArrayEquals(new int[] {3, 1, 5}, ids);
+        assertArrayEquals(new float[] {0.9f, 0.9f, 0.7f}, ranked);
+    }
+
+    private static ResumeTag tag(String name, ResumeTag.TagType type, int score) {
+        ResumeTag tag = new ResumeTag();
+        tag.setName(name);
+        tag.setType(type);
+        tag.setScore(score);
+        tag.setConfidence(0.9);
+        return tag;
+    }
+}
@@ -0,0 +1,141 @@
+package com.springboot.resumeanalyzer.service.store;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.springboot.resumeanalyzer.model.ResumeAnalysis;
+import com.springboot.resumeanalyzer.model.ResumeTag;
+import com.springboot.resumeanalyzer.model.StoredAnalysis;
+import com.springboot.resumeanalyzer.model.TagClause;
+import com.springboot.resumeanalyzer.model.TagQuery;
+import com.springboot.resumeanalyzer.model.TagQueryResult;
+import com.springboot.resumeanalyzer.service.match.CandidateVectors;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnalysisStoreTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void answersBooleanAndRangeQueries() throws IOException {
+        AnalysisStore store = new AnalysisStore(objectMapper, new CandidateVectors(new MockEnvironment()), true, directory.toString());
+        store.add("a", analysis(tag("Java", ResumeTag.TagType.SKILL, 9), tag("Redis", ResumeTag.TagType.SKILL, 6)));
+        store.add("b", analysis(tag("java", ResumeTag.TagType.SKILL, 5), tag("Go", ResumeTag.TagType.SKILL, 8)));
+        store.add("c", analysis(tag("Python", ResumeTag.TagType.SKILL, 7), tag("后端工程师", ResumeTag.TagType.POSITION, 8)));
+        // Same content key is not stored twice
+        store.add("a", analysis(tag("Rust", ResumeTag.TagType.SKILL, 9)));
+
+        TagQuery query = new TagQuery();
+        query.getMust().add(clause("JAVA", null));
+        assertEquals(List.of(1, 0), ids(store.query(query)));
+
+        query.getMust().get(0).setMinScore(8);
+        assertEquals(List.of(0), ids(store.query(query)));
+
+        query = new TagQuery();
+        query.getShould().add(clause("Java", null));
+        query.getShould().add(clause("Python", null));
+        query.getMustNot().add(clause("Go", null));
+        assertEquals(List.of(2, 0), ids(store.query(query)));
+
+        query = new TagQuery();
+        query.getMust().add(clause(null, ResumeTag.TagType.SKILL));
+        query.setSort(TagQuery.Sort.SCORE);
+        query.setSize(2);
+        TagQueryResult result = store.query(query);
+        assertEquals(3, result.getTotal());
+        assertEquals(List.of(0, 1), ids(result));
+        query.setPage(1);
+        assertEquals(List.of(2), ids(store.query(query)));
+
+        assertThrows(IllegalArgumentException.class, () -> store.query(new TagQuery()));
+        store.close();
+    }
+
+    @Test
+    void rebuildsIndexFromLogOnStartup() throws IOException {
+        AnalysisStore store = new AnalysisStore(objectMapper, new CandidateVectors(new MockEnvironment()), true, directory.toString());
+        store.add("a", analysis(tag("Java", ResumeTag.TagType.SKILL, 9)));
+        store.add("b", analysis(tag("Kafka", ResumeTag.TagType.SKILL, 7)));
+        store.close();
+
+        AnalysisStore reopened = new AnalysisStore(objectMapper, new CandidateVectors(new MockEnvironment()), true, directory.toString());
+        assertEquals(2, reopened.size());
+        TagQuery query = new TagQuery();
+        query.getMust().add(clause("kafka", ResumeTag.TagType.SKILL));
+        assertEquals(List.of(1), ids(reopened.query(query)));
+        StoredAnalysis stored = reopened.add("c", analysis(tag("Kafka", ResumeTag.TagType.SKILL, 3))).orElseThrow();
+        assertEquals(2, stored.getId());
+        assertEquals(List.of(2, 1), ids(reopened.query(query)));
+        reopened.close();
+    }
+
+    @Test
+    void findsNearDuplicatesOfDifferentlyExtractedText() throws IOException {
+        String resume = """
+            张三 | zhangsan@example.com
+            Senior backend engineer with eight years of Java, Spring Boot and Kafka.
+            • Designed the order pipeline serving 20k requests per second
+            • Migrated billing from Oracle to PostgreSQL without downtime
+            Education: B.Sc. Computer Science, Zhejiang University
+            """;
+        // The same text as another PDF producer extracts it: other bullets, spacing and line breaks
+        String reExported = resume.replace("• ", "- ").replace("\n", " \n").replace(", ", " , ");
+        String other = """
+            李四 | lisi@example.com
+            Frontend engineer focusing on React, TypeScript and design systems.
+            - Built the component library used by twelve product teams
+            """;
+
+        AnalysisStore store = new AnalysisStore(objectMapper, new CandidateVectors(new MockEnvironment()), true, directory.toString());
+        store.add("a", analysis(tag("Java", ResumeTag.TagType.SKILL, 9)), "chat", MinHash.signature(resume));
+        store.add("b", analysis(tag("React", ResumeTag.TagType.SKILL, 8)), "chat", MinHash.signature(other));
+        store.close();
+
+        AnalysisStore reopened = new AnalysisStore(objectMapper, new CandidateVectors(new MockEnvironment()), true, directory.toString());
+        AnalysisStore.NearDuplicate match = reopened.findNearDuplicate(MinHash.signature(reExported), "chat", 0.95).orElseThrow();
+        assertEquals(0, match.stored().getId());
+        assertEquals(1.0, match.similarity());
+        // Analyses made with another model or prompt are not reused
+        assertTrue(reopened.findNearDuplicate(MinHash.signature(reExported), "fast", 0.95).isEmpty());
+        String revised = resume.replace("Oracle", "DB2").replace("eight", "nine");
+        assertTrue(reopened.findNearDuplicate(MinHash.signature(revised), "chat", 0.95).isEmpty());
+        reopened.close();
+    }
+
+    private static List<Integer> ids(TagQueryResult result) {
+        return result.getItems().stream().map(StoredAnalysis::getId).toList();
+    }
+
+    private static TagClause clause(String name, ResumeTag.TagType type) {
+        TagClause clause = new TagClause();
+        clause.setName(name);
+        clause.setType(type);
+        return clause;
+    }
+
+    private static ResumeTag tag(String name, ResumeTag.TagType type, int score) {
+        ResumeTag tag = new ResumeTag();
+        tag.setName(name);
+        tag.setType(type);
+        tag.setScore(score);
+        tag.setConfidence(0.9);
+        return tag;
+    }
+
+    private static ResumeAnalysis analysis(ResumeTag... tags) {
+        ResumeAnalysis analysis = new ResumeAnalysis();
+        analysis.setTags(new ArrayList<>(List.of(tags)));
+        return analysis;
+    }
+}
@@ -0,0 +1,73 @@
+package com.springboot.resumeanalyzer.service.text;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResumeChunkerTests {
+
+    private final ResumeChunker chunker = new ResumeChunker(true, 120, 100, 10_000, false, 0);
+
+    @Test
+    void keepsShortResumesWhole() {
+        String text = "张三\nzhangsan@example.com\n\n专业技能\nJava Spring";
+        assertEquals(List.of(text), chunker.split(text));
+        String longText = text.repeat(50);
+        assertEquals(List.of(longText), new ResumeChunker(false, 120, 100, 10_000, false, 0).split(longText));
+    }
+
+    @Test
+    void packsSectionsAndSplitsOversizedOnesUnderTheirHeading() {
+        StringBuilder text = new StringBuilder("张三\nzhangsan@example.com\n\n专业技能\nJava Spring Redis\n\n工作经历\n");
+        for (int i = 0; i < 12; i++) {
+            text.append("某某科技有限公司 后端工程师 负责订单系统第").append(i).append("期开发\n\n");
+        }
+        text.append("教育背景\n某某大学 计算机科学与技术 本科");
+
+        List<String> chunks = chunker.split(text.toString());
+
+        assertTrue(chunks.size() > 2);
+        assertTrue(chunks.get(0).startsWith("张三\nzhangsan@example.com"));
+        assertTrue(chunks.get(0).contains("专业技能"));
+        for (String chunk : chunks) {
+            assertTrue(TokenEstimator.estimate(chunk) <= 100, chunk);
+        }
+        long experienceChunks = chunks.stream().filter(chunk -> chunk.contains("订单系统")).count();
+        assertTrue(experienceChunks > 1);
+        chunks.stream()
+            .filter(chunk -> chunk.contains("订单系统"))
+            .forEach(chunk -> assertTrue(chunk.contains("工作经历\n"), chunk));
+        for (int i = 0; i < 12; i++) {
+            String entry = "第" + i + "期";
+            assertEquals(1, chunks.stream().filter(chunk -> chunk.contains(entry)).count(), entry);
+        }
+        assertTrue(chunks.get(chunks.size() - 1).contains("教育背景"));
+    }
+
+    @Test
+    void splitsSectionsSoUnchangedOnesKeepTheirText() {
+        ResumeChunker sections = new ResumeChunker(true, 120, 100, 10_000, true, 10);
+        String original = "张三\nzhangsan@example.com\n\n专业技能\nJava Spring Redis Kafka MySQL Docker\n\n"
+            + "工作经历\n某某科技有限公司 后端工程师 负责订单系统开发\n\n兴趣爱好\n跑步";
+        String revised = original.replace("负责订单系统开发", "负责支付系统开发与性能优化");
+
+        List<String> before = sections.splitSections(original);
+        List<String> after = sections.splitSections(revised);
+
+        // The header is joined to the skills and the short interests to the experience
+        assertEquals(2, before.size());
+        assertTrue(before.get(0).startsWith("张三") && before.get(0).contains("专业技能"));
+        assertTrue(before.get(1).endsWith("兴趣爱好\n跑步"));
+        assertEquals(before.get(0), after.get(0));
+        assertNotEquals(before.get(1), after.get(1));
+
+        // A short last section that would overflow the previous part stays on its own
+        String full = "工作经历\n" + "负责订单系统开发\n".repeat(20).strip() + "\n\n兴趣爱好\n跑步";
+        List<String> parts = sections.splitSections(full);
+        assertTrue(parts.stream().allMatch(part -> TokenEstimator.estimate(part) <= 100));
+        assertEquals("兴趣爱好\n跑步", parts.get(parts.size() - 1));
+        assertEquals(List.of(full), new ResumeChunker(false, 120, 100, 10_000, true, 10).splitSections(full));
+    }
+}
@@ -0,0 +1,39 @@
+package com.springboot.resumeanalyzer.service.text;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResumeTextPreprocessorTests {
+
+    private final ResumeTextPreprocessor preprocessor = new ResumeTextPreprocessor(true, 6000);
+
+    @Test
+    void keepsDateRangesAndNumbersWhileRemovingPageHeadersAndFooters() {
+        String raw = String.join("\f",
+            "张三 - 个人简历 1/3\n2019.03 - 2021.06\n某某科技 后端工程师\n工作年限\n5\n负责订单系统开发\n1",
+            "张三 - 个人简历 2/3\n2021.07 - 2023.01\n某某网络 高级工程师\n负责支付系统开发\n2",
+            "张三 - 个人简历 3/3\n2023.02 - 2024.12\n某某集团 技术负责人\n负责交易平台架构\n3");
+
+        List<String> lines = List.of(preprocessor.process(raw).text().split("\n"));
+
+        assertTrue(lines.containsAll(List.of("2019.03 - 2021.06", "2021.07 - 2023.01", "2023.02 - 2024.12")), lines.toString());
+        assertTrue(lines.contains("5"), lines.toString());
+        assertFalse(lines.stream().anyMatch(line -> line.startsWith("张三 - 个人简历")), lines.toString());
+        assertFalse(lines.stream().anyMatch(List.of("1", "2", "3")::contains), lines.toString());
+        assertEquals("负责交易平台架构", lines.get(lines.size() - 1));
+    }
+
+    @Test
+    void dropsOnlyImmediatelyRepeatedLines() {
+        String raw = "工作经历\n后端工程师\nResponsibilities:\n负责订单系统开发\n负责订单系统开发\n\n"
+            + "后端工程师\nResponsibilities:\n负责支付系统开发";
+
+        List<String> lines = List.of(preprocessor.process(raw).text().split("\n"));
+
+        assertEquals(List.of("工作经历", "后端工程师", "Responsibilities:", "负责订单系统开发", "",
+                             "后端工程师", "Responsibilities:", "负责支付系统开发"), lines);
+    }
+}